@@ -0,0 +1,127 @@
+package frc.robot.Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.Hardware.Sensors.NavX;
+import frc.robot.RobotConstants;
+import frc.robot.Utilities.Control.DrivePoseEstimator;
+import frc.robot.Utilities.Control.MotionProfiling;
+import frc.robot.Utilities.Control.PID;
+import frc.robot.Utilities.Control.PIDF;
+
+/**
+ * Benchmarks for the small control loop classes that run every loop
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m", "-XX:+UseSerialGC"})
+@State(Scope.Thread)
+public class ControlBenchmark {
+
+    // Number of precomputed inputs, a power of 2 so the index can wrap with a mask
+    private static final int INPUT_COUNT = 1024;
+
+    // Fake sensor readings, made from a fixed seed so every run and every commit sees the same inputs
+    private double[] measurements;
+    private int index = 0;
+
+    private PID pid;
+    private PIDF pidf;
+    private MotionProfiling profile;
+    private DrivePoseEstimator estimator;
+
+    // Fake time and wheel distances for the pose estimator, moved along a little every call like driving forward
+    private double time = 0;
+    private double distance = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HAL.initialize(500, 0);
+
+        Random random = new Random(6443);
+        measurements = new double[INPUT_COUNT];
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            measurements[i] = random.nextDouble() * 360;
+        }
+
+        // Same constants as the turning PID in AutoDriveControl
+        pid = new PID(0.02, 0, 0.4);
+        pid.setSetpoint(180);
+        pid.setAcceptableRange(0.25);
+        pid.setMaxOutput(0.5);
+
+        pidf = new PIDF(0.02, 0, 0.4, 0.001);
+        pidf.setSetpoint(180);
+        pidf.setAcceptableRange(0.25);
+
+        profile = new MotionProfiling(3, 2);
+        profile.startTimer();
+
+        // Target straight ahead so every fake frame lines up with the pose and is used
+        estimator = new DrivePoseEstimator(RobotConstants.kTrackWidthMeters, RobotConstants.kLimelightHeightMeters,
+                RobotConstants.kLimelightPitchDegrees, RobotConstants.kLimelightForwardMeters, RobotConstants.kVisionTargetHeightMeters);
+        estimator.reset(0, 0, 0, 0, 0, 0, 0);
+        estimator.setTarget(1000, 0);
+    }
+
+    /**
+     * Gets the next fake sensor reading
+     */
+    private double nextMeasurement() {
+        index = (index + 1) & (INPUT_COUNT - 1);
+        return measurements[index];
+    }
+
+    @Benchmark
+    public double pidCalcOutput() {
+        return pid.calcOutput(nextMeasurement());
+    }
+
+    @Benchmark
+    public double pidfCalcOutput() {
+        return pidf.calcOutput(nextMeasurement());
+    }
+
+    @Benchmark
+    public double motionProfileGetDistance() {
+        return profile.getDistance();
+    }
+
+    @Benchmark
+    public double navXEdgeCaseAngle() {
+        return NavX.calculateEdgeCaseAngle(180, nextMeasurement());
+    }
+
+    @Benchmark
+    public double poseEstimatorUpdate() {
+        time += 0.02;
+        distance += 0.02;
+        double turn = (nextMeasurement() - 180) * 1e-5;
+        estimator.update(time, distance - turn, distance + turn, turn);
+        return estimator.getX();
+    }
+
+    @Benchmark
+    public boolean poseEstimatorVision() {
+        time += 0.02;
+        distance += 0.02;
+        estimator.update(time, distance, distance, 0);
+        return estimator.addVisionMeasurement(time, (nextMeasurement() - 180) * 1e-3, -24.9, 0.03, 1);
+    }
+}
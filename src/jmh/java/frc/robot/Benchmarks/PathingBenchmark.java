@@ -0,0 +1,95 @@
+package frc.robot.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConstraint;
+import frc.robot.RobotConstants;
+import frc.robot.Autonomous.Pathing.PathContainer;
+import frc.robot.Autonomous.Pathing.PathParser;
+
+/**
+ * Benchmarks for loading and generating paths, these run once per path segment in autonomous
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m", "-XX:+UseSerialGC"})
+@State(Scope.Thread)
+public class PathingBenchmark {
+
+    // Waypoints written to the CSV file (x, y, rotation)
+    private static final double[][] WAYPOINTS = {
+        {0, 0, 0}, {0.5, 0.1, 0}, {1, 0.4, 0}, {1.5, 0.9, 0}, {2, 1.3, 0},
+        {2.5, 1.5, 0}, {3, 1.4, 0}, {3.5, 1.0, 0}, {4, 0.5, 0}, {4.5, 0.2, 0}, {5, 0, 0}
+    };
+
+    private Path csvFile;
+    private TrajectoryConfig config;
+
+    private frc.robot.Autonomous.Pathing.Path examplePath;
+    private frc.robot.Autonomous.Pathing.Path driveToShootPath;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        HAL.initialize(500, 0);
+
+        // Write the waypoints out the same way the path CSV files are laid out
+        StringBuilder csv = new StringBuilder();
+        for (double[] point : WAYPOINTS) {
+            csv.append(point[0]).append(',').append(point[1]).append(',').append(point[2]).append('\n');
+        }
+        csvFile = Files.createTempFile("benchmark-path", ".csv");
+        Files.write(csvFile, csv.toString().getBytes());
+
+        // Same config as PathContainer uses
+        config = new TrajectoryConfig(RobotConstants.kMaxVelocityMetersPerSecond, RobotConstants.kMaxAccelerationMetersPerSecondSquared)
+                .setKinematics(RobotConstants.kDriveKinematics)
+                .addConstraint(new DifferentialDriveVoltageConstraint(
+                        new SimpleMotorFeedforward(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond, RobotConstants.kaVoltMetersPerSecondSquared),
+                        RobotConstants.kDriveKinematics, RobotConstants.kMaxUsableVoltage));
+
+        examplePath = PathContainer.getExamplePath();
+        driveToShootPath = PathContainer.driveToShoot();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public Object pathParserGeneratePath() throws IOException {
+        return PathParser.generatePath(config, csvFile.toString());
+    }
+
+    @Benchmark
+    public Trajectory examplePathGetTrajectory() {
+        return examplePath.getTrajectory();
+    }
+
+    @Benchmark
+    public Trajectory driveToShootGetTrajectory() {
+        return driveToShootPath.getTrajectory();
+    }
+}
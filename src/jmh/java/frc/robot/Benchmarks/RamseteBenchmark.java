@@ -0,0 +1,172 @@
+package frc.robot.Benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.controller.PIDController;
+import edu.wpi.first.wpilibj.controller.RamseteController;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.Trajectory.State;
+import frc.robot.RobotConstants;
+import frc.robot.Autonomous.Pathing.PathContainer;
+import frc.robot.Utilities.Control.RAMSETE.RamseteLaw;
+import frc.robot.Utilities.Control.RAMSETE.SampledTrajectory;
+import frc.robot.Utilities.Control.RAMSETE.TrajectorySample;
+
+/**
+ * Benchmark of the math RamseteCommand.execute() does every loop, without the dashboard output
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m", "-XX:+UseSerialGC"})
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class RamseteBenchmark {
+
+    // Number of precomputed robot states, a power of 2 so the index can wrap with a mask
+    private static final int INPUT_COUNT = 1024;
+
+    private Trajectory trajectory;
+    private RamseteController controller;
+    private SimpleMotorFeedforward feedforward;
+    private PIDController leftController;
+    private PIDController rightController;
+
+    // Times along the path and the slightly off path poses / wheel speeds the robot "measured" at them
+    private double[] times;
+    private Pose2d[] poses;
+    private double[] leftSpeeds;
+    private double[] rightSpeeds;
+    private int index = 0;
+
+    private DifferentialDriveWheelSpeeds prevSpeeds;
+    private double prevTime;
+
+    // What RamseteCommand now uses, a fixed step table and a law that writes into fields
+    private SampledTrajectory sampledTrajectory;
+    private RamseteLaw law;
+    private TrajectorySample sample;
+    private double[] headings;
+    private double prevLeftSpeed;
+    private double prevRightSpeed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        HAL.initialize(500, 0);
+
+        trajectory = PathContainer.driveToShoot().getTrajectory();
+
+        // Same controllers PathingCommand creates
+        controller = new RamseteController(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta);
+        feedforward = new SimpleMotorFeedforward(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond, RobotConstants.kaVoltMetersPerSecondSquared);
+        leftController = new PIDController(RobotConstants.kPDriveVal, 0, 0);
+        rightController = new PIDController(RobotConstants.kPDriveVal, 0, 0);
+
+        // Walk the path in 20ms steps adding a fixed seed of noise to where the robot thinks it is
+        Random random = new Random(6443);
+        times = new double[INPUT_COUNT];
+        poses = new Pose2d[INPUT_COUNT];
+        leftSpeeds = new double[INPUT_COUNT];
+        rightSpeeds = new double[INPUT_COUNT];
+
+        double totalTime = trajectory.getTotalTimeSeconds();
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            times[i] = (i * 0.02) % totalTime;
+            State state = trajectory.sample(times[i]);
+
+            poses[i] = new Pose2d(state.poseMeters.getTranslation().getX() + random.nextGaussian() * 0.05,
+                    state.poseMeters.getTranslation().getY() + random.nextGaussian() * 0.05,
+                    state.poseMeters.getRotation().plus(Rotation2d.fromDegrees(random.nextGaussian() * 2)));
+
+            leftSpeeds[i] = state.velocityMetersPerSecond + random.nextGaussian() * 0.05;
+            rightSpeeds[i] = state.velocityMetersPerSecond + random.nextGaussian() * 0.05;
+        }
+
+        prevSpeeds = new DifferentialDriveWheelSpeeds(0, 0);
+        prevTime = 0;
+
+        sampledTrajectory = new SampledTrajectory(trajectory);
+        law = new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta);
+        sample = new TrajectorySample();
+        headings = new double[INPUT_COUNT];
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            headings[i] = poses[i].getRotation().getRadians();
+        }
+    }
+
+    @Benchmark
+    public double execute() {
+        index = (index + 1) & (INPUT_COUNT - 1);
+
+        double curTime = times[index];
+
+        // The path wraps back to the start, keep dt at one loop
+        double dt = curTime > prevTime ? curTime - prevTime : 0.02;
+
+        State sampledState = trajectory.sample(curTime);
+
+        DifferentialDriveWheelSpeeds targetWheelSpeeds = RobotConstants.kDriveKinematics.toWheelSpeeds(
+                controller.calculate(poses[index], sampledState));
+
+        double leftSpeedSetpoint = targetWheelSpeeds.leftMetersPerSecond;
+        double rightSpeedSetpoint = targetWheelSpeeds.rightMetersPerSecond;
+
+        double leftFeedforward = feedforward.calculate(leftSpeedSetpoint,
+                (leftSpeedSetpoint - prevSpeeds.leftMetersPerSecond) / dt);
+
+        double rightFeedforward = feedforward.calculate(rightSpeedSetpoint,
+                (rightSpeedSetpoint - prevSpeeds.rightMetersPerSecond) / dt);
+
+        double leftOutput = leftFeedforward + leftController.calculate(leftSpeeds[index], leftSpeedSetpoint);
+        double rightOutput = rightFeedforward + rightController.calculate(rightSpeeds[index], rightSpeedSetpoint);
+
+        prevTime = curTime;
+        prevSpeeds = targetWheelSpeeds;
+
+        return leftOutput + rightOutput;
+    }
+
+    @Benchmark
+    public double executeSampled() {
+        index = (index + 1) & (INPUT_COUNT - 1);
+
+        double curTime = times[index];
+        double dt = curTime > prevTime ? curTime - prevTime : 0.02;
+
+        sampledTrajectory.sample(curTime, sample);
+        law.calculate(poses[index].getTranslation().getX(), poses[index].getTranslation().getY(), headings[index], sample);
+
+        double turn = law.angularRadiansPerSecond * RobotConstants.kDriveKinematics.trackWidthMeters / 2;
+        double leftSpeedSetpoint = law.linearMetersPerSecond - turn;
+        double rightSpeedSetpoint = law.linearMetersPerSecond + turn;
+
+        double leftFeedforward = feedforward.calculate(leftSpeedSetpoint, (leftSpeedSetpoint - prevLeftSpeed) / dt);
+        double rightFeedforward = feedforward.calculate(rightSpeedSetpoint, (rightSpeedSetpoint - prevRightSpeed) / dt);
+
+        double leftOutput = leftFeedforward + leftController.calculate(leftSpeeds[index], leftSpeedSetpoint);
+        double rightOutput = rightFeedforward + rightController.calculate(rightSpeeds[index], rightSpeedSetpoint);
+
+        prevTime = curTime;
+        prevLeftSpeed = leftSpeedSetpoint;
+        prevRightSpeed = rightSpeedSetpoint;
+
+        return leftOutput + rightOutput;
+    }
+}
@@ -0,0 +1,95 @@
+package frc.robot.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import frc.robot.Utilities.Teleop.ButtonTracker;
+import frc.robot.Utilities.Teleop.TeleopControl;
+
+/**
+ * Compares TeleopControl and ButtonTracker running the same bindings Robot.teleopPeriodic had.
+ * Run with -prof gc to see the bytes allocated per loop
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m", "-XX:+UseSerialGC"})
+@State(Scope.Thread)
+public class TeleopBenchmark {
+
+    // Fake controller state, changes every few loops so both paths see edges
+    private boolean[] buttonStates = new boolean[7];
+    private int loop = 0;
+
+    // Something for the actions to do, an instance field so the lambdas capture this like the ones in Robot do
+    private long actionCount = 0;
+
+    private TeleopControl teleop;
+    private ButtonTracker buttons;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        teleop = new TeleopControl();
+
+        buttons = new ButtonTracker();
+        ids = new int[buttonStates.length];
+        for (int i = 0; i < ids.length; i++) {
+            final int index = i;
+            ids[i] = buttons.register(() -> buttonStates[index]);
+        }
+    }
+
+    /**
+     * Flips each button at a different rate
+     */
+    private void updateButtons() {
+        loop++;
+        for (int i = 0; i < buttonStates.length; i++) {
+            buttonStates[i] = ((loop >> (i + 1)) & 1) == 1;
+        }
+    }
+
+    @Benchmark
+    public long teleopControl() {
+        updateButtons();
+        teleop.pressed(buttonStates[0], () -> actionCount++, () -> actionCount--);
+        teleop.runOncePerPress(buttonStates[1], () -> actionCount += 2);
+        teleop.pressed(buttonStates[2], () -> actionCount++, () -> actionCount--);
+        teleop.pressed(buttonStates[3], () -> actionCount++, () -> actionCount--);
+        teleop.pressed(buttonStates[4], () -> actionCount++, () -> actionCount--);
+        teleop.runOncePerPress(buttonStates[5], () -> actionCount += 2);
+        teleop.runOncePerPress(buttonStates[6], () -> actionCount += 2);
+        teleop.endPeriodic();
+        return actionCount;
+    }
+
+    @Benchmark
+    public long buttonTracker() {
+        updateButtons();
+        buttons.update();
+        actionCount += buttons.isPressed(ids[0]) ? 1 : -1;
+        if (buttons.wasPressed(ids[1]))
+            actionCount += 2;
+        actionCount += buttons.isPressed(ids[2]) ? 1 : -1;
+        actionCount += buttons.isPressed(ids[3]) ? 1 : -1;
+        actionCount += buttons.isPressed(ids[4]) ? 1 : -1;
+        if (buttons.wasPressed(ids[5]))
+            actionCount += 2;
+        if (buttons.wasPressed(ids[6]))
+            actionCount += 2;
+        return actionCount;
+    }
+}
@@ -1,13 +1,16 @@
 package frc.robot.Autonomous.Basic;
 
-import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Autonomous.Control.AutoDriveControl;
-import frc.robot.Autonomous.Pathing.Enums.AutoPaths;
+import frc.robot.Hardware.FrameTimer;
+import frc.robot.Hardware.RobotStateFrame;
 import frc.robot.Hardware.Sensors.NavX;
 import frc.robot.Subsystems.ArcShooter;
 import frc.robot.Subsystems.BallSystem;
 import frc.robot.Utilities.Control.LimelightAlignment;
+import frc.robot.Utilities.Logging.LogLevel;
+import frc.robot.Utilities.Logging.LogSite;
+import frc.robot.Utilities.Logging.Logger;
 
 /**
  * Basic auto holder for running autos
@@ -16,6 +19,16 @@ import frc.robot.Utilities.Control.LimelightAlignment;
  */
 public class BasicAuto{
 
+    /**
+     * The step an auto routine is on, recorded with the telemetry
+     */
+    public enum Stage {
+        DROP_INTAKE, DRIVE, RAISE_INTAKE, FIND_TARGET, ALIGN, SHOOT, FINISHED
+    }
+
+    // Prints how long the shooter has been running for
+    private static final LogSite shooterTimeLog = Logger.site("Basic-Auto-Shooter", LogLevel.INFO, 0.25, "Time:");
+
     LimelightAlignment alignment;
     AutoDriveControl autoDriveControl;
 
@@ -32,8 +45,15 @@ public class BasicAuto{
     private boolean hasRaisedIntake = false;
     private boolean hasTurned = false;
 
-    private Timer shooterTimeout;
-    private Timer intakeTime;
+    // Timed off the frame so the autos run the same when replayed from telemetry
+    private FrameTimer shooterTimeout;
+    private FrameTimer intakeTime;
+
+    // Sensor values for the current loop
+    private RobotStateFrame frame;
+
+    // The routine that was last started, null before auto
+    private AutoPaths activeRoutine = null;
     
 
     public BasicAuto(LimelightAlignment alignment, AutoDriveControl autoDriveControl, ArcShooter shooter, BallSystem ballSystem){
@@ -43,14 +63,16 @@ public class BasicAuto{
         this.shooter = shooter;
         this.ballSystem = ballSystem;
 
-        intakeTime = new Timer();
-        shooterTimeout = new Timer();
+        frame = RobotStateFrame.get();
+        intakeTime = new FrameTimer(frame);
+        shooterTimeout = new FrameTimer(frame);
     }
 
     /**
      * Init and reset values
      */
     public void runBasicBackStartup(){
+        activeRoutine = AutoPaths.BACKUP3;
         hasBackedUp = false;
         hasAligned = false;
         alignCount = 0;
@@ -77,7 +99,7 @@ public class BasicAuto{
          shooter.enableShooter();
          if(shooter.isFull()){
            ballSystem.getIndexer().standardIndex();
-           System.out.println(shooterTimeout.get());
+           Logger.log(shooterTimeLog, shooterTimeout.get());
            if(shooterTimeout.get() <= 0)
             shooterTimeout.start();
          }
@@ -94,6 +116,7 @@ public class BasicAuto{
      * Setup for rendezvous
      */
     public void runRendezvousFiveSetup(){
+        activeRoutine = AutoPaths.RENDEZVOUSFIVE;
         hasBackedUp = false;
         hasDroppedIntake = false;
         hasRaisedIntake = false;
@@ -125,7 +148,7 @@ public class BasicAuto{
             }
         }
         else if(!hasTurned){
-            hasTurned = (alignment.limelight.getValidTarget() > 0);
+            hasTurned = (frame.limelightValidTarget > 0);
             if(hasTurned){
               autoDriveControl.drive.arcadeDrive(0, 0);
             }
@@ -161,4 +184,33 @@ public class BasicAuto{
             
         
     }
-}
\ No newline at end of file
+
+    /**
+     * Works out which step the running routine is on from its flags
+     * 
+     * @return the current stage, null if no routine has been started
+     */
+    public Stage getStage(){
+        if(activeRoutine == null)
+            return null;
+
+        if(activeRoutine == AutoPaths.RENDEZVOUSFIVE){
+            if(!hasDroppedIntake)
+                return Stage.DROP_INTAKE;
+            if(!hasBackedUp)
+                return Stage.DRIVE;
+            if(!hasRaisedIntake)
+                return Stage.RAISE_INTAKE;
+            if(!hasTurned)
+                return Stage.FIND_TARGET;
+        }
+        else if(!hasBackedUp){
+            return Stage.DRIVE;
+        }
+
+        if(!hasAligned)
+            return Stage.ALIGN;
+
+        return shooterTimeout.get() <= 5 ? Stage.SHOOT : Stage.FINISHED;
+    }
+}
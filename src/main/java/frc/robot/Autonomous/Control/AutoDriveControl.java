@@ -4,6 +4,9 @@ import frc.robot.RobotConstants;
 import frc.robot.Hardware.Sensors.NavX;
 import frc.robot.Subsystems.DriveTrainSystem;
 import frc.robot.Utilities.Control.PID;
+import frc.robot.Utilities.Logging.LogLevel;
+import frc.robot.Utilities.Logging.LogSite;
+import frc.robot.Utilities.Logging.Logger;
 
 /**
  * Class created to handle basic bare bones autonomous driving, mainly for use if pathing is unsuccessful
@@ -12,6 +15,10 @@ import frc.robot.Utilities.Control.PID;
  */
 public class AutoDriveControl {
 
+    // Log messages for the drive and turn loops
+    private static final LogSite driveLog = Logger.site("Drive-Distance", LogLevel.INFO, 0.1, "Setpoint:", "Position:");
+    private static final LogSite turnLog = Logger.site("Turn-To-Angle", LogLevel.INFO, 0.1, "Current Angle:", "Wanted Angle:", "Power:");
+
     // Get a local instance of the Drive Train System
     public DriveTrainSystem drive;
 
@@ -71,10 +78,10 @@ public class AutoDriveControl {
         drivePID.setSetpoint(distance);
 
         // Calculate the value needed to reach that point
-        double motorPower = drivePID.calcOutput(drive.getAverageEncoderDistance());
+        double position = drive.getAverageEncoderDistance();
+        double motorPower = drivePID.calcOutput(position);
 
-        System.out.println("Setpoint: " + distance);
-        System.out.println("Position: " + drive.getAverageEncoderDistance());
+        Logger.log(driveLog, distance, position);
 
 
         if(Math.abs(motorPower) > 0.5){
@@ -113,10 +120,10 @@ public class AutoDriveControl {
         drive.enableOpenRampRate(1);
 
         // Calculate the value needed to reach that point
-        double motorPower = drivePID.calcOutput(drive.getAverageEncoderDistance());
+        double position = drive.getAverageEncoderDistance();
+        double motorPower = drivePID.calcOutput(position);
 
-        System.out.println("Setpoint: " + distance);
-        System.out.println("Position: " + drive.getAverageEncoderDistance());
+        Logger.log(driveLog, distance, position);
 
 
         if(Math.abs(motorPower) > maxPower){
@@ -154,10 +161,9 @@ public class AutoDriveControl {
 
         // Use the yaw corrected from 0-180 to 0-360 and pass it as the input to the PID
         // loop
-        double power = turnPID.calcOutput(navX.getCorrectAngle());
-        System.out.println("Current Angle: " + navX.getCorrectAngle());
-        System.out.println("Wanted Angle: " + angle);
-        System.out.println("Power: " + power);
+        double currentAngle = navX.getCorrectAngle();
+        double power = turnPID.calcOutput(currentAngle);
+        Logger.log(turnLog, currentAngle, angle, power);
 
         if(Math.abs(power) > 0.5){
             power = Math.copySign(0.5, power);
@@ -3,7 +3,9 @@ package frc.robot.Autonomous.Pathing;
 import java.sql.Time;
 
 import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
 import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.RobotConstants;
 import frc.robot.Autonomous.Pathing.Commands.AlignShoot;
 import frc.robot.Autonomous.Pathing.Commands.Turn180;
 import frc.robot.Autonomous.Pathing.Enums.AutoPaths;
@@ -13,6 +15,9 @@ import frc.robot.Subsystems.BallSystem;
 import frc.robot.Subsystems.DriveTrainSystem;
 import frc.robot.Utilities.Control.LimelightAlignment;
 import frc.robot.Utilities.Control.PID;
+import frc.robot.Utilities.Logging.LogLevel;
+import frc.robot.Utilities.Logging.LogSite;
+import frc.robot.Utilities.Logging.Logger;
 
 /**
  * The Autonomous Manager Class Handles All Control Of The Robot During The Autonomous Period
@@ -22,6 +27,11 @@ import frc.robot.Utilities.Control.PID;
  */
 public class AutonomousManager{
 
+    // Prints the current stage of the eight ball auto
+    private static final LogSite alignLog = Logger.site("Eight-Ball-Align", LogLevel.INFO, 0.5);
+    private static final LogSite turnLog = Logger.site("Eight-Ball-Turn", LogLevel.INFO, 0.5);
+    private static final LogSite shooterLog = Logger.site("Eight-Ball-Shooter", LogLevel.INFO, 0.5, "Up To Speed:");
+
     // Vision
 
     // Class used to handle alignment from the limelight
@@ -128,7 +138,6 @@ public class AutonomousManager{
         private boolean turned180 = false;
         private boolean firstTurnPass = true;
         private boolean shouldTurn = false;
-        private boolean stage3 = false;
 
         private int turnLoopCount = 0;
 
@@ -136,6 +145,17 @@ public class AutonomousManager{
         private Command alignCommand;
         private Command turnAroundCommand;
 
+        // Picks up the balls and drives back without stopping, the intake is put away at the turn around point
+        private PathChain pickUpAndReturn;
+
+        public EightBallOne(){
+            pickUpAndReturn = PathContainer.pickUpAndReturn()
+                .atEnd(0, () -> retractAndStopIntake());
+
+            // Get the joined trajectory ready before auto starts
+            pickUpAndReturn.precompute();
+        }
+
         /**
          * Called in the autonomous init function to setup the required parts of the routine
          */
@@ -153,6 +173,10 @@ public class AutonomousManager{
 
             NavX.get().reset();
 
+            // The robot starts facing the power port and backs away from it, so the Limelight can see it the whole
+            // first path. Inverted paths mirror the coordinates, which puts the port behind the robot's x axis
+            pathing.setVisionTarget(new Translation2d(-RobotConstants.kEightBallStartToPowerPortMeters, 0));
+
             // Robot is no longer aligned
             robotAligned = false;
 
@@ -186,12 +210,12 @@ public class AutonomousManager{
             //// Initial tracking statement
             if(getTrackingStatus()){
                 alignShoot();
-                System.out.println("Align");
+                Logger.log(alignLog);
 
             }
             else if(!getTrackingStatus() && shouldTurn && !turned180){
                 turn180();
-                System.out.println("Turn");
+                Logger.log(turnLog);
             }
             else if(!hasStartedSecondPath && !getTrackingStatus() && turned180){
                 ballSystem.getIntake().extendIntake();
@@ -200,12 +224,12 @@ public class AutonomousManager{
                 
                 //Get the actual yaw value
                 pathing.resetProperties();
-                pathing.runPath(PathContainer.turnAndPickUp(), () -> nextStage(() -> retractAndStopIntake()));
+
+                // No vision target here, after the turn the Limelight faces away from the power port until the chain
+                // is over and anything it sees would be a reflection
+                pathing.runChain(pickUpAndReturn, () -> nextStage(() -> {}));
                 hasStartedSecondPath = true;
             }
-            else if(stage3){
-                pathing.runPath(PathContainer.driveBackToStart());
-            }
 
             subsystemUpdater();
         }
@@ -268,8 +292,9 @@ public class AutonomousManager{
             // // Check if the robot is already running the shooter, if not start it
             else if(!runningShooter){
                 shooter.enableShooter();
-                System.out.println(shooter.getStatus());
-                if(shooter.getStatus()){
+                boolean upToSpeed = shooter.getStatus();
+                Logger.log(shooterLog, upToSpeed ? 1 : 0);
+                if(upToSpeed){
                     shooter.stopShooter();
                     runningShooter = false;
                     
@@ -308,21 +333,17 @@ public class AutonomousManager{
               * 1. Turn Around
               * 2. Reset the odometry
               * 3. Extend and start the intake
-              * 4. Run the turn and pick up path
-              * 5. Stop intake and retract
-              * 6. Drive back to the start
-              * 7. Change the end method of the turn around method to the align command
-              * 8. Turn around
-              * 9. Align and shoot
+              * 4. Run the turn and pick up path, stopping and retracting the intake at the end of it
+              * 5. Drive back to the start without stopping in between
+              * 6. Change the end method of the turn around method to the align command
+              * 7. Turn around
+              * 8. Align and shoot
               */
              turnAroundCommand.andThen(() -> runAndReset(
                  () -> extendAndRunIntake(),
-                 () -> pathing.runPath(PathContainer.turnAndPickUp(), 
-                 () -> nextStage(() -> retractAndStopIntake(
-                 () -> pathing.runPath(PathContainer.driveBackToStart(), () -> runMultipleCommands(
+                 () -> pathing.runChain(pickUpAndReturn, () -> nextStage(() -> runMultipleCommands(
                      () -> turnAroundCommand.andThen(() -> alignCommand.schedule()),
                      () -> turnAroundCommand.schedule()
-                 ))
                  )))));
  
              // Start the entire path
@@ -363,16 +384,6 @@ public class AutonomousManager{
     private void retractAndStopIntake(){
         ballSystem.getIntake().stopFrontIntake();
         ballSystem.getIntake().retractIntake();
-        stage3 = true;
-    }
-    /**
-     * Stop running the front intake and then run another command
-     */
-    private void retractAndStopIntake(Runnable function){
-        ballSystem.getIntake().stopFrontIntake();
-        ballSystem.getIntake().retractIntake();
-        function.run();
-        stage3 = true;
     }
     /**
      * Extend an start running the intake
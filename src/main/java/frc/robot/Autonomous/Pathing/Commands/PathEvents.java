@@ -0,0 +1,59 @@
+package frc.robot.Autonomous.Pathing.Commands;
+
+import java.util.List;
+
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.CommandBase;
+
+/**
+ * Runs actions at set times while a path is being driven, started alongside the path command so both count from
+ * the same moment. It doesn't require anything so it never interrupts the drive
+ */
+public class PathEvents extends CommandBase {
+
+  private final Timer timer = new Timer();
+
+  // When to run each action, sorted
+  private final double[] times;
+  private final List<Runnable> actions;
+
+  // The next action to run
+  private int next;
+
+  /**
+   * @param times   seconds from the start of the path to each action, in order
+   * @param actions the actions
+   */
+  public PathEvents(double[] times, List<Runnable> actions) {
+    this.times = times;
+    this.actions = actions;
+  }
+
+  @Override
+  public void initialize() {
+    next = 0;
+    timer.reset();
+    timer.start();
+  }
+
+  @Override
+  public void execute() {
+    double time = timer.get();
+
+    // More than one action can be due in the same loop
+    while (next < times.length && times[next] <= time) {
+      actions.get(next).run();
+      next++;
+    }
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    timer.stop();
+  }
+
+  @Override
+  public boolean isFinished() {
+    return next >= times.length;
+  }
+}
@@ -0,0 +1,35 @@
+package frc.robot.Autonomous.Pathing.Constraints;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+
+/**
+ * Slows the robot through turns so the sideways acceleration, v^2 * curvature, stays under a limit. Keeps the wheels
+ * from sliding and the robot from tipping in tight turns without slowing the straights. The same as WPILib's but it
+ * can describe itself for the trajectory cache
+ */
+public class CentripetalAccelerationConstraint implements PathConstraint {
+
+    private final double maxCentripetalAcceleration;
+
+    /**
+     * @param maxCentripetalAcceleration the most sideways acceleration in meters per second squared
+     */
+    public CentripetalAccelerationConstraint(double maxCentripetalAcceleration) {
+        this.maxCentripetalAcceleration = maxCentripetalAcceleration;
+    }
+
+    @Override
+    public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        return Math.sqrt(maxCentripetalAcceleration / Math.abs(curvatureRadPerMeter));
+    }
+
+    @Override
+    public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        return new MinMax();
+    }
+
+    @Override
+    public String describe() {
+        return "CentripetalAcceleration(" + maxCentripetalAcceleration + ")";
+    }
+}
@@ -0,0 +1,47 @@
+package frc.robot.Autonomous.Pathing.Constraints;
+
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+
+/**
+ * Applies a constraint inside an ellipse, useful for round areas like around a ball or the rendezvous point's pillars
+ */
+public class EllipticalRegionConstraint extends RegionConstraint {
+
+    private final Translation2d center;
+    private final double xRadius;
+    private final double yRadius;
+    private final Rotation2d rotation;
+
+    /**
+     * @param center     middle of the ellipse
+     * @param xWidth     width of the ellipse along its own x axis in meters
+     * @param yWidth     width of the ellipse along its own y axis in meters
+     * @param rotation   how far the ellipse is turned from the field's axes
+     * @param constraint what to apply inside
+     */
+    public EllipticalRegionConstraint(Translation2d center, double xWidth, double yWidth, Rotation2d rotation, PathConstraint constraint) {
+        super(constraint);
+        this.center = center;
+        this.xRadius = xWidth / 2;
+        this.yRadius = yWidth / 2;
+        this.rotation = rotation;
+    }
+
+    @Override
+    public boolean isInside(Translation2d point) {
+        // Turn the point into the ellipse's own frame, where it is lined up with the axes
+        double dx = point.getX() - center.getX();
+        double dy = point.getY() - center.getY();
+        double x = dx * rotation.getCos() + dy * rotation.getSin();
+        double y = -dx * rotation.getSin() + dy * rotation.getCos();
+
+        return (x * x) / (xRadius * xRadius) + (y * y) / (yRadius * yRadius) <= 1;
+    }
+
+    @Override
+    public String describe() {
+        return "Ellipse(" + center.getX() + "," + center.getY() + "," + xRadius + "," + yRadius + ","
+                + rotation.getRadians() + "," + describeConstraint() + ")";
+    }
+}
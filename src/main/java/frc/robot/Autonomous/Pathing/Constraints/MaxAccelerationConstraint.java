@@ -0,0 +1,34 @@
+package frc.robot.Autonomous.Pathing.Constraints;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+
+/**
+ * Caps how hard the robot speeds up and slows down, put it in a region to be gentle over one part of a path such as
+ * while carrying balls that could roll out
+ */
+public class MaxAccelerationConstraint implements PathConstraint {
+
+    private final double maxAcceleration;
+
+    /**
+     * @param maxAcceleration the most the robot can speed up or slow down in meters per second squared
+     */
+    public MaxAccelerationConstraint(double maxAcceleration) {
+        this.maxAcceleration = maxAcceleration;
+    }
+
+    @Override
+    public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        return new MinMax(-maxAcceleration, maxAcceleration);
+    }
+
+    @Override
+    public String describe() {
+        return "MaxAcceleration(" + maxAcceleration + ")";
+    }
+}
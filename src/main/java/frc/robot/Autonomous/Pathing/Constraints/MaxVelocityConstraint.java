@@ -0,0 +1,34 @@
+package frc.robot.Autonomous.Pathing.Constraints;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+
+/**
+ * Caps the speed, on its own this is the same as the config's max velocity but inside a region it only slows that part
+ * of the path
+ */
+public class MaxVelocityConstraint implements PathConstraint {
+
+    private final double maxVelocity;
+
+    /**
+     * @param maxVelocity the fastest the robot can go in meters per second
+     */
+    public MaxVelocityConstraint(double maxVelocity) {
+        this.maxVelocity = maxVelocity;
+    }
+
+    @Override
+    public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        return maxVelocity;
+    }
+
+    @Override
+    public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        return new MinMax();
+    }
+
+    @Override
+    public String describe() {
+        return "MaxVelocity(" + maxVelocity + ")";
+    }
+}
@@ -0,0 +1,15 @@
+package frc.robot.Autonomous.Pathing.Constraints;
+
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+/**
+ * A trajectory constraint that can describe its own settings. Cached and deployed trajectories are looked up by a key
+ * made from their config, and the class name alone can't tell a slow zone in the trench from one somewhere else
+ */
+public interface PathConstraint extends TrajectoryConstraint {
+
+    /**
+     * Get the constraint's type and every setting it was made with, the same settings always give the same string
+     */
+    String describe();
+}
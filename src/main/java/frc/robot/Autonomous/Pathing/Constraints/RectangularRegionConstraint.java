@@ -0,0 +1,37 @@
+package frc.robot.Autonomous.Pathing.Constraints;
+
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+
+/**
+ * Applies a constraint inside a rectangle lined up with the field, such as a trench run
+ */
+public class RectangularRegionConstraint extends RegionConstraint {
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    /**
+     * @param corner     one corner of the rectangle
+     * @param opposite   the corner across from it
+     * @param constraint what to apply inside
+     */
+    public RectangularRegionConstraint(Translation2d corner, Translation2d opposite, PathConstraint constraint) {
+        super(constraint);
+        minX = Math.min(corner.getX(), opposite.getX());
+        minY = Math.min(corner.getY(), opposite.getY());
+        maxX = Math.max(corner.getX(), opposite.getX());
+        maxY = Math.max(corner.getY(), opposite.getY());
+    }
+
+    @Override
+    public boolean isInside(Translation2d point) {
+        return point.getX() >= minX && point.getX() <= maxX && point.getY() >= minY && point.getY() <= maxY;
+    }
+
+    @Override
+    public String describe() {
+        return "Rectangle(" + minX + "," + minY + "," + maxX + "," + maxY + "," + describeConstraint() + ")";
+    }
+}
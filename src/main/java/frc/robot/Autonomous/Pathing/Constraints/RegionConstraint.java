@@ -0,0 +1,47 @@
+package frc.robot.Autonomous.Pathing.Constraints;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+
+/**
+ * Applies another constraint only while the robot is inside an area of the field, everywhere else the path is as fast
+ * as the rest of the config lets it be. The generator slows down ahead of the area so the robot is already at the
+ * limit when it gets there. The area is in the same coordinates as the path's poses
+ */
+public abstract class RegionConstraint implements PathConstraint {
+
+    private final PathConstraint constraint;
+
+    /**
+     * @param constraint what to apply inside the region
+     */
+    protected RegionConstraint(PathConstraint constraint) {
+        this.constraint = constraint;
+    }
+
+    /**
+     * Whether or not a point is inside the region
+     */
+    public abstract boolean isInside(Translation2d point);
+
+    @Override
+    public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        if (isInside(poseMeters.getTranslation()))
+            return constraint.getMaxVelocityMetersPerSecond(poseMeters, curvatureRadPerMeter, velocityMetersPerSecond);
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+        if (isInside(poseMeters.getTranslation()))
+            return constraint.getMinMaxAccelerationMetersPerSecondSq(poseMeters, curvatureRadPerMeter, velocityMetersPerSecond);
+        return new MinMax();
+    }
+
+    /**
+     * Get the description of the constraint applied inside
+     */
+    protected String describeConstraint() {
+        return constraint.describe();
+    }
+}
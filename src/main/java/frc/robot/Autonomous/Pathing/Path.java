@@ -2,6 +2,7 @@ package frc.robot.Autonomous.Pathing;
 
 
 import java.util.ArrayList;
+import java.util.List;
 
 
 import edu.wpi.first.wpilibj.geometry.Pose2d;
@@ -30,6 +31,9 @@ public class Path{
 
     // If the path should be inverted to run the robot backwards
     private boolean inverted = false;
+
+    // Name the trajectory is cached under, paths without one are generated every time
+    private String name = null;
     
     /**
      * constructor initializes the initial pose to 0 and the end pose to 0
@@ -79,12 +83,62 @@ public class Path{
     }
 
     /**
-     * Compute and return the trajectory
+     * Return the trajectory, from the TrajectoryCache if it has already been generated
      */
     public Trajectory getTrajectory(){
+        return TrajectoryCache.get().getTrajectory(this);
+    }
+
+    /**
+     * Compute the trajectory, this is slow so it should be left to the TrajectoryCache
+     */
+    public Trajectory generateTrajectory(){
         return TrajectoryGenerator.generateTrajectory(initialPose, interiorWaypoints, endPose, config);
     }
 
+    /**
+     * Get the config the trajectory is generated with
+     */
+    public TrajectoryConfig getConfig(){
+        return config;
+    }
+
+    /**
+     * Get the pose the path starts at
+     */
+    public Pose2d getInitialPose(){
+        return initialPose;
+    }
+
+    /**
+     * Get the points the path passes through between the start and end
+     */
+    public List<Translation2d> getInteriorWaypoints(){
+        return interiorWaypoints;
+    }
+
+    /**
+     * Get the pose the path ends at
+     */
+    public Pose2d getEndPose(){
+        return endPose;
+    }
+
+    /**
+     * Set the name used to cache the trajectory
+     * @param name a name unique to this path
+     */
+    public void setName(String name){
+        this.name = name;
+    }
+
+    /**
+     * Get the name used to cache the trajectory, null if it isn't cached
+     */
+    public String getName(){
+        return name;
+    }
+
     /**
      * Invert the path
      * @param value Whether or not to invert
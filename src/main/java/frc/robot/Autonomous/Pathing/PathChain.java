@@ -0,0 +1,522 @@
+package frc.robot.Autonomous.Pathing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Transform2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.RegionConstraint;
+
+/**
+ * Joins paths into one trajectory so the robot drives them back to back without stopping or resetting in between.
+ * Each path is placed where the one before it ends, the same as if the robot had been reset there. Inverted paths
+ * become reversed segments so the whole chain is followed with the drive the normal way round, and the robot only
+ * comes to a stop where it changes direction. Segments driven the same way meet at the slower of their max velocities
+ * so the speed never jumps, and at a change of direction both sides slow to zero with the same acceleration.
+ *
+ * Events can be attached to a path's waypoints or end, they are run as the trajectory passes them. Region constraints
+ * are checked in each path's own coordinates, so a slow zone stays on the same part of the path wherever it is placed.
+ * Like single paths, the joined trajectory is loaded from the deployed file when there is one made from the same paths
+ */
+public class PathChain {
+
+    // Times the junction speeds are lowered to something both segments can reach before giving up
+    private static final int MAX_JUNCTION_PASSES = 5;
+
+    // How close a state of a loaded trajectory has to be to a segment's end to be that end
+    private static final double SEGMENT_END_TOLERANCE_METERS = 1e-6;
+
+    // Name of the chain for errors
+    private final String name;
+
+    // The paths in the order they are driven
+    private final List<Path> paths = new ArrayList<>();
+
+    // Things to run along the way
+    private final List<Event> events = new ArrayList<>();
+
+    // The joined trajectory once it has been generated, or is being
+    private CompletableFuture<Result> result;
+
+    /**
+     * Something to run when the robot gets to a point on the chain
+     */
+    private static class Event {
+        final int segment;
+
+        // Waypoint of the segment, -1 for the end
+        final int waypoint;
+        final Runnable action;
+
+        Event(int segment, int waypoint, Runnable action) {
+            this.segment = segment;
+            this.waypoint = waypoint;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Where every path is put in the chain's coordinates
+     */
+    private static class Placement {
+        final Pose2d[] localStarts;
+        final Pose2d[] starts;
+        final Pose2d[] ends;
+        final List<List<Translation2d>> waypoints;
+
+        Placement(int count) {
+            localStarts = new Pose2d[count];
+            starts = new Pose2d[count];
+            ends = new Pose2d[count];
+            waypoints = new ArrayList<>();
+        }
+    }
+
+    /**
+     * The joined trajectory and where each segment ends in it
+     */
+    private static class Result {
+        final Trajectory trajectory;
+        final double[] segmentEndTimes;
+        final List<List<Translation2d>> waypoints;
+
+        Result(Trajectory trajectory, double[] segmentEndTimes, List<List<Translation2d>> waypoints) {
+            this.trajectory = trajectory;
+            this.segmentEndTimes = segmentEndTimes;
+            this.waypoints = waypoints;
+        }
+    }
+
+    /**
+     * Create an empty chain
+     * @param name name of the chain
+     */
+    public PathChain(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Add a path to the end of the chain, it starts where the last path ends
+     * @param path the path, its initial pose is where it is joined on
+     * @return the chain
+     */
+    public synchronized PathChain add(Path path) {
+        paths.add(path);
+        result = null;
+        return this;
+    }
+
+    /**
+     * Run something when the robot passes one of a path's waypoints
+     * @param segment the index of the path in the chain
+     * @param waypoint the index of the interior waypoint in the path
+     * @param action what to run
+     * @return the chain
+     */
+    public synchronized PathChain atWaypoint(int segment, int waypoint, Runnable action) {
+        if (segment < 0 || segment >= paths.size() || waypoint < 0 || waypoint >= paths.get(segment).getInteriorWaypoints().size())
+            throw new IllegalArgumentException(name + " has no waypoint " + waypoint + " in segment " + segment);
+
+        events.add(new Event(segment, waypoint, action));
+        return this;
+    }
+
+    /**
+     * Run something when the robot gets to the end of one of the paths
+     * @param segment the index of the path in the chain
+     * @param action what to run
+     * @return the chain
+     */
+    public synchronized PathChain atEnd(int segment, Runnable action) {
+        if (segment < 0 || segment >= paths.size())
+            throw new IllegalArgumentException(name + " has no segment " + segment);
+
+        events.add(new Event(segment, -1, action));
+        return this;
+    }
+
+    /**
+     * Start generating the trajectory on the TrajectoryCache thread so it is ready by the time it is driven
+     */
+    public synchronized void precompute() {
+        if (result == null) {
+            List<Path> segments = new ArrayList<>(paths);
+            result = TrajectoryCache.get().submit(() -> loadOrGenerate(name, segments));
+        }
+    }
+
+    /**
+     * Generate the joined trajectory without looking for a deployed one, for the desktop tools
+     */
+    public synchronized Trajectory generateTrajectory() {
+        if (paths.isEmpty())
+            throw new IllegalStateException(name + " has no paths");
+
+        return generate(new ArrayList<>(paths)).trajectory;
+    }
+
+    /**
+     * Get the key the joined trajectory is saved under, made from the name and every path's key
+     */
+    public synchronized String getKey() {
+        return getKey(name, paths);
+    }
+
+    /**
+     * Get the joined trajectory, generating it now if precompute() wasn't called
+     */
+    public Trajectory getTrajectory() {
+        return getResult().trajectory;
+    }
+
+    /**
+     * Get the actions to run along the chain, in the order they happen
+     */
+    public synchronized List<Runnable> getEventActions() {
+        List<Runnable> actions = new ArrayList<>();
+        for (int i : getEventOrder()) {
+            actions.add(events.get(i).action);
+        }
+        return actions;
+    }
+
+    /**
+     * Get the time in seconds from the start of the trajectory to each action in getEventActions()
+     */
+    public synchronized double[] getEventTimes() {
+        Result result = getResult();
+        Integer[] order = getEventOrder();
+        double[] times = new double[order.length];
+
+        for (int i = 0; i < order.length; i++) {
+            times[i] = getEventTime(result, events.get(order[i]));
+        }
+        return times;
+    }
+
+    /**
+     * Get the time in seconds from the start of the trajectory that each path ends at
+     */
+    public double[] getSegmentEndTimes() {
+        return getResult().segmentEndTimes.clone();
+    }
+
+    /**
+     * Get the pose the chain starts at
+     */
+    public synchronized Pose2d getInitialPose() {
+        Path first = paths.get(0);
+        return first.getInverted() ? mirror(first.getInitialPose()) : first.getInitialPose();
+    }
+
+    /**
+     * Get the name of the chain
+     */
+    public String getName() {
+        return name;
+    }
+
+    private synchronized Result getResult() {
+        if (paths.isEmpty())
+            throw new IllegalStateException(name + " has no paths");
+
+        if (result == null)
+            result = CompletableFuture.completedFuture(loadOrGenerate(name, new ArrayList<>(paths)));
+
+        return result.join();
+    }
+
+    /**
+     * Sorts the events by when they happen
+     */
+    private Integer[] getEventOrder() {
+        Integer[] order = new Integer[events.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> {
+            Event first = events.get(a);
+            Event second = events.get(b);
+            if (first.segment != second.segment)
+                return Integer.compare(first.segment, second.segment);
+
+            // The end of a segment comes after all of its waypoints
+            int firstWaypoint = first.waypoint < 0 ? Integer.MAX_VALUE : first.waypoint;
+            int secondWaypoint = second.waypoint < 0 ? Integer.MAX_VALUE : second.waypoint;
+            return Integer.compare(firstWaypoint, secondWaypoint);
+        });
+        return order;
+    }
+
+    /**
+     * Finds when the trajectory gets closest to an event's waypoint, only looking in its own segment so a path that
+     * doubles back over itself doesn't match the wrong pass
+     */
+    private static double getEventTime(Result result, Event event) {
+        double end = result.segmentEndTimes[event.segment];
+        if (event.waypoint < 0)
+            return end;
+
+        double start = event.segment == 0 ? 0 : result.segmentEndTimes[event.segment - 1];
+        Translation2d target = result.waypoints.get(event.segment).get(event.waypoint);
+
+        double bestTime = start;
+        double bestDistance = Double.MAX_VALUE;
+        for (Trajectory.State state : result.trajectory.getStates()) {
+            if (state.timeSeconds < start || state.timeSeconds > end)
+                continue;
+
+            double distance = state.poseMeters.getTranslation().getDistance(target);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestTime = state.timeSeconds;
+            }
+        }
+        return bestTime;
+    }
+
+    private static String getKey(String name, List<Path> paths) {
+        StringBuilder key = new StringBuilder(name);
+        for (Path path : paths) {
+            key.append("||").append(TrajectoryCache.getKey(path)).append('|').append(path.getInverted());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Loads the deployed trajectory for the chain, generating it if there isn't one made from the same paths
+     */
+    private static Result loadOrGenerate(String name, List<Path> paths) {
+        java.nio.file.Path file = TrajectoryFile.getDeployedFile(name);
+
+        if (Files.exists(file)) {
+            try {
+                Trajectory trajectory = TrajectoryFile.read(file, getKey(name, paths));
+                Result loaded = trajectory == null ? null : load(paths, trajectory);
+                if (loaded != null)
+                    return loaded;
+
+                DriverStation.reportWarning("Deployed trajectory " + file + " is out of date, generating it", false);
+            } catch (IOException e) {
+                DriverStation.reportWarning("Could not load " + file + ": " + e, false);
+            }
+        }
+
+        return generate(paths);
+    }
+
+    /**
+     * Finds where each segment ends in a loaded trajectory, every segment ends on a state exactly where it was placed
+     *
+     * @return the result, null if a segment's end can't be found
+     */
+    private static Result load(List<Path> paths, Trajectory trajectory) {
+        Placement placement = placeAll(paths);
+        List<Trajectory.State> states = trajectory.getStates();
+        double[] segmentEndTimes = new double[paths.size()];
+
+        int next = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            Translation2d end = placement.ends[i].getTranslation();
+            while (next < states.size() && states.get(next).poseMeters.getTranslation().getDistance(end) > SEGMENT_END_TOLERANCE_METERS) {
+                next++;
+            }
+            if (next == states.size())
+                return null;
+
+            segmentEndTimes[i] = states.get(next).timeSeconds;
+            next++;
+        }
+
+        // The last segment ends with the trajectory
+        segmentEndTimes[paths.size() - 1] = trajectory.getTotalTimeSeconds();
+        return new Result(trajectory, segmentEndTimes, placement.waypoints);
+    }
+
+    /**
+     * Puts every path in the frame of the first one
+     */
+    private static Placement placeAll(List<Path> paths) {
+        int count = paths.size();
+        Placement placement = new Placement(count);
+        Pose2d[] localStarts = placement.localStarts;
+        Pose2d[] starts = placement.starts;
+        Pose2d[] ends = placement.ends;
+        List<List<Translation2d>> waypoints = placement.waypoints;
+
+        Pose2d current = null;
+        for (int i = 0; i < count; i++) {
+            Path path = paths.get(i);
+            Pose2d localStart = toForward(path, path.getInitialPose());
+            if (current == null)
+                current = localStart;
+
+            localStarts[i] = localStart;
+            starts[i] = current;
+            ends[i] = place(toForward(path, path.getEndPose()), localStart, current);
+
+            List<Translation2d> placed = new ArrayList<>();
+            for (Translation2d waypoint : path.getInteriorWaypoints()) {
+                placed.add(place(toForward(path, new Pose2d(waypoint, new Rotation2d())), localStart, current).getTranslation());
+            }
+            waypoints.add(placed);
+
+            current = ends[i];
+        }
+
+        return placement;
+    }
+
+    /**
+     * Places every path, works out the speed at each join and joins the segment trajectories together
+     */
+    private static Result generate(List<Path> paths) {
+        int count = paths.size();
+        Placement placement = placeAll(paths);
+        Pose2d[] localStarts = placement.localStarts;
+        Pose2d[] starts = placement.starts;
+        Pose2d[] ends = placement.ends;
+        List<List<Translation2d>> waypoints = placement.waypoints;
+
+        // Speed at each join, zero where the robot changes direction
+        double[] junctions = new double[count - 1];
+        for (int i = 0; i < count - 1; i++) {
+            Path before = paths.get(i);
+            Path after = paths.get(i + 1);
+            junctions[i] = before.getInverted() != after.getInverted() ? 0
+                    : Math.min(before.getConfig().getMaxVelocity(), after.getConfig().getMaxVelocity());
+        }
+
+        // A short segment might not be able to speed up or slow down to the join speed, so lower it to what the
+        // segments actually reached and try again
+        Trajectory[] segments = new Trajectory[count];
+        for (int pass = 0; pass < MAX_JUNCTION_PASSES; pass++) {
+            for (int i = 0; i < count; i++) {
+                Path path = paths.get(i);
+                double startVelocity = i == 0 ? path.getConfig().getStartVelocity() : junctions[i - 1];
+                double endVelocity = i == count - 1 ? path.getConfig().getEndVelocity() : junctions[i];
+
+                TrajectoryConfig config = new TrajectoryConfig(path.getConfig().getMaxVelocity(), path.getConfig().getMaxAcceleration())
+                        .addConstraints(placeConstraints(path, localStarts[i], starts[i]))
+                        .setReversed(path.getInverted())
+                        .setStartVelocity(startVelocity)
+                        .setEndVelocity(endVelocity);
+
+                segments[i] = TrajectoryGenerator.generateTrajectory(starts[i], waypoints.get(i), ends[i], config);
+            }
+
+            boolean changed = false;
+            for (int i = 0; i < count - 1; i++) {
+                List<Trajectory.State> before = segments[i].getStates();
+                double reached = Math.min(Math.abs(before.get(before.size() - 1).velocityMetersPerSecond),
+                        Math.abs(segments[i + 1].getStates().get(0).velocityMetersPerSecond));
+
+                if (reached < junctions[i] - 1e-3) {
+                    junctions[i] = reached;
+                    changed = true;
+                }
+            }
+
+            if (!changed)
+                break;
+        }
+
+        // Join the segments, the first state of each one is the same as the last state of the one before
+        List<Trajectory.State> states = new ArrayList<>();
+        double[] segmentEndTimes = new double[count];
+        double offset = 0;
+
+        for (int i = 0; i < count; i++) {
+            List<Trajectory.State> segment = segments[i].getStates();
+            for (int j = i == 0 ? 0 : 1; j < segment.size(); j++) {
+                Trajectory.State state = segment.get(j);
+                states.add(new Trajectory.State(state.timeSeconds + offset, state.velocityMetersPerSecond,
+                        state.accelerationMetersPerSecondSq, state.poseMeters, state.curvatureRadPerMeter));
+            }
+
+            offset += segments[i].getTotalTimeSeconds();
+            segmentEndTimes[i] = offset;
+        }
+
+        return new Result(new Trajectory(states), segmentEndTimes, waypoints);
+    }
+
+    /**
+     * Copies a path's constraints for its place in the chain, wrapping the regions so they are still checked where the
+     * path put them
+     */
+    private static List<TrajectoryConstraint> placeConstraints(Path path, Pose2d localStart, Pose2d start) {
+        List<TrajectoryConstraint> constraints = new ArrayList<>();
+        for (TrajectoryConstraint constraint : path.getConfig().getConstraints()) {
+            constraints.add(constraint instanceof RegionConstraint ? new PlacedRegion(path, (RegionConstraint) constraint, localStart, start) : constraint);
+        }
+        return constraints;
+    }
+
+    /**
+     * A region constraint from a path that has been moved into the chain, poses along the chain are moved back into
+     * the path's own coordinates before the region is checked
+     */
+    private static class PlacedRegion implements TrajectoryConstraint {
+        final Path path;
+        final RegionConstraint region;
+        final Pose2d localStart;
+        final Pose2d start;
+
+        PlacedRegion(Path path, RegionConstraint region, Pose2d localStart, Pose2d start) {
+            this.path = path;
+            this.region = region;
+            this.localStart = localStart;
+            this.start = start;
+        }
+
+        @Override
+        public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+            return region.getMaxVelocityMetersPerSecond(toPath(poseMeters), curvatureRadPerMeter, velocityMetersPerSecond);
+        }
+
+        @Override
+        public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters, double curvatureRadPerMeter, double velocityMetersPerSecond) {
+            return region.getMinMaxAccelerationMetersPerSecondSq(toPath(poseMeters), curvatureRadPerMeter, velocityMetersPerSecond);
+        }
+
+        /**
+         * Undoes place() and then toForward(), mirroring is its own inverse
+         */
+        private Pose2d toPath(Pose2d pose) {
+            return toForward(path, place(pose, start, localStart));
+        }
+    }
+
+    /**
+     * Moves a pose from a path's own frame to the chain's, so the path's start lands on where the last path ended
+     */
+    private static Pose2d place(Pose2d pose, Pose2d localStart, Pose2d start) {
+        Pose2d relative = pose.relativeTo(localStart);
+        return start.transformBy(new Transform2d(relative.getTranslation(), relative.getRotation()));
+    }
+
+    /**
+     * Turns a pose from an inverted path into where the robot really is, inverted paths are driven with the encoders
+     * and gyro flipped which mirrors everything across the y axis
+     */
+    private static Pose2d toForward(Path path, Pose2d pose) {
+        return path.getInverted() ? mirror(pose) : pose;
+    }
+
+    private static Pose2d mirror(Pose2d pose) {
+        return new Pose2d(-pose.getTranslation().getX(), pose.getTranslation().getY(), new Rotation2d(-pose.getRotation().getRadians()));
+    }
+}
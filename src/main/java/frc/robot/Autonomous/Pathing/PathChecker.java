@@ -0,0 +1,317 @@
+package frc.robot.Autonomous.Pathing;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.controller.PIDController;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import frc.robot.RobotConstants;
+import frc.robot.Utilities.Control.RAMSETE.RamseteFollower;
+import frc.robot.Utilities.Control.RAMSETE.RamseteLaw;
+import frc.robot.Utilities.Simulation.DrivetrainSim;
+
+/**
+ * Desktop tool run by the build that checks every PathContainer path, chain and CSV path against the drivetrain model
+ * before they are deployed. Each side's wheel speed and acceleration along the trajectory are turned into the voltage
+ * the characterization says it needs, the current the motors draw for it and the grip the wheels need, and any
+ * stretch of the path over a limit is flagged. The path is then driven in DrivetrainSim with the RAMSETE follower to
+ * predict when the robot actually gets to the end. Run with ./gradlew checkPaths
+ *
+ * Usage: PathChecker [csv-directory]
+ */
+public class PathChecker {
+
+    private static final double GRAVITY = 9.81;
+
+    // Follower period and how long after the trajectory ends the robot gets to settle before giving up
+    private static final double SIM_PERIOD_SECONDS = RamseteFollower.DEFAULT_PERIOD;
+    private static final double MAX_SETTLE_SECONDS = 2;
+
+    // The robot is done once it is this close to the end and going nearly the speed the trajectory ends at
+    private static final double DONE_DISTANCE_METERS = 0.05;
+    private static final double DONE_SPEED_METERS_PER_SECOND = 0.1;
+
+    /**
+     * A stretch of a path that goes over one of the limits
+     */
+    public static class Violation {
+        public final String limit;
+        public final double startSeconds;
+        public final double endSeconds;
+        public final double peak;
+        public final double max;
+
+        Violation(String limit, double startSeconds, double endSeconds, double peak, double max) {
+            this.limit = limit;
+            this.startSeconds = startSeconds;
+            this.endSeconds = endSeconds;
+            this.peak = peak;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %.2f over %.2f from %.2fs to %.2fs", limit, peak, max, startSeconds, endSeconds);
+        }
+    }
+
+    /**
+     * What the check found for one path
+     */
+    public static class Report {
+        public final String name;
+        public final double plannedSeconds;
+
+        // When the simulated robot got to the end, NaN if it never did
+        public double predictedSeconds = Double.NaN;
+
+        // The most each side needed of each limit
+        public double peakVolts;
+        public double peakAmps;
+        public double peakAcceleration;
+
+        public final List<Violation> violations = new ArrayList<>();
+
+        Report(String name, double plannedSeconds) {
+            this.name = name;
+            this.plannedSeconds = plannedSeconds;
+        }
+
+        /**
+         * Get the fraction of each limit left over at the worst point of the path, negative if a limit is broken
+         */
+        public double getVoltageMargin() {
+            return 1 - peakVolts / RobotConstants.kMaxUsableVoltage;
+        }
+
+        public double getCurrentMargin() {
+            return 1 - peakAmps / RobotConstants.kMaxDriveCurrentAmps;
+        }
+
+        public double getTractionMargin() {
+            return 1 - peakAcceleration / (RobotConstants.kWheelFrictionCoefficient * GRAVITY);
+        }
+
+        /**
+         * Get the smallest margin of all the limits
+         */
+        public double getMargin() {
+            return Math.min(getVoltageMargin(), Math.min(getCurrentMargin(), getTractionMargin()));
+        }
+
+        /**
+         * Whether or not the path stays inside every limit and the simulated robot finished it
+         */
+        public boolean isFeasible() {
+            return violations.isEmpty() && !Double.isNaN(predictedSeconds);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> paths = new ArrayList<>(PathContainer.getAllPaths());
+        if (args.length > 0)
+            paths.addAll(TrajectoryExporter.parseCsvPaths(Paths.get(args[0])));
+
+        // Chains are checked as the one joined trajectory the robot drives
+        List<Report> reports = new ArrayList<>();
+        for (Path path : paths) {
+            reports.add(check(path.getName(), path.generateTrajectory()));
+        }
+        for (PathChain chain : PathContainer.getAllChains()) {
+            reports.add(check(chain.getName(), chain.generateTrajectory()));
+        }
+
+        System.out.printf("%-32s %8s %8s %8s %8s %8s %8s%n", "Path", "Planned", "Driven", "Volts", "Amps", "Grip", "Margin");
+
+        int failed = 0;
+        for (Report report : reports) {
+            System.out.printf("%-32s %7.2fs %7.2fs %7.0f%% %7.0f%% %7.0f%% %7.0f%%%s%n", report.name,
+                    report.plannedSeconds, report.predictedSeconds,
+                    report.getVoltageMargin() * 100, report.getCurrentMargin() * 100, report.getTractionMargin() * 100,
+                    report.getMargin() * 100, report.isFeasible() ? "" : "  INFEASIBLE");
+
+            for (Violation violation : report.violations) {
+                System.out.println("    " + violation);
+            }
+            if (Double.isNaN(report.predictedSeconds))
+                System.out.printf("    did not reach the end within %.1fs of the trajectory finishing%n", MAX_SETTLE_SECONDS);
+
+            if (!report.isFeasible())
+                failed++;
+        }
+
+        System.out.printf("Checked %d paths, %d infeasible%n", reports.size(), failed);
+        if (failed > 0)
+            System.exit(1);
+    }
+
+    /**
+     * Check a trajectory against the drivetrain model and simulate driving it
+     *
+     * @param name       name of the path for the report
+     * @param trajectory the trajectory, as it will be followed
+     * @return what was found
+     */
+    public static Report check(String name, Trajectory trajectory) {
+        Report report = new Report(name, trajectory.getTotalTimeSeconds());
+        checkLimits(trajectory, report);
+        report.predictedSeconds = simulate(trajectory);
+        return report;
+    }
+
+    /**
+     * Walks the trajectory working out what each side needs at every state, the same speeds and finite difference
+     * accelerations the followers give the feedforward
+     */
+    private static void checkLimits(Trajectory trajectory, Report report) {
+        double halfTrack = RobotConstants.kTrackWidthMeters / 2;
+        double maxGrip = RobotConstants.kWheelFrictionCoefficient * GRAVITY;
+
+        LimitTracker volts = new LimitTracker("Voltage", RobotConstants.kMaxUsableVoltage, report);
+        LimitTracker amps = new LimitTracker("Current", RobotConstants.kMaxDriveCurrentAmps, report);
+        LimitTracker grip = new LimitTracker("Traction", maxGrip, report);
+
+        List<Trajectory.State> states = trajectory.getStates();
+        double prevLeft = 0;
+        double prevRight = 0;
+        double prevTime = 0;
+
+        for (int i = 0; i < states.size(); i++) {
+            Trajectory.State state = states.get(i);
+            double velocity = state.velocityMetersPerSecond;
+            double turn = velocity * state.curvatureRadPerMeter * halfTrack;
+            double left = velocity - turn;
+            double right = velocity + turn;
+
+            double dt = state.timeSeconds - prevTime;
+            double leftAcceleration = i > 0 && dt > 0 ? (left - prevLeft) / dt : state.accelerationMetersPerSecondSq;
+            double rightAcceleration = i > 0 && dt > 0 ? (right - prevRight) / dt : state.accelerationMetersPerSecondSq;
+
+            double leftVolts = volts(left, leftAcceleration);
+            double rightVolts = volts(right, rightAcceleration);
+
+            // Whatever voltage isn't fighting back EMF pushes current through the windings, every motor on a side
+            // gets the whole voltage so this is the current through each one
+            double leftAmps = (leftVolts - RobotConstants.kvVoltMetersPerSecond * left) / RobotConstants.kDriveMotorResistanceOhms;
+            double rightAmps = (rightVolts - RobotConstants.kvVoltMetersPerSecond * right) / RobotConstants.kDriveMotorResistanceOhms;
+
+            // The wheels have to hold both the speeding up and the turn
+            double centripetal = velocity * velocity * state.curvatureRadPerMeter;
+            double acceleration = Math.hypot(state.accelerationMetersPerSecondSq, centripetal);
+
+            volts.add(state.timeSeconds, Math.max(Math.abs(leftVolts), Math.abs(rightVolts)));
+            amps.add(state.timeSeconds, Math.max(Math.abs(leftAmps), Math.abs(rightAmps)));
+            grip.add(state.timeSeconds, acceleration);
+
+            prevLeft = left;
+            prevRight = right;
+            prevTime = state.timeSeconds;
+        }
+
+        volts.finish();
+        amps.finish();
+        grip.finish();
+
+        report.peakVolts = volts.peak;
+        report.peakAmps = amps.peak;
+        report.peakAcceleration = grip.peak;
+    }
+
+    /**
+     * Voltage the characterization says one side needs
+     */
+    private static double volts(double velocity, double acceleration) {
+        double direction = velocity != 0 ? Math.signum(velocity) : Math.signum(acceleration);
+        return RobotConstants.kSVolts * direction
+                + RobotConstants.kvVoltMetersPerSecond * velocity
+                + RobotConstants.kaVoltMetersPerSecondSquared * acceleration;
+    }
+
+    /**
+     * Drives the trajectory in the simulation with the RAMSETE follower, then keeps holding the end until the robot
+     * settles there
+     *
+     * @return seconds until the robot got to the end, NaN if it didn't
+     */
+    private static double simulate(Trajectory trajectory) {
+        DrivetrainSim sim = new DrivetrainSim(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond,
+                RobotConstants.kaVoltMetersPerSecondSquared, RobotConstants.kTrackWidthMeters, RobotConstants.kMaxUsableVoltage);
+
+        RamseteFollower follower = new RamseteFollower(trajectory,
+                new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta),
+                new SimpleMotorFeedforward(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond, RobotConstants.kaVoltMetersPerSecondSquared),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                RobotConstants.kTrackWidthMeters, sim, sim, SIM_PERIOD_SECONDS);
+
+        Pose2d start = trajectory.sample(0).poseMeters;
+        Trajectory.State endState = trajectory.sample(trajectory.getTotalTimeSeconds());
+        Pose2d end = endState.poseMeters;
+        double endSpeed = Math.abs(endState.velocityMetersPerSecond);
+        sim.reset(start.getTranslation().getX(), start.getTranslation().getY(), start.getRotation().getRadians());
+        follower.reset(start, 0);
+
+        double time = 0;
+        double limit = trajectory.getTotalTimeSeconds() + MAX_SETTLE_SECONDS;
+        while (time <= limit) {
+            follower.update(time);
+            sim.step(SIM_PERIOD_SECONDS);
+            time += SIM_PERIOD_SECONDS;
+
+            double distance = Math.hypot(end.getTranslation().getX() - sim.getX(), end.getTranslation().getY() - sim.getY());
+            double speed = Math.abs(sim.readLeftRateMetersPerSecond() + sim.readRightRateMetersPerSecond()) / 2;
+            if (follower.isFinished() && distance < DONE_DISTANCE_METERS && Math.abs(speed - endSpeed) < DONE_SPEED_METERS_PER_SECOND)
+                return time;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Follows one quantity along the path, keeping its peak and turning each run of states over the limit into a
+     * violation
+     */
+    private static class LimitTracker {
+        final String name;
+        final double max;
+        final Report report;
+
+        double peak;
+
+        // Start of the run over the limit and the worst value in it, NaN when not over
+        double overStart = Double.NaN;
+        double overEnd;
+        double overPeak;
+
+        LimitTracker(String name, double max, Report report) {
+            this.name = name;
+            this.max = max;
+            this.report = report;
+        }
+
+        void add(double time, double value) {
+            peak = Math.max(peak, value);
+
+            if (value > max) {
+                if (Double.isNaN(overStart)) {
+                    overStart = time;
+                    overPeak = value;
+                }
+                overEnd = time;
+                overPeak = Math.max(overPeak, value);
+            } else {
+                finish();
+            }
+        }
+
+        void finish() {
+            if (!Double.isNaN(overStart)) {
+                report.violations.add(new Violation(name, overStart, overEnd, overPeak, max));
+                overStart = Double.NaN;
+            }
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package frc.robot.Autonomous.Pathing;
 
+import java.util.List;
+
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
 import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveVoltageConstraint;
 import frc.robot.RobotConstants;
+import frc.robot.Autonomous.Pathing.Constraints.CentripetalAccelerationConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.MaxVelocityConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.PathConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.RectangularRegionConstraint;
 
 /**
  * Container created to hold large numbers of auto path, and methods to return them
@@ -15,9 +22,13 @@ import frc.robot.RobotConstants;
 public class PathContainer{
 
     /**
-     * Setup the actual drive train configuration variable
+     * Setup the actual drive train configuration variable, every path is held to the motor voltage and to the
+     * centripetal acceleration the wheels can hold in a turn
+     * 
+     * @param constraints extra constraints for this path, such as slow regions
+     * @return the config
      */
-    private static TrajectoryConfig getConfig(){
+    static TrajectoryConfig getConfig(PathConstraint... constraints){
         
         //Voltage/Speed Constraints
         var autoVoltageConstraint = new DifferentialDriveVoltageConstraint(new SimpleMotorFeedforward(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond, RobotConstants.kaVoltMetersPerSecondSquared), 
@@ -25,25 +36,53 @@ public class PathContainer{
 
         //Constraints for the trajectory to follow
         TrajectoryConfig Localconfig = new TrajectoryConfig(RobotConstants.kMaxVelocityMetersPerSecond, RobotConstants.kMaxAccelerationMetersPerSecondSquared)
-        .setKinematics(RobotConstants.kDriveKinematics).addConstraint(autoVoltageConstraint);
+        .setKinematics(RobotConstants.kDriveKinematics).addConstraint(autoVoltageConstraint)
+        .addConstraint(new CentripetalAccelerationConstraint(RobotConstants.kMaxCentripetalAccelerationMetersPerSecondSquared))
+        .addConstraints(List.of(constraints));
 
         return Localconfig;
     }
 
-      /**
-     * Setup the actual drive train configuration variable
+    /**
+     * Get a constraint that slows the robot to a speed inside a rectangle, for driving over balls while intaking
+     * 
+     * @param x1 x of one corner
+     * @param y1 y of one corner
+     * @param x2 x of the opposite corner
+     * @param y2 y of the opposite corner
+     * @param maxVelocity the speed inside in meters per second
+     * @return the constraint
      */
-    private static TrajectoryConfig getConfig(double maxVelocity){
-        
-        //Voltage/Speed Constraints
-        var autoVoltageConstraint = new DifferentialDriveVoltageConstraint(new SimpleMotorFeedforward(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond, RobotConstants.kaVoltMetersPerSecondSquared), 
-        RobotConstants.kDriveKinematics, RobotConstants.kMaxUsableVoltage);
+    private static PathConstraint slowZone(double x1, double y1, double x2, double y2, double maxVelocity){
+        return new RectangularRegionConstraint(new Translation2d(x1, y1), new Translation2d(x2, y2), new MaxVelocityConstraint(maxVelocity));
+    }
 
-        //Constraints for the trajectory to follow
-        TrajectoryConfig Localconfig = new TrajectoryConfig(maxVelocity, RobotConstants.kMaxAccelerationMetersPerSecondSquared)
-        .setKinematics(RobotConstants.kDriveKinematics).addConstraint(autoVoltageConstraint);
+    /**
+     * Get every path in the container, used to generate them all ahead of time
+     * 
+     * @return a new copy of each path
+     */
+    public static List<Path> getAllPaths(){
+        return List.of(
+            getExamplePath(),
+            basicEightPartOne(),
+            turnAndPickUp(),
+            driveBackToStart(),
+            grabBallsFromOpposingTrench(),
+            backOutOfTrench(),
+            driveToShoot()
+        );
+    }
 
-        return Localconfig;
+    /**
+     * Get every chain the autos run, used to generate and check them ahead of time like the paths
+     * 
+     * @return a new copy of each chain
+     */
+    public static List<PathChain> getAllChains(){
+        return List.of(
+            pickUpAndReturn()
+        );
     }
 
     /**
@@ -55,6 +94,7 @@ public class PathContainer{
         
         // Trajectory Config, End Pose at 90 degrees (80 cause weird over shoot)
         Path path = new Path(getConfig(), new Pose2d(3, 0, new Rotation2d(0)));
+        path.setName("examplePath");
 
         path.addWaypoint(1, 0.5);
         path.addWaypoint(2, 0);
@@ -72,6 +112,7 @@ public class PathContainer{
 
         // Start at (0,0) (Subject to change) drive backwards because of the inverse "1 meter" with a waypoint .75 meters in the middle
         Path path = new Path(getConfig(), new Pose2d(1, 0, new Rotation2d(0)));
+        path.setName("basicEightPartOne");
 
         path.setInverted(true);
 
@@ -85,7 +126,9 @@ public class PathContainer{
      * @return
      */
     public static Path turnAndPickUp(){
-        Path path = new Path(getConfig(0.8), new Pose2d(2, 0, new Rotation2d(Math.toRadians(0))));
+        // Only slow down once the intake reaches the balls
+        Path path = new Path(getConfig(slowZone(0.8, -0.5, 2.5, 0.5, 0.8)), new Pose2d(2, 0, new Rotation2d(Math.toRadians(0))));
+        path.setName("turnAndPickUp");
 
         path.setInverted(false);
 
@@ -101,6 +144,7 @@ public class PathContainer{
      */
     public static Path driveBackToStart(){
         Path path = new Path(getConfig(), new Pose2d(3, 0, new Rotation2d(0)));
+        path.setName("driveBackToStart");
 
         path.setInverted(true);
 
@@ -109,6 +153,20 @@ public class PathContainer{
         return path;
     }
 
+    /**
+     * Pick up the balls and drive straight back to the start without stopping to reset in between
+     * 
+     * Segment 0: turnAndPickUp
+     * Segment 1: driveBackToStart
+     * 
+     * @return the chain to complete this action
+     */
+    public static PathChain pickUpAndReturn(){
+        return new PathChain("pickUpAndReturn")
+            .add(turnAndPickUp())
+            .add(driveBackToStart());
+    }
+
     //endregion
 
     //region 10 Ball Auto Paths
@@ -116,12 +174,14 @@ public class PathContainer{
     /**
      * Grab the balls from the opposing trench
      * 
-     * Drive forward 3.5 meters to the trench with a max velocity of 0.75m/s
+     * Drive forward 3.5 meters to the trench, slowing to 0.75m/s for the last meter where the balls are
      * 
      * @return the path to complete this action
      */
     public static Path grabBallsFromOpposingTrench(){
-        Path path = new Path(getConfig(0.75), new Pose2d(3.467, 0, new Rotation2d(0)));
+        // Full speed to the trench and 0.75m/s inside it while intaking
+        Path path = new Path(getConfig(slowZone(2.4, -0.5, 4, 0.5, 0.75)), new Pose2d(3.467, 0, new Rotation2d(0)));
+        path.setName("grabBallsFromOpposingTrench");
 
         path.addWaypoint(1.7335, 0);
 
@@ -142,6 +202,7 @@ public class PathContainer{
      */
     public static Path backOutOfTrench(){
         Path path = new Path(getConfig(), new Pose2d(3.467, 0, new Rotation2d(0)), new Pose2d(5.237, 0, new Rotation2d(0)));
+        path.setName("backOutOfTrench");
 
         path.setInverted(true);
 
@@ -163,6 +224,7 @@ public class PathContainer{
      */
     public static Path driveToShoot(){
         Path path = new Path(getConfig(), new Pose2d(1.77, 0, new Rotation2d(0)), new Pose2d(1.014, 5.223, new Rotation2d(Math.toRadians(-180))));
+        path.setName("driveToShoot");
 
         path.setInverted(false);
 
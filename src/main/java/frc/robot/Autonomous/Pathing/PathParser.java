@@ -1,9 +1,11 @@
 package frc.robot.Autonomous.Pathing;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
@@ -11,97 +13,86 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
 
 /**
- * Allows reading of CSV files to convert into paths
- * 
+ * Allows reading of CSV files to convert into paths.
+ * The first row is the start pose, the last row is the end pose and every row in between is a waypoint, see
+ * PathPoints for the file format
+ *
  * @author Will Richards
  */
 public class PathParser {
 
-    //Lists for the 3 columns of the file
-    private static ArrayList<Double> xValues = new ArrayList<>();
-    private static ArrayList<Double> yValues = new ArrayList<>();
-    private static ArrayList<Double> rotation = new ArrayList<>();
-
-    //The waypoints to follow
-    private static ArrayList<Translation2d> waypoints = new ArrayList<>();
-
-    //The rotations at those points
-    private static ArrayList<Rotation2d> rotations = new ArrayList<>();
-
-    //Values for the inital pose and the ending pose
-    private static Pose2d initalPose = null;
-    private static Pose2d endPose = null;
-
-
-
     /**
-     * Populate the ArrayLists with the values from the CSV file
-     * 
-     * @param path the path to the file
+     * Create a path from a CSV file
+     * @param config the config to generate the trajectory with
+     * @param filePath the path to the file
+     * @return the path, named after the file
+     * @throws IOException if the file can't be read or has a bad line
      */
-    private static void populateValues(String path) {
-
-        //Init to null so compiler doesnt die
-        Scanner scan = null;
-        try { scan = new Scanner(new File(path)); } catch (FileNotFoundException e) {}
-
-        //For every line in the file
-        while(scan.hasNextLine()){
-            String[] splitLine = scan.nextLine().split(",");
-
-            //Add X and Y values
-            xValues.add(Double.parseDouble(splitLine[0]));
-            yValues.add(Double.parseDouble(splitLine[1]));
-            rotation.add(Double.parseDouble(splitLine[2]));
-
-        }
+    public static Path generatePath(TrajectoryConfig config, String filePath) throws IOException {
+        return generatePath(config, Paths.get(filePath));
     }
 
     /**
-     * Creates and returns an ArrayList of waypoints
-     * @param path the path to find the waypoints 
-     * @return a list of waypoints
+     * Create a path from a CSV file
+     * @param config the config to generate the trajectory with
+     * @param file the file
+     * @return the path, named after the file
+     * @throws IOException if the file can't be read or has a bad line
      */
-    private static void getWaypoints(String path){
-
-        //Populate the X and Y lists with values
-        populateValues(path);
-
-        //Loop through all the values in the x, y and rotation arrays
-        for(int i=0; i < xValues.size(); i++){
-
-            //Sets the first waypoint to the inital pose
-            if(i == 0){
-                initalPose = new Pose2d(xValues.get(i), yValues.get(i), new Rotation2d(rotation.get(i)));
-            }
-
-            //Sets the last waypoint to the end pose
-            else if(i == xValues.size()-1){
-                endPose = new Pose2d(xValues.get(i), yValues.get(i), new Rotation2d(rotation.get(i)));
-            }
+    public static Path generatePath(TrajectoryConfig config, java.nio.file.Path file) throws IOException {
+        return createPath(config, PathPoints.read(file), file);
+    }
 
-            //Set everything else to an interiorPose
-            else{
-                waypoints.add(new Translation2d(xValues.get(i), yValues.get(i)));
-                rotations.add(new Rotation2d(rotation.get(i)));
-            }
+    /**
+     * Create paths from several CSV files, the files are parsed in parallel
+     * @param config the config to generate the trajectories with
+     * @param files the files
+     * @return the paths, in the same order as the files
+     * @throws IOException if any file can't be read or has a bad line
+     */
+    public static List<Path> generatePaths(TrajectoryConfig config, List<java.nio.file.Path> files) throws IOException {
+        try {
+            return files.parallelStream().map(file -> {
+                try {
+                    return createPath(config, PathPoints.read(file), file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
     /**
-     * Create a path passed on the loaded information
-     * @return
+     * Get the name a CSV path is cached and deployed under, the file name without the extension
+     * @param filePath the path to the file
+     * @return the name
      */
-    public static Path generatePath(TrajectoryConfig config, String filePath){
-
-        //Compute lists of waypoints and rotaions
-        getWaypoints(filePath);
-
-        //Create a new path and pass the values to it
-        return new Path(config, initalPose, waypoints, endPose);
+    public static String getPathName(String filePath){
+        String name = Paths.get(filePath).getFileName().toString();
+        return name.endsWith(".csv") ? name.substring(0, name.length() - 4) : name;
     }
 
+    /**
+     * Turns the points of a file into a path
+     */
+    private static Path createPath(TrajectoryConfig config, PathPoints points, java.nio.file.Path file) throws IOException {
+        int last = points.getSize() - 1;
+        if (last < 1)
+            throw new IOException(file + ": a path needs at least a start and an end point");
+
+        ArrayList<Translation2d> waypoints = new ArrayList<>(last - 1);
+        for (int i = 1; i < last; i++) {
+            waypoints.add(new Translation2d(points.getX(i), points.getY(i)));
+        }
 
+        Path path = new Path(config,
+            new Pose2d(points.getX(0), points.getY(0), new Rotation2d(points.getRotation(0))),
+            waypoints,
+            new Pose2d(points.getX(last), points.getY(last), new Rotation2d(points.getRotation(last))));
+        path.setName(getPathName(file.toString()));
 
-
-}
\ No newline at end of file
+        return path;
+    }
+}
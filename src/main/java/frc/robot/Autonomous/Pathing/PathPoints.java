@@ -0,0 +1,245 @@
+package frc.robot.Autonomous.Pathing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The points of a CSV path file, one row of x, y and rotation in radians per line.
+ * Files are mapped and parsed straight into primitive arrays. Blank lines and anything after a '#' are ignored, and
+ * a first line that isn't numbers is taken as a header. Errors give the file and line they were found on
+ */
+public class PathPoints {
+
+    private static final int COLUMNS = 3;
+
+    // Number of digits that can be turned into a double exactly with one division
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private double[] x = new double[16];
+    private double[] y = new double[16];
+    private double[] rotation = new double[16];
+    private int size = 0;
+
+    /**
+     * Get the number of points
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Get the rotation of a point in radians
+     */
+    public double getRotation(int i) {
+        return rotation[i];
+    }
+
+    /**
+     * Add a point to the end
+     */
+    public void add(double x, double y, double rotation) {
+        if (size == this.x.length) {
+            this.x = Arrays.copyOf(this.x, size * 2);
+            this.y = Arrays.copyOf(this.y, size * 2);
+            this.rotation = Arrays.copyOf(this.rotation, size * 2);
+        }
+
+        this.x[size] = x;
+        this.y[size] = y;
+        this.rotation[size] = rotation;
+        size++;
+    }
+
+    /**
+     * Reads a CSV path file
+     *
+     * @param file the file to read
+     * @return the points in the file
+     * @throws IOException if the file can't be read or a line isn't 3 numbers
+     */
+    public static PathPoints read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException(file + " is too large to be a path");
+
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.toString());
+        }
+    }
+
+    /**
+     * Parses CSV path data
+     *
+     * @param data the bytes to parse, from the position to the limit
+     * @param name the name used in error messages
+     * @return the points
+     * @throws IOException if a line isn't 3 numbers
+     */
+    public static PathPoints parse(ByteBuffer data, String name) throws IOException {
+        PathPoints points = new PathPoints();
+        double[] row = new double[COLUMNS];
+
+        int position = data.position();
+        int limit = data.limit();
+        int lineNumber = 0;
+        boolean firstRow = true;
+
+        // Skip the byte order mark some editors add
+        if (limit - position >= 3 && data.get(position) == (byte) 0xEF && data.get(position + 1) == (byte) 0xBB
+                && data.get(position + 2) == (byte) 0xBF)
+            position += 3;
+
+        while (position < limit) {
+            lineNumber++;
+
+            // The content of the line stops at a comment or the end of the line
+            int lineEnd = position;
+            while (lineEnd < limit && data.get(lineEnd) != '\n')
+                lineEnd++;
+            int contentEnd = position;
+            while (contentEnd < lineEnd && data.get(contentEnd) != '#')
+                contentEnd++;
+
+            int contentStart = skipSpace(data, position, contentEnd);
+            contentEnd = trimSpace(data, contentStart, contentEnd);
+            position = lineEnd + 1;
+
+            if (contentStart == contentEnd)
+                continue;
+
+            // A line of names before the first row is a header
+            if (firstRow && !looksNumeric(data.get(contentStart))) {
+                firstRow = false;
+                continue;
+            }
+            firstRow = false;
+
+            int columns = 0;
+            int fieldStart = contentStart;
+            for (int i = contentStart; i <= contentEnd; i++) {
+                if (i < contentEnd && data.get(i) != ',')
+                    continue;
+
+                int valueStart = skipSpace(data, fieldStart, i);
+                int valueEnd = trimSpace(data, valueStart, i);
+
+                if (columns == COLUMNS)
+                    throw error(name, lineNumber, "expected " + COLUMNS + " values but found more");
+                if (valueStart == valueEnd)
+                    throw error(name, lineNumber, "value " + (columns + 1) + " is empty");
+
+                row[columns] = parseDouble(data, valueStart, valueEnd);
+                if (Double.isNaN(row[columns]))
+                    throw error(name, lineNumber, "'" + text(data, valueStart, valueEnd) + "' is not a number");
+
+                columns++;
+                fieldStart = i + 1;
+            }
+
+            if (columns != COLUMNS)
+                throw error(name, lineNumber, "expected " + COLUMNS + " values but found " + columns);
+
+            points.add(row[0], row[1], row[2]);
+        }
+
+        return points;
+    }
+
+    /**
+     * Parses a number without making a String, falling back to Double.parseDouble for anything unusual
+     *
+     * @return the value, NaN if it isn't a number
+     */
+    private static double parseDouble(ByteBuffer data, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (data.get(i) == '-' || data.get(i) == '+') {
+            negative = data.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = 0;
+        boolean seenPoint = false;
+        boolean seenDigit = false;
+
+        for (; i < end; i++) {
+            byte b = data.get(i);
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (mantissa != 0 || b != '0')
+                    digits++;
+                mantissa = mantissa * 10 + (b - '0');
+                if (seenPoint)
+                    decimals++;
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+
+        if (i == end && seenDigit && digits <= MAX_FAST_DIGITS && decimals < POWERS_OF_TEN.length) {
+            double value = mantissa / POWERS_OF_TEN[decimals];
+            return negative ? -value : value;
+        }
+
+        // Exponents and long numbers
+        try {
+            return Double.parseDouble(text(data, start, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Whether a line starting with this character is a row of numbers rather than a header
+     */
+    private static boolean looksNumeric(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.';
+    }
+
+    private static IOException error(String name, int lineNumber, String message) {
+        return new IOException(name + " line " + lineNumber + ": " + message);
+    }
+
+    private static int skipSpace(ByteBuffer data, int start, int end) {
+        while (start < end && isSpace(data.get(start)))
+            start++;
+        return start;
+    }
+
+    private static int trimSpace(ByteBuffer data, int start, int end) {
+        while (end > start && isSpace(data.get(end - 1)))
+            end--;
+        return end;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static String text(ByteBuffer data, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,6 @@
 package frc.robot.Autonomous.Pathing;
 
+import edu.wpi.first.wpilibj.geometry.Translation2d;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.Subsystems.DriveTrainSystem;
 
@@ -52,10 +53,32 @@ public class Pathing{
         }
     }
 
+    /**
+     * Run a chain of paths back to back without stopping between them
+     * @param chain the paths to run
+     * @param endAction action to run at the end of the last path
+     */
+    public void runChain(PathChain chain, Runnable endAction){
+
+        pathCommand = pathingCommand.getChainCommand(chain, endAction);
+
+        if(pathCommand != null && !pathCommand.isScheduled()){
+            pathCommand.schedule();
+        }
+    }
+
     /**
      * Resets all the physical location properties of the robot
      */
     public double resetProperties(){
         return pathingCommand.resetProperties();
     }
+
+    /**
+     * Tell the pose estimator where the power port is so the Limelight can correct the pose, cleared by resetProperties()
+     * @param target middle of the power port in the coordinates of the next path
+     */
+    public void setVisionTarget(Translation2d target){
+        pathingCommand.getRobotDrive().setVisionTarget(target);
+    }
 }
\ No newline at end of file
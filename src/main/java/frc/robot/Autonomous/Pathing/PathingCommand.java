@@ -1,16 +1,20 @@
 package frc.robot.Autonomous.Pathing;
 
 import edu.wpi.first.wpilibj.controller.PIDController;
-import edu.wpi.first.wpilibj.controller.RamseteController;
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
 import edu.wpi.first.wpilibj.trajectory.Trajectory;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.RobotConstants;
+import frc.robot.Autonomous.Pathing.Commands.PathEvents;
 import frc.robot.Hardware.Sensors.NavX;
 import frc.robot.Subsystems.DriveTrainSystem;
+import frc.robot.Utilities.Control.RAMSETE.HighRateRamseteCommand;
 import frc.robot.Utilities.Control.RAMSETE.RamseteCommand;
+import frc.robot.Utilities.Control.RAMSETE.RamseteFollower;
+import frc.robot.Utilities.Control.RAMSETE.RamseteLaw;
+import frc.robot.Utilities.Control.RAMSETE.TrajectoryReplanner;
 
 public class PathingCommand{
 
@@ -18,7 +22,7 @@ public class PathingCommand{
     private TrajectoryDriveSubsystem robotDrive;
 
     // The command being created
-    RamseteCommand ramseteCommand;
+    Command ramseteCommand;
 
     /**
      * Construct the command with a drive train reference
@@ -67,7 +71,7 @@ public class PathingCommand{
         Trajectory trajectory = path.getTrajectory();
 
         // Create controllers
-        createControllerCommand(trajectory, inverted);
+        createControllerCommand(trajectory, inverted, createReplanner(path));
 
         // Return the command stating that the robot should halt after the path is complete
         return ramseteCommand.andThen(() -> robotDrive.tankDriveVolts(0, 0));
@@ -89,24 +93,74 @@ public class PathingCommand{
         Trajectory trajectory = path.getTrajectory();
 
         // Create the ramsete controller
-        createControllerCommand(trajectory, inverted);
+        createControllerCommand(trajectory, inverted, createReplanner(path));
 
         // Return the command stating that the robot should halt after the path is complete
         return ramseteCommand.andThen(endAction);
     }
 
+    /**
+     * Returns the command to drive a whole chain of paths without stopping, running its events along the way
+     * @param chain the paths to drive
+     * @param endAction run after the last path is complete
+     * @return the command
+     */
+    public Command getChainCommand(PathChain chain, Runnable endAction){
+
+        // Chains drive backwards with reversed segments rather than by inverting the drive
+        robotDrive.setInverted(false);
+
+        // Replanning would head straight for the end and skip the rest of the chain
+        createControllerCommand(chain.getTrajectory(), false, null);
+
+        // Events count from the same moment as the path so they land where they were placed
+        return ramseteCommand.alongWith(new PathEvents(chain.getEventTimes(), chain.getEventActions())).andThen(endAction);
+    }
+
+    /**
+     * Create the replanner that takes over when the robot is pushed off a path
+     * @param path the path being followed
+     * @return the replanner, null if replanning is turned off
+     */
+    private TrajectoryReplanner createReplanner(Path path){
+        if(RobotConstants.kReplanThresholdMeters <= 0)
+            return null;
+
+        return new TrajectoryReplanner(path.getConfig(), RobotConstants.kReplanThresholdMeters, RobotConstants.kReplanLookaheadSeconds);
+    }
+
     /**
      * Create the ramsete controllers depending on inverted state
      * @param trajectory the trajectory to follow
      * @param inverted the state of the robots inversion
+     * @param replanner replans the trajectory if the robot is pushed off it, can be null
      */
-    private void createControllerCommand(Trajectory trajectory, boolean inverted){
-        if(!inverted){
+    private void createControllerCommand(Trajectory trajectory, boolean inverted, TrajectoryReplanner replanner){
+        if(RobotConstants.kUseHighRateFollower){
+            // Run the whole controller on its own thread reading the sensors directly
+            RamseteFollower follower = new RamseteFollower(
+                trajectory,
+                new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta),
+                new SimpleMotorFeedforward(RobotConstants.kSVolts,
+                RobotConstants.kvVoltMetersPerSecond,
+                RobotConstants.kaVoltMetersPerSecondSquared),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                RobotConstants.kTrackWidthMeters,
+                robotDrive,
+                inverted ? robotDrive::inverseTankDriveVolts : robotDrive::tankDriveVolts,
+                RobotConstants.kFollowerPeriodSeconds);
+
+            follower.setReplanner(replanner);
+
+            ramseteCommand = new HighRateRamseteCommand(follower, robotDrive::getPose, robotDrive);
+        }
+        else if(!inverted){
             // Create the ramsete controller command with the guide
             ramseteCommand = new RamseteCommand(
                 trajectory, 
                 robotDrive::getPose, 
-                new RamseteController(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta), 
+                new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta), 
                 new SimpleMotorFeedforward(RobotConstants.kSVolts, 
                 RobotConstants.kvVoltMetersPerSecond,
                 RobotConstants.kaVoltMetersPerSecondSquared), 
@@ -115,14 +169,14 @@ public class PathingCommand{
                 new PIDController(RobotConstants.kPDriveVal, 0, 0), 
                 new PIDController(RobotConstants.kPDriveVal, 0, 0),
                 robotDrive::tankDriveVolts,
-                robotDrive);
+                robotDrive).withReplanner(replanner);
         }
         else{
             // Create the ramsete controller command with the guide
             ramseteCommand = new RamseteCommand(
                 trajectory, 
                 robotDrive::getPose, 
-                new RamseteController(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta), 
+                new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta), 
                 new SimpleMotorFeedforward(RobotConstants.kSVolts, 
                 RobotConstants.kvVoltMetersPerSecond,
                 RobotConstants.kaVoltMetersPerSecondSquared), 
@@ -131,7 +185,7 @@ public class PathingCommand{
                 new PIDController(RobotConstants.kPDriveVal, 0, 0), 
                 new PIDController(RobotConstants.kPDriveVal, 0, 0),
                 robotDrive::inverseTankDriveVolts,
-                robotDrive);
+                robotDrive).withReplanner(replanner);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package frc.robot.Autonomous.Pathing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.PathConstraint;
+
+/**
+ * Generates trajectories ahead of time on a background thread so autonomous never has to.
+ * Trajectories that were deployed as files are loaded instead of generated, as long as they were made from the same
+ * path and config. Paths are queued with precompute() from robotInit and while disabled, then Path.getTrajectory()
+ * picks up the finished trajectory straight away. Trajectories are kept by the path's name, poses and config, so
+ * building the same path again from PathContainer finds the same trajectory
+ */
+public class TrajectoryCache {
+
+    private static TrajectoryCache instance;
+
+    // Finished and still generating trajectories
+    private final ConcurrentHashMap<String, CompletableFuture<Trajectory>> trajectories = new ConcurrentHashMap<>();
+
+    // One low priority thread so generating never competes with the robot loop
+    private final ExecutorService executor;
+
+    /**
+     * Get the cache shared by the robot
+     */
+    public static synchronized TrajectoryCache get() {
+        if (instance == null)
+            instance = new TrajectoryCache();
+
+        return instance;
+    }
+
+    private TrajectoryCache() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Trajectory-Cache");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue paths to be generated in the background, paths that are already cached or queued are skipped
+     *
+     * @param paths the paths to generate
+     */
+    public void precompute(List<Path> paths) {
+        for (Path path : paths) {
+            precompute(path);
+        }
+    }
+
+    /**
+     * Queue a path to be generated in the background
+     *
+     * @param path the path to generate, it needs a name to be cached
+     */
+    public void precompute(Path path) {
+        if (path.getName() == null) {
+            DriverStation.reportWarning("Can't cache a path without a name", false);
+            return;
+        }
+
+        trajectories.computeIfAbsent(getKey(path),
+                key -> CompletableFuture.supplyAsync(() -> loadOrGenerate(path, key), executor));
+    }
+
+    /**
+     * Get the trajectory for a path.
+     * A finished trajectory is returned straight away, one that is still being generated is waited for and a path
+     * that was never queued is generated on the calling thread
+     *
+     * @param path the path
+     * @return the trajectory
+     */
+    public Trajectory getTrajectory(Path path) {
+        if (path.getName() == null)
+            return path.generateTrajectory();
+
+        String key = getKey(path);
+        CompletableFuture<Trajectory> trajectory = trajectories.get(key);
+
+        if (trajectory == null) {
+            DriverStation.reportWarning("Path " + key + " was not precomputed, generating it now", false);
+
+            trajectory = CompletableFuture.completedFuture(loadOrGenerate(path, key));
+            trajectories.putIfAbsent(key, trajectory);
+        } else if (!trajectory.isDone()) {
+            DriverStation.reportWarning("Path " + key + " is still being generated, waiting for it", false);
+        }
+
+        return trajectory.join();
+    }
+
+    /**
+     * Run some other slow generation on the cache thread, it isn't kept in the cache
+     *
+     * @param generator makes the result
+     * @return the result once it is done
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> generator) {
+        return CompletableFuture.supplyAsync(generator, executor);
+    }
+
+    /**
+     * Whether every queued path has finished generating
+     */
+    public boolean isReady() {
+        for (CompletableFuture<Trajectory> trajectory : trajectories.values()) {
+            if (!trajectory.isDone())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Forget every trajectory, used when the constants they were made with change
+     */
+    public void clear() {
+        trajectories.clear();
+    }
+
+    /**
+     * Loads the deployed trajectory for a path, generating it if there isn't one made with the same key
+     */
+    private static Trajectory loadOrGenerate(Path path, String key) {
+        java.nio.file.Path file = TrajectoryFile.getDeployedFile(path.getName());
+
+        if (Files.exists(file)) {
+            try {
+                Trajectory trajectory = TrajectoryFile.read(file, key);
+                if (trajectory != null)
+                    return trajectory;
+
+                DriverStation.reportWarning("Deployed trajectory " + file + " is out of date, generating it", false);
+            } catch (IOException e) {
+                DriverStation.reportWarning("Could not load " + file + ": " + e, false);
+            }
+        }
+
+        return path.generateTrajectory();
+    }
+
+    /**
+     * Builds the key for a path out of its name, its poses and everything in its config that changes the trajectory
+     */
+    public static String getKey(Path path) {
+        TrajectoryConfig config = path.getConfig();
+        StringBuilder key = new StringBuilder(path.getName());
+
+        appendPose(key, path.getInitialPose());
+        for (Translation2d waypoint : path.getInteriorWaypoints()) {
+            key.append('|').append(waypoint.getX()).append(',').append(waypoint.getY());
+        }
+        appendPose(key, path.getEndPose());
+
+        key.append('|').append(config.getMaxVelocity())
+                .append('|').append(config.getMaxAcceleration())
+                .append('|').append(config.getStartVelocity())
+                .append('|').append(config.getEndVelocity())
+                .append('|').append(config.isReversed());
+
+        // WPILib's constraints are only named, ours describe their settings too
+        for (TrajectoryConstraint constraint : config.getConstraints()) {
+            if (constraint instanceof PathConstraint)
+                key.append('|').append(((PathConstraint) constraint).describe());
+            else
+                key.append('|').append(constraint.getClass().getSimpleName());
+        }
+
+        return key.toString();
+    }
+
+    private static void appendPose(StringBuilder key, Pose2d pose) {
+        key.append('|').append(pose.getTranslation().getX())
+                .append(',').append(pose.getTranslation().getY())
+                .append(',').append(pose.getRotation().getRadians());
+    }
+}
@@ -3,17 +3,23 @@ package frc.robot.Autonomous.Pathing;
 import edu.wpi.first.wpilibj.Encoder;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
-import edu.wpi.first.wpilibj.kinematics.DifferentialDriveOdometry;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.RobotConstants;
+import frc.robot.Hardware.RobotStateFrame;
 import frc.robot.Hardware.Sensors.NavX;
 import frc.robot.Subsystems.DriveTrainSystem;
+import frc.robot.Utilities.Control.DrivePoseEstimator;
+import frc.robot.Utilities.Control.RAMSETE.RamseteFollower;
 
 /**
- * A more specilized drive subsytstem solely for use with the ramsete controller
+ * A more specilized drive subsytstem solely for use with the ramsete controller.
+ * The pose comes from a DrivePoseEstimator fed the encoders and gyro every loop, and the Limelight whenever it can see
+ * the target and the path has said where the target is.
+ * The read methods go straight to the encoders and NavX instead of the frame, for the RamseteFollower thread
  */
-public class TrajectoryDriveSubsystem extends SubsystemBase{
+public class TrajectoryDriveSubsystem extends SubsystemBase implements RamseteFollower.Sensors{
 
     DriveTrainSystem drive;
 
@@ -21,11 +27,14 @@ public class TrajectoryDriveSubsystem extends SubsystemBase{
     Encoder leftDriveTrainEncoder;
     Encoder rightDriveTrainEncoder;
 
-    // Gyro
-    NavX navX;
+    // Encoder and gyro values for the current loop, read from here so the odometry can be replayed from telemetry
+    RobotStateFrame frame;
 
     //Robots predictive location
-    DifferentialDriveOdometry odometry;
+    DrivePoseEstimator estimator;
+
+    // Half the Limelight's field of view, targets near the edge are cut off or distorted
+    private static final double LIMELIGHT_HALF_FOV_DEGREES = 29.8;
 
     boolean inverted;
 
@@ -40,35 +49,63 @@ public class TrajectoryDriveSubsystem extends SubsystemBase{
             
         }
 
-        // Get a reference to the NavX
-        navX = NavX.get();
+        frame = RobotStateFrame.get();
 
         //Initialize the robot odometry
-        odometry = new DifferentialDriveOdometry(Rotation2d.fromDegrees(getHeading()));
+        estimator = new DrivePoseEstimator(RobotConstants.kTrackWidthMeters, RobotConstants.kLimelightHeightMeters,
+            RobotConstants.kLimelightPitchDegrees, RobotConstants.kLimelightForwardMeters, RobotConstants.kVisionTargetHeightMeters);
+        estimator.reset(0, 0, 0, 0, 0, Math.toRadians(getHeading()), frame.timestampSeconds);
     }
 
     @Override
     public void periodic() {
 
         // If the path is inverted then flip the drive train encoder directions to account 
-        if(inverted){
-             // Update the odometry in the periodic block
-            odometry.update(Rotation2d.fromDegrees(getHeading()), leftDriveTrainEncoder.getDistance()*-1,
-            rightDriveTrainEncoder.getDistance()*-1);
+        double direction = inverted ? -1.0 : 1.0;
+        estimator.setInverted(inverted);
+        estimator.update(frame.timestampSeconds, frame.leftDistanceMeters*direction,
+                        frame.rightDistanceMeters*direction, Math.toRadians(getHeading()));
+
+        // Pull the pose toward what the Limelight sees, it is ignored until a target has been set
+        if(frame.limelightValidTarget > 0){
+            estimator.addVisionMeasurement(frame.timestampSeconds, frame.limelightX, frame.limelightY,
+                            frame.limelightLatencyMs / 1000, getVisionConfidence(frame.limelightX));
         }
 
-        // If not update as normal
-        else{
-            // Update the odometry in the periodic block
-            odometry.update(Rotation2d.fromDegrees(getHeading()), leftDriveTrainEncoder.getDistance(),
-                            rightDriveTrainEncoder.getDistance());
-        }
+        // Put the pose in the frame so it is recorded
+        frame.poseXMeters = estimator.getX();
+        frame.poseYMeters = estimator.getY();
+        frame.poseHeadingDegrees = Math.toDegrees(estimator.getHeading());
 
         // Print out the current Translation and Rotational values
         //System.out.println("Current Translation: " + getPose().getTranslation());
         //System.out.println("Current Rotation: " + getPose().getRotation());
     }
 
+    /**
+     * Trust targets less the closer they are to the edge of the picture
+     */
+    private static double getVisionConfidence(double limelightX){
+        double edge = Math.abs(limelightX) / LIMELIGHT_HALF_FOV_DEGREES;
+        return Math.max(0.1, 1 - edge * edge);
+    }
+
+    /**
+     * Set where the vision target is so the Limelight can correct the pose, in the same coordinates as the path being
+     * run. Cleared whenever the odometry is reset since that moves the coordinates
+     * @param target middle of the power port
+     */
+    public void setVisionTarget(Translation2d target){
+        estimator.setTarget(target.getX(), target.getY());
+    }
+
+    /**
+     * Stop using the Limelight for the pose
+     */
+    public void clearVisionTarget(){
+        estimator.clearTarget();
+    }
+
     /**
      * Set whether or not the path is meant to be run backwards
      * @param value inverted status
@@ -109,7 +146,7 @@ public class TrajectoryDriveSubsystem extends SubsystemBase{
      * @return the pose
      */
     public Pose2d getPose(){
-        return odometry.getPoseMeters();
+        return new Pose2d(estimator.getX(), estimator.getY(), new Rotation2d(estimator.getHeading()));
     }
 
      /**
@@ -117,7 +154,7 @@ public class TrajectoryDriveSubsystem extends SubsystemBase{
      * @return the current wheel speeds
      */
     public DifferentialDriveWheelSpeeds getWheelSpeeds(){
-        return new DifferentialDriveWheelSpeeds(leftDriveTrainEncoder.getRate(), rightDriveTrainEncoder.getRate());
+        return new DifferentialDriveWheelSpeeds(frame.leftRateMetersPerSecond, frame.rightRateMetersPerSecond);
     }
 
     /**
@@ -126,7 +163,9 @@ public class TrajectoryDriveSubsystem extends SubsystemBase{
      */
     public void resetOdometry(Pose2d pose){
         drive.resetEncoders();
-        odometry.resetPosition(pose, Rotation2d.fromDegrees(getHeading()));
+        estimator.reset(pose.getTranslation().getX(), pose.getTranslation().getY(), pose.getRotation().getRadians(),
+            0, 0, Math.toRadians(getHeading()), frame.timestampSeconds);
+        estimator.clearTarget();
     }
 
     /**
@@ -134,13 +173,20 @@ public class TrajectoryDriveSubsystem extends SubsystemBase{
      * @return the altered heading
      */
     public double getHeading(){
+        return toPathHeading(frame.gyroAngleDegrees);
+    }
+
+    /**
+     * Turns a NavX angle into the heading used for trajectory planning
+     */
+    private double toPathHeading(double gyroAngleDegrees){
 
         // If set to invert flip whatever the current reversed gyro value to flip directions
         if(inverted)
-            return Math.IEEEremainder(navX.getAngle(), 360) * (!RobotConstants.kGyroReversed ? -1.0 : 1.0);
+            return Math.IEEEremainder(gyroAngleDegrees, 360) * (!RobotConstants.kGyroReversed ? -1.0 : 1.0);
         
         //If inverted
-        return Math.IEEEremainder(navX.getAngle(), 360) * (RobotConstants.kGyroReversed ? -1.0 : 1.0);
+        return Math.IEEEremainder(gyroAngleDegrees, 360) * (RobotConstants.kGyroReversed ? -1.0 : 1.0);
     }
     /**
      * Returns the turn rate factoring in weather or not the gyro is reversed
@@ -149,10 +195,48 @@ public class TrajectoryDriveSubsystem extends SubsystemBase{
 
         // If set to invert flip whatever the current reversed gyro value to flip directions
         if(inverted)
-            return navX.getRate() * (!RobotConstants.kGyroReversed ? -1.0 : 1.0);
+            return frame.gyroRateDegreesPerSecond * (!RobotConstants.kGyroReversed ? -1.0 : 1.0);
 
-        return navX.getRate() * (RobotConstants.kGyroReversed ? -1.0 : 1.0);
+        return frame.gyroRateDegreesPerSecond * (RobotConstants.kGyroReversed ? -1.0 : 1.0);
     }
-    
 
-}
\ No newline at end of file
+    /**
+     * Left distance straight from the encoder, flipped when the path is inverted like the odometry
+     */
+    @Override
+    public double readLeftDistanceMeters(){
+        return leftDriveTrainEncoder.getDistance() * (inverted ? -1.0 : 1.0);
+    }
+
+    /**
+     * Right distance straight from the encoder, flipped when the path is inverted like the odometry
+     */
+    @Override
+    public double readRightDistanceMeters(){
+        return rightDriveTrainEncoder.getDistance() * (inverted ? -1.0 : 1.0);
+    }
+
+    /**
+     * Left speed straight from the encoder, flipped when the path is inverted so it matches the distance
+     */
+    @Override
+    public double readLeftRateMetersPerSecond(){
+        return leftDriveTrainEncoder.getRate() * (inverted ? -1.0 : 1.0);
+    }
+
+    /**
+     * Right speed straight from the encoder, flipped when the path is inverted so it matches the distance
+     */
+    @Override
+    public double readRightRateMetersPerSecond(){
+        return rightDriveTrainEncoder.getRate() * (inverted ? -1.0 : 1.0);
+    }
+
+    /**
+     * Heading straight from the NavX
+     */
+    @Override
+    public double readHeadingDegrees(){
+        return toPathHeading(NavX.get().getAngle());
+    }
+}
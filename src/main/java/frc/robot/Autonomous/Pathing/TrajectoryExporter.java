@@ -0,0 +1,171 @@
+package frc.robot.Autonomous.Pathing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import frc.robot.RobotConstants;
+
+/**
+ * Desktop tool run by the build that generates every PathContainer path, chain and CSV path into trajectory files for
+ * the deploy directory, so the robot only ever loads them. Each file's hash is kept in a manifest and paths whose hash
+ * hasn't changed are skipped. Run with ./gradlew generateTrajectories
+ *
+ * Usage: TrajectoryExporter output-directory [csv-directory]
+ */
+public class TrajectoryExporter {
+
+    // Lists the hash each file was made from, one "name,hash" line per path
+    public static final String MANIFEST = "manifest.csv";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TrajectoryExporter <output directory> [csv directory]");
+            System.exit(1);
+        }
+
+        java.nio.file.Path output = Paths.get(args[0]);
+        Files.createDirectories(output);
+
+        List<Path> paths = new ArrayList<>(PathContainer.getAllPaths());
+        if (args.length > 1)
+            paths.addAll(parseCsvPaths(Paths.get(args[1])));
+
+        List<PathChain> chains = PathContainer.getAllChains();
+
+        Map<String, String> oldHashes = readManifest(output.resolve(MANIFEST));
+        Map<String, String> newHashes = new LinkedHashMap<>();
+        int generated = 0;
+
+        for (Path path : paths) {
+            if (export(output, path.getName(), TrajectoryCache.getKey(path), path::generateTrajectory, oldHashes, newHashes))
+                generated++;
+        }
+
+        // Chains are saved under their own name the same way, joined into the one trajectory the robot drives
+        for (PathChain chain : chains) {
+            if (export(output, chain.getName(), chain.getKey(), chain::generateTrajectory, oldHashes, newHashes))
+                generated++;
+        }
+
+        deleteRemovedPaths(output, newHashes.keySet());
+        writeManifest(output.resolve(MANIFEST), newHashes);
+
+        System.out.printf("Generated %d of %d trajectories into %s%n", generated, paths.size() + chains.size(), output);
+    }
+
+    /**
+     * Writes one trajectory file if its hash changed since the last run
+     *
+     * @return true if the trajectory was generated
+     */
+    private static boolean export(java.nio.file.Path output, String name, String key, Supplier<Trajectory> generator,
+            Map<String, String> oldHashes, Map<String, String> newHashes) throws IOException {
+        String hash = hash(key);
+        java.nio.file.Path file = output.resolve(TrajectoryFile.getFileName(name));
+
+        if (newHashes.containsKey(name))
+            throw new IOException("Two paths are named " + name);
+        newHashes.put(name, hash);
+
+        if (hash.equals(oldHashes.get(name)) && Files.exists(file))
+            return false;
+
+        TrajectoryFile.write(generator.get(), key, file);
+        return true;
+    }
+
+    /**
+     * Parses every CSV file in a directory with the default config
+     */
+    static List<Path> parseCsvPaths(java.nio.file.Path directory) throws IOException {
+        List<java.nio.file.Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory))
+            return new ArrayList<>();
+
+        try (DirectoryStream<java.nio.file.Path> stream = Files.newDirectoryStream(directory, "*.csv")) {
+            for (java.nio.file.Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        return PathParser.generatePaths(PathContainer.getConfig(), files);
+    }
+
+    /**
+     * Removes files for paths that no longer exist so they aren't deployed
+     */
+    private static void deleteRemovedPaths(java.nio.file.Path output, Set<String> names) throws IOException {
+        Set<String> files = new HashSet<>();
+        for (String name : names) {
+            files.add(TrajectoryFile.getFileName(name));
+        }
+
+        try (DirectoryStream<java.nio.file.Path> stream = Files.newDirectoryStream(output, "*" + TrajectoryFile.EXTENSION)) {
+            for (java.nio.file.Path file : stream) {
+                if (!files.contains(file.getFileName().toString()))
+                    Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Hashes the path's key along with the drivetrain constants the constraints are built from, the key only names
+     * the constraints so a change to a constant would otherwise go unnoticed
+     */
+    private static String hash(String key) {
+        String input = key
+                + "|" + RobotConstants.kSVolts
+                + "|" + RobotConstants.kvVoltMetersPerSecond
+                + "|" + RobotConstants.kaVoltMetersPerSecondSquared
+                + "|" + RobotConstants.kTrackWidthMeters
+                + "|" + RobotConstants.kMaxUsableVoltage;
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input.getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, String> readManifest(java.nio.file.Path file) throws IOException {
+        Map<String, String> hashes = new LinkedHashMap<>();
+        if (!Files.exists(file))
+            return hashes;
+
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            int comma = line.lastIndexOf(',');
+            if (comma > 0)
+                hashes.put(line.substring(0, comma), line.substring(comma + 1));
+        }
+
+        return hashes;
+    }
+
+    private static void writeManifest(java.nio.file.Path file, Map<String, String> hashes) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, String> entry : hashes.entrySet()) {
+            lines.add(entry.getKey() + "," + entry.getValue());
+        }
+
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
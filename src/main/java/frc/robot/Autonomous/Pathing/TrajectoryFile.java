@@ -0,0 +1,196 @@
+package frc.robot.Autonomous.Pathing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.Trajectory.State;
+
+/**
+ * Saves trajectories in a compact binary file and loads them back without generating them.
+ * Loading maps the file read only and the states are only turned into objects the first time the follower samples
+ * near them, so a large library of paths costs almost nothing at boot
+ *
+ * Layout, little endian: magic, version, state count, the key the trajectory was made with as a length and UTF-8
+ * bytes, padding to a multiple of 8, then 7 doubles per state: time, x, y, heading in radians, velocity,
+ * acceleration and curvature
+ */
+public class TrajectoryFile {
+
+    public static final String EXTENSION = ".traj";
+
+    // Where trajectories are kept inside the deploy directory
+    public static final String DEPLOY_FOLDER = "trajectories";
+
+    // "TRAJ"
+    private static final int MAGIC = 0x4A415254;
+    private static final int VERSION = 1;
+
+    private static final int STATE_DOUBLES = 7;
+    private static final int STATE_SIZE = STATE_DOUBLES * Double.BYTES;
+
+    private TrajectoryFile() {
+    }
+
+    /**
+     * Write a trajectory to a file, replacing it once the file is complete
+     *
+     * @param trajectory the trajectory to save
+     * @param key        what the trajectory was made from, checked when it is loaded
+     * @param file       the file to write
+     */
+    public static void write(Trajectory trajectory, String key, Path file) throws IOException {
+        List<State> states = trajectory.getStates();
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int dataStart = align(14 + keyBytes.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(dataStart + states.size() * STATE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(states.size());
+        buffer.putShort((short) keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.position(dataStart);
+
+        for (State state : states) {
+            buffer.putDouble(state.timeSeconds);
+            buffer.putDouble(state.poseMeters.getTranslation().getX());
+            buffer.putDouble(state.poseMeters.getTranslation().getY());
+            buffer.putDouble(state.poseMeters.getRotation().getRadians());
+            buffer.putDouble(state.velocityMetersPerSecond);
+            buffer.putDouble(state.accelerationMetersPerSecondSq);
+            buffer.putDouble(state.curvatureRadPerMeter);
+        }
+        buffer.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Load a trajectory, the file stays mapped for as long as the trajectory is used
+     *
+     * @param file the file to read
+     * @param key  the key the trajectory has to have been made with, null to accept any
+     * @return the trajectory, or null if it was made with a different key
+     * @throws IOException if the file can't be read or isn't a trajectory file
+     */
+    public static Trajectory read(Path file, String key) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 14)
+                throw new IOException(file + " is too small to be a trajectory file");
+
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            throw new IOException(file + " is not a trajectory file this version understands");
+
+        int stateCount = buffer.getInt(8);
+        int keyLength = buffer.getShort(12);
+        int dataStart = align(14 + keyLength);
+
+        if (stateCount < 1 || buffer.capacity() != dataStart + (long) stateCount * STATE_SIZE)
+            throw new IOException(file + " is truncated");
+
+        byte[] keyBytes = new byte[keyLength];
+        buffer.position(14);
+        buffer.get(keyBytes);
+        if (key != null && !key.equals(new String(keyBytes, StandardCharsets.UTF_8)))
+            return null;
+
+        return new Trajectory(new MappedStates(buffer, dataStart, stateCount));
+    }
+
+    /**
+     * Get the file a path's trajectory is deployed to
+     *
+     * @param name the name of the path
+     * @return the file under the deploy directory, /home/lvuser/deploy on the robot
+     */
+    public static Path getDeployedFile(String name) {
+        return Filesystem.getDeployDirectory().toPath().resolve(DEPLOY_FOLDER).resolve(getFileName(name));
+    }
+
+    /**
+     * Get the name of the file a path's trajectory is saved in
+     *
+     * @param name the name of the path
+     * @return the file name, with anything that isn't safe in a file name replaced
+     */
+    public static String getFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9_.-]", "_") + EXTENSION;
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    /**
+     * The states of a mapped trajectory, each is only made the first time it is asked for
+     */
+    private static class MappedStates extends AbstractList<State> implements RandomAccess {
+
+        private final ByteBuffer buffer;
+        private final int dataStart;
+        // The follower and replanner threads read these too, so each state is published through the atomic array
+        private final AtomicReferenceArray<State> states;
+
+        MappedStates(ByteBuffer buffer, int dataStart, int stateCount) {
+            this.buffer = buffer;
+            this.dataStart = dataStart;
+            this.states = new AtomicReferenceArray<>(stateCount);
+        }
+
+        @Override
+        public State get(int index) {
+            State state = states.get(index);
+
+            if (state == null) {
+                int offset = dataStart + index * STATE_SIZE;
+                state = new State(
+                    buffer.getDouble(offset),
+                    buffer.getDouble(offset + 32),
+                    buffer.getDouble(offset + 40),
+                    new Pose2d(buffer.getDouble(offset + 8), buffer.getDouble(offset + 16),
+                        new Rotation2d(buffer.getDouble(offset + 24))),
+                    buffer.getDouble(offset + 48));
+                if (!states.compareAndSet(index, null, state))
+                    state = states.get(index);
+            }
+
+            return state;
+        }
+
+        @Override
+        public int size() {
+            return states.length();
+        }
+    }
+}
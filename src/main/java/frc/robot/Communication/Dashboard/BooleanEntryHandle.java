@@ -0,0 +1,39 @@
+package frc.robot.Communication.Dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * Handle to a dashboard entry holding a boolean
+ */
+public class BooleanEntryHandle extends EntryHandle {
+
+    private boolean pending;
+    private boolean sent;
+
+    BooleanEntryHandle(NetworkTableEntry entry, DashboardPublisher publisher) {
+        super(entry, publisher);
+    }
+
+    /**
+     * Set the value, it is sent at the end of the loop if it changed
+     *
+     * @param value the new value
+     */
+    public synchronized void set(boolean value) {
+        pending = value;
+        valueChanged(value != sent);
+    }
+
+    /**
+     * Get the last value that was set
+     */
+    public synchronized boolean get() {
+        return pending;
+    }
+
+    @Override
+    void send() {
+        entry.setBoolean(pending);
+        sent = pending;
+    }
+}
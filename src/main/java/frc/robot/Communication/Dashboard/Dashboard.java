@@ -6,9 +6,9 @@ import edu.wpi.first.wpilibj.controller.PIDController;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import javax.management.RuntimeErrorException;
@@ -28,10 +28,17 @@ public class Dashboard {
 
     private static String tableName = "SmartDashboard";
 
-    private static ArrayList<String> entryList;
+    // Functions listening for changes to entries
+    private static final EntryListenerRegistry listenerRegistry = new EntryListenerRegistry();
 
-    // Values for active listeners
-    private static ArrayList<Integer> listenerHandlerList;
+    // Sends the values held by every table, only the ones that changed
+    private static final DashboardPublisher publisher = new DashboardPublisher();
+
+    // Every table that has been used, by name
+    private static final ConcurrentHashMap<String, DashboardTable> tables = new ConcurrentHashMap<>();
+
+    // The table picked by setTable()
+    private static DashboardTable currentTable;
 
     /**
      * Get a static reference to the network table
@@ -41,18 +48,29 @@ public class Dashboard {
     }
 
     /**
-     * Sets an alternative table to be used other than SmartDashboard
+     * Get a table on the dashboard, the table can be used from any thread
+     * 
+     * @param name the name of the table
+     * @return the table
+     */
+    public static DashboardTable getTable(String name) {
+        DashboardTable table = tables.get(name);
+        if (table == null) {
+            table = tables.computeIfAbsent(name, n -> new DashboardTable(n, getInstance().getTable(n), publisher));
+        }
+        return table;
+    }
+
+    /**
+     * Sets an alternative table to be used other than SmartDashboard.
+     * This is shared by everything that uses Dashboard, so only call it from the robot loop thread and
+     * use getTable() anywhere else
      */
     public static void setTable(String tableNameParam) {
        
         networkTable = getInstance().getTable(tableNameParam);
         tableName = tableNameParam;
-
-        if(entryList == null){
-            // List of all the entries existing in the current table
-            entryList = new ArrayList<>();
-            listenerHandlerList = new ArrayList<>();
-        }
+        currentTable = getTable(tableNameParam);
     }
 
     /**
@@ -61,9 +79,6 @@ public class Dashboard {
      * @param entryName the name of the entry
      */
     public static void createEntry(String entryName, Object defaultValue) {
-        networkTable.getEntry(entryName);
-        entryList.add(networkTable.getEntry(entryName).getName());
-        listenerHandlerList.add(0);
         networkTable.getEntry(entryName).setValue(defaultValue);
     }
 
@@ -74,22 +89,84 @@ public class Dashboard {
      */
     public static void createEntry(String entryName) {
         networkTable.getEntry(entryName);
-        entryList.add(networkTable.getEntry(entryName).getName());
-        listenerHandlerList.add(0);
     }
 
     /**
-     * Sets a value to a given entry
+     * Create a number entry in the selected table, keep the handle and use it to set the value in the loop
+     * 
+     * @param entryName    the name of the entry
+     * @param defaultValue the value the entry starts with
+     * @return the handle to the entry
+     */
+    public static DoubleEntryHandle createEntry(String entryName, double defaultValue) {
+        return currentTable.createEntry(entryName, defaultValue);
+    }
+
+    /**
+     * Create a boolean entry in the selected table, keep the handle and use it to set the value in the loop
+     * 
+     * @param entryName    the name of the entry
+     * @param defaultValue the value the entry starts with
+     * @return the handle to the entry
+     */
+    public static BooleanEntryHandle createEntry(String entryName, boolean defaultValue) {
+        return currentTable.createEntry(entryName, defaultValue);
+    }
+
+    /**
+     * Create a number array entry in the selected table, keep the handle and use it to set the value in the loop
+     * 
+     * @param entryName    the name of the entry
+     * @param defaultValue the values the entry starts with
+     * @return the handle to the entry
+     */
+    public static DoubleArrayEntryHandle createEntry(String entryName, double[] defaultValue) {
+        return currentTable.createEntry(entryName, defaultValue);
+    }
+
+    /**
+     * Sets a value to a given entry in the table picked by setTable(), the value is only sent if it changed.
+     * Code that runs every loop should keep the handle from createEntry() instead, this has to look the entry up
      * 
      * @param entryName the entry to affect
      * @param value     vague variable that allows multiple types
      */
     public static void setValue(String entryName, Object value) {
-        try {
-            networkTable.getEntry(entryName).setValue(value);
-        } catch (IllegalArgumentException e) {
-            SmartDashboard.putData(entryName, (Sendable) value);
-        }
+        currentTable.setValue(entryName, value);
+    }
+
+    /**
+     * Adds an object like an encoder, gyro or PID controller to the SmartDashboard table.
+     * Call once when the robot starts, SmartDashboard keeps its values up to date every loop after that
+     * 
+     * @param entryName the name to show it under
+     * @param sendable  the object to add
+     */
+    public static void registerSendable(String entryName, Sendable sendable) {
+        SmartDashboard.putData(entryName, sendable);
+    }
+
+    /**
+     * Sends every value that changed, only needed if the publisher thread hasn't been started
+     */
+    public static void flush() {
+        publisher.flush();
+    }
+
+    /**
+     * Start sending dashboard values from a separate thread instead of the robot loop
+     * 
+     * @param periodSeconds time between each send
+     */
+    public static void startPublisher(double periodSeconds) {
+        publisher.start(periodSeconds);
+    }
+
+    /**
+     * Get the publisher that holds the values, used to check how many values are being skipped
+     */
+    public static DashboardPublisher getPublisher() {
+        return publisher;
     }
 
     /**
@@ -99,7 +176,7 @@ public class Dashboard {
      * @param method    the method we want to add
      */
     public static void addRunableMethod(String entryName, Runnable method) {
-        SmartDashboard.putData(entryName, new Run(method));
+        registerSendable(entryName, new Run(method));
     }
 
     /**
@@ -121,7 +198,7 @@ public class Dashboard {
         if(!SmartDashboard.containsKey(entryName)){
             PIDController pid = new PIDController(0, 0, 0);
             createEntry(entryName);
-            SmartDashboard.putData(entryName, pid);
+            registerSendable(entryName, pid);
         }
     }
 
@@ -153,7 +230,7 @@ public class Dashboard {
             chooser.addOption(option.name(), option);
         }
 
-        SmartDashboard.putData(entryName, chooser);
+        registerSendable(entryName, chooser);
 
         return chooser;
     }
@@ -181,34 +258,39 @@ public class Dashboard {
     }
 
     /**
-     * A method used to easily setup entry listeners
+     * A method used to easily setup entry listeners, an entry can have more than one
      * 
-     * @param entryName the name of the entry to listen on
+     * @param entryName      the name of the entry to listen on
+     * @param updateFunction the function to call with the new value, run on the listener thread
      */
     public static void setUpEntryListener(String entryName, Consumer<NetworkTableValue> updateFunction) {
+        listenerRegistry.add(networkTable.getEntry(entryName), updateFunction);
+    }
 
-        // Create the listner and add it to the correct spot in the listener list
-        listenerHandlerList.set(entryList.indexOf("/" + tableName + "/" + entryName),
-                networkTable.addEntryListener(entryName, new TableEntryListener() {
-                    @Override
-                    public void valueChanged(NetworkTable networkTable, String s, NetworkTableEntry networkTableEntry,
-                            NetworkTableValue networkTableValue, int i) {
-                        updateFunction.accept(networkTableValue);
-                    }
-                }, EntryListenerFlags.kUpdate));
+    /**
+     * Listen for changes to an entry that already has a handle
+     * 
+     * @param handle         the entry to listen on
+     * @param updateFunction the function to call with the new value, run on the listener thread
+     */
+    public static void addEntryListener(EntryHandle handle, Consumer<NetworkTableValue> updateFunction) {
+        listenerRegistry.add(handle.getEntry(), updateFunction);
+    }
 
+    /**
+     * Stop one function listening to an entry
+     * 
+     * @param handle         the entry
+     * @param updateFunction the function that was added
+     */
+    public static void removeEntryListener(EntryHandle handle, Consumer<NetworkTableValue> updateFunction) {
+        listenerRegistry.remove(handle.getEntry(), updateFunction);
     }
 
     /**
-     * A method used to add a table wide listener
+     * Removes every listener on an entry
      */
     public static void removeEntryListener(String entryName) {
-
-        // Remove the listener from the corresponding list
-        networkTable.getEntry(entryName)
-                .removeListener(listenerHandlerList.get(entryList.indexOf("/" + tableName + "/" + entryName)));
-
-        // Reset the handler number back to 0
-        listenerHandlerList.set(entryList.indexOf("/" + tableName + "/" + entryName), 0);
+        listenerRegistry.removeAll(networkTable.getEntry(entryName));
     }
 }
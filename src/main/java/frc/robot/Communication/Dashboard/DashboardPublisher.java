@@ -0,0 +1,103 @@
+package frc.robot.Communication.Dashboard;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.wpi.first.wpilibj.Notifier;
+
+/**
+ * Sends the values held in the dashboard entry handles out to NetworkTables.
+ * Each handle remembers the last value it sent, anything within the handle's epsilon of that is dropped,
+ * and a handle can be given a max rate so noisy values like temperatures don't get sent every loop.
+ * All the changed values are written in one pass, either by calling flush() at the end of the robot loop
+ * or by starting the publisher thread so the loop doesn't spend any time on it
+ */
+public class DashboardPublisher {
+
+    // Numbers closer than this to the last sent value are not sent again unless the entry sets its own epsilon
+    public static final double DEFAULT_EPSILON = 1e-4;
+
+    // Every handle in every table, handles are only added while the robot starts so copy on write is cheap to read
+    private final CopyOnWriteArrayList<EntryHandle> handles = new CopyOnWriteArrayList<>();
+
+    // Runs flush() on its own thread once started
+    private Notifier publisherThread;
+
+    // Stats so we can see how much is being saved
+    private final AtomicLong stagedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+
+    /**
+     * Adds a new handle to be sent by flush()
+     */
+    void register(EntryHandle handle) {
+        handles.add(handle);
+    }
+
+    /**
+     * Write every changed value out to NetworkTables.
+     * Entries that are being rate limited stay waiting and their newest value is sent once they are allowed to
+     */
+    public void flush() {
+        long now = System.nanoTime();
+
+        for (EntryHandle handle : handles) {
+
+            // Skip clean handles without taking their lock
+            if (handle.dirty && handle.flush(now)) {
+                sentCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Start calling flush() on a separate thread
+     *
+     * @param periodSeconds time between each flush
+     */
+    public synchronized void start(double periodSeconds) {
+        if (publisherThread != null)
+            return;
+
+        publisherThread = new Notifier(this::flush);
+        publisherThread.setName("Dashboard-Publisher");
+        publisherThread.startPeriodic(periodSeconds);
+    }
+
+    /**
+     * Whether or not the publisher thread is running
+     */
+    public synchronized boolean isRunning() {
+        return publisherThread != null;
+    }
+
+    /**
+     * Forget everything that has been sent so every entry is sent again on its next set, used if the dashboard reconnects
+     */
+    public void invalidate() {
+        for (EntryHandle handle : handles) {
+            handle.invalidate();
+        }
+    }
+
+    /**
+     * Get the number of values that have been set since the robot started
+     */
+    public long getStagedCount() {
+        return stagedCount.get();
+    }
+
+    /**
+     * Get the number of values that were actually written to NetworkTables since the robot started
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * Called by a handle each time it is set
+     */
+    void countStaged() {
+        stagedCount.incrementAndGet();
+    }
+}
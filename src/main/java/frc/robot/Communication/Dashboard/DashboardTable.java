@@ -0,0 +1,177 @@
+package frc.robot.Communication.Dashboard;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.wpilibj.Sendable;
+
+/**
+ * One NetworkTables table on the dashboard, get it with Dashboard.getTable().
+ * Unlike Dashboard.setTable() nothing here is shared between tables, so it can be used from any thread
+ * and a write can never land in the wrong table
+ */
+public class DashboardTable {
+
+    // Name of the table
+    private final String name;
+
+    // The NetworkTables table behind it
+    private final NetworkTable table;
+
+    // Sends the values set through the handles
+    private final DashboardPublisher publisher;
+
+    // Every entry that has been used in this table, by key
+    private final ConcurrentHashMap<String, EntryHandle> handles = new ConcurrentHashMap<>();
+
+    DashboardTable(String name, NetworkTable table, DashboardPublisher publisher) {
+        this.name = name;
+        this.table = table;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Create a number entry, keep the handle and use it to set the value in the loop
+     *
+     * @param key          the name of the entry
+     * @param defaultValue the value the entry starts with
+     * @return the handle to the entry
+     */
+    public DoubleEntryHandle createEntry(String key, double defaultValue) {
+        DoubleEntryHandle handle = getDoubleEntry(key);
+        handle.set(defaultValue);
+        return handle;
+    }
+
+    /**
+     * Create a boolean entry, keep the handle and use it to set the value in the loop
+     *
+     * @param key          the name of the entry
+     * @param defaultValue the value the entry starts with
+     * @return the handle to the entry
+     */
+    public BooleanEntryHandle createEntry(String key, boolean defaultValue) {
+        BooleanEntryHandle handle = getBooleanEntry(key);
+        handle.set(defaultValue);
+        return handle;
+    }
+
+    /**
+     * Create a number array entry, keep the handle and use it to set the value in the loop
+     *
+     * @param key          the name of the entry
+     * @param defaultValue the values the entry starts with
+     * @return the handle to the entry
+     */
+    public DoubleArrayEntryHandle createEntry(String key, double[] defaultValue) {
+        DoubleArrayEntryHandle handle = getDoubleArrayEntry(key);
+        handle.set(defaultValue);
+        return handle;
+    }
+
+    /**
+     * Get the handle for a number entry without changing its value, making it the first time it is used
+     */
+    public DoubleEntryHandle getDoubleEntry(String key) {
+        return getHandle(key, DoubleEntryHandle.class);
+    }
+
+    /**
+     * Get the handle for a boolean entry without changing its value, making it the first time it is used
+     */
+    public BooleanEntryHandle getBooleanEntry(String key) {
+        return getHandle(key, BooleanEntryHandle.class);
+    }
+
+    /**
+     * Get the handle for a number array entry without changing its value, making it the first time it is used
+     */
+    public DoubleArrayEntryHandle getDoubleArrayEntry(String key) {
+        return getHandle(key, DoubleArrayEntryHandle.class);
+    }
+
+    /**
+     * Sets a value by name, this has to look the entry up so code that runs every loop should keep a handle instead
+     *
+     * @param key   the name of the entry
+     * @param value a number, boolean, double[] or any other NetworkTables type
+     */
+    public void setValue(String key, Object value) {
+        if (value instanceof Sendable) {
+            throw new IllegalArgumentException(key + " is a Sendable, add it once with Dashboard.registerSendable() instead");
+        }
+
+        if (value instanceof Double || value instanceof Float || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            getDoubleEntry(key).set(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            getBooleanEntry(key).set((Boolean) value);
+        } else if (value instanceof double[]) {
+            getDoubleArrayEntry(key).set((double[]) value);
+        } else {
+            getHandle(key, ObjectEntryHandle.class).set(value);
+        }
+    }
+
+    /**
+     * Get the handle for an entry no matter its type
+     *
+     * @param key the name of the entry
+     * @return the handle, or null if the entry hasn't been used yet
+     */
+    public EntryHandle findEntry(String key) {
+        return handles.get(key);
+    }
+
+    /**
+     * Get the name of the table
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the NetworkTables table behind this one
+     */
+    public NetworkTable getNetworkTable() {
+        return table;
+    }
+
+    /**
+     * Finds the handle for a key, making and registering it the first time the key is used.
+     * An entry can only ever be used as one type, the same way NetworkTables won't change an entry's type
+     */
+    private <T extends EntryHandle> T getHandle(String key, Class<T> type) {
+        EntryHandle handle = handles.get(key);
+
+        // Only build the lambda when the entry is new so looking up an existing entry doesn't allocate
+        if (handle == null) {
+            handle = handles.computeIfAbsent(key, k -> newHandle(k, type));
+        }
+
+        if (!type.isInstance(handle)) {
+            throw new IllegalStateException("/" + name + "/" + key + " was already created as a "
+                    + handle.getClass().getSimpleName() + ", not a " + type.getSimpleName());
+        }
+        return type.cast(handle);
+    }
+
+    /**
+     * Makes a handle of the given type and gives it to the publisher
+     */
+    private EntryHandle newHandle(String key, Class<? extends EntryHandle> type) {
+        EntryHandle handle;
+        if (type == DoubleEntryHandle.class) {
+            handle = new DoubleEntryHandle(table.getEntry(key), publisher);
+        } else if (type == BooleanEntryHandle.class) {
+            handle = new BooleanEntryHandle(table.getEntry(key), publisher);
+        } else if (type == DoubleArrayEntryHandle.class) {
+            handle = new DoubleArrayEntryHandle(table.getEntry(key), publisher);
+        } else {
+            handle = new ObjectEntryHandle(table.getEntry(key), publisher);
+        }
+
+        publisher.register(handle);
+        return handle;
+    }
+}
@@ -0,0 +1,61 @@
+package frc.robot.Communication.Dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * Handle to a dashboard entry holding an array of numbers, used for graphs of several values
+ */
+public class DoubleArrayEntryHandle extends EntryHandle {
+
+    private double[] pending = new double[0];
+    private double[] sent = new double[0];
+
+    DoubleArrayEntryHandle(NetworkTableEntry entry, DashboardPublisher publisher) {
+        super(entry, publisher);
+    }
+
+    /**
+     * Set the values, they are copied so the caller can keep reusing its array.
+     * Sent at the end of the loop if any value changed by more than the epsilon
+     *
+     * @param values the new values
+     */
+    public synchronized void set(double[] values) {
+        if (pending.length != values.length) {
+            pending = new double[values.length];
+        }
+        System.arraycopy(values, 0, pending, 0, values.length);
+
+        valueChanged(!withinEpsilon(values));
+    }
+
+    /**
+     * Get a copy of the last values that were set
+     */
+    public synchronized double[] get() {
+        return pending.clone();
+    }
+
+    /**
+     * Checks if every value is within epsilon of the last sent values
+     */
+    private boolean withinEpsilon(double[] values) {
+        if (values.length != sent.length)
+            return false;
+
+        for (int i = 0; i < values.length; i++) {
+            if (Math.abs(values[i] - sent[i]) > epsilon)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    void send() {
+        entry.setDoubleArray(pending);
+        if (sent.length != pending.length) {
+            sent = new double[pending.length];
+        }
+        System.arraycopy(pending, 0, sent, 0, pending.length);
+    }
+}
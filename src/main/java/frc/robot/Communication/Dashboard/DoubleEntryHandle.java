@@ -0,0 +1,39 @@
+package frc.robot.Communication.Dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * Handle to a dashboard entry holding a number
+ */
+public class DoubleEntryHandle extends EntryHandle {
+
+    private double pending;
+    private double sent;
+
+    DoubleEntryHandle(NetworkTableEntry entry, DashboardPublisher publisher) {
+        super(entry, publisher);
+    }
+
+    /**
+     * Set the value, it is sent at the end of the loop if it changed by more than the epsilon
+     *
+     * @param value the new value
+     */
+    public synchronized void set(double value) {
+        pending = value;
+        valueChanged(Math.abs(value - sent) > epsilon);
+    }
+
+    /**
+     * Get the last value that was set
+     */
+    public synchronized double get() {
+        return pending;
+    }
+
+    @Override
+    void send() {
+        entry.setDouble(pending);
+        sent = pending;
+    }
+}
@@ -0,0 +1,95 @@
+package frc.robot.Communication.Dashboard;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * A dashboard entry that has already been looked up, returned by DashboardTable.createEntry().
+ * Keep it in a field and set values through it so the loop doesn't look the entry up by name or box the value.
+ * Values are held until the publisher flushes and only sent if they changed.
+ * A handle can be set from any thread, the value and send state are guarded by the handle's own lock
+ */
+public abstract class EntryHandle {
+
+    // The NetworkTables entry the values are written to
+    final NetworkTableEntry entry;
+
+    // The publisher that sends the value
+    final DashboardPublisher publisher;
+
+    // Smallest change in a number that is sent
+    double epsilon = DashboardPublisher.DEFAULT_EPSILON;
+
+    // Shortest time between two sends, 0 to send every flush
+    long minPeriodNanos = 0;
+
+    // Whether or not a value has been written yet, and when the last one was written
+    boolean hasSent = false;
+    long lastSentNanos;
+
+    // Whether or not a value is waiting to be sent, volatile so the publisher can skip clean handles without locking
+    volatile boolean dirty = false;
+
+    EntryHandle(NetworkTableEntry entry, DashboardPublisher publisher) {
+        this.entry = entry;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Limit how often this entry is sent
+     *
+     * @param epsilon   smallest change in a number that is sent
+     * @param maxRateHz most times per second the entry is sent, 0 for every flush
+     */
+    public synchronized void setPublishLimits(double epsilon, double maxRateHz) {
+        this.epsilon = epsilon;
+        this.minPeriodNanos = maxRateHz > 0 ? (long) (1e9 / maxRateHz) : 0;
+    }
+
+    /**
+     * Get the NetworkTables entry behind the handle
+     */
+    public NetworkTableEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Marks whether or not the new value needs to be sent, called with the lock held.
+     * A value that is changed back before it is sent is not sent at all
+     */
+    void valueChanged(boolean changed) {
+        dirty = !hasSent || changed;
+        publisher.countStaged();
+    }
+
+    /**
+     * Sends the waiting value if there is one and the rate limit allows it
+     *
+     * @param now the current System.nanoTime()
+     * @return true if a value was sent
+     */
+    synchronized boolean flush(long now) {
+        if (!dirty)
+            return false;
+
+        if (hasSent && now - lastSentNanos < minPeriodNanos)
+            return false;
+
+        send();
+        hasSent = true;
+        lastSentNanos = now;
+        dirty = false;
+        return true;
+    }
+
+    /**
+     * Forget the last sent value so the next value set is always sent
+     */
+    synchronized void invalidate() {
+        hasSent = false;
+    }
+
+    /**
+     * Writes the waiting value to NetworkTables and remembers it as the last sent value, called with the lock held
+     */
+    abstract void send();
+}
@@ -0,0 +1,146 @@
+package frc.robot.Communication.Dashboard;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableValue;
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Keeps track of the functions listening for changes to dashboard entries.
+ * Listeners are stored by the entry's NetworkTables handle so adding or removing one doesn't depend on how many
+ * entries there are, and an entry can have any number of listeners while only one listener is added to NetworkTables.
+ * The functions are run on a separate thread so a slow one can't hold up NetworkTables or the robot loop
+ */
+public class EntryListenerRegistry {
+
+    /**
+     * The listeners on one entry
+     */
+    private static class EntryListeners {
+        final NetworkTableEntry entry;
+        final CopyOnWriteArrayList<Consumer<NetworkTableValue>> callbacks = new CopyOnWriteArrayList<>();
+
+        // The listener added to NetworkTables, 0 until it is added
+        int networkTablesHandle = 0;
+
+        EntryListeners(NetworkTableEntry entry) {
+            this.entry = entry;
+        }
+    }
+
+    // Listeners for each entry, by entry handle
+    private final ConcurrentHashMap<Integer, EntryListeners> listeners = new ConcurrentHashMap<>();
+
+    // Runs the callbacks in the order the changes came in
+    private final ExecutorService executor;
+
+    /**
+     * Create a registry with its own callback thread
+     */
+    public EntryListenerRegistry() {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Dashboard-Listeners");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Create a registry that runs callbacks on the given executor
+     *
+     * @param executor where the callbacks are run
+     */
+    public EntryListenerRegistry(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Call a function every time an entry is changed from the dashboard
+     *
+     * @param entry    the entry to listen to
+     * @param callback the function to call with the new value
+     */
+    public void add(NetworkTableEntry entry, Consumer<NetworkTableValue> callback) {
+        EntryListeners entryListeners = listeners.computeIfAbsent(entry.getHandle(), handle -> {
+            EntryListeners created = new EntryListeners(entry);
+
+            // One NetworkTables listener per entry, it hands the value to every callback on the executor
+            created.networkTablesHandle = entry.addListener(
+                    notification -> dispatch(created, notification.value), EntryListenerFlags.kUpdate);
+            return created;
+        });
+
+        entryListeners.callbacks.add(callback);
+    }
+
+    /**
+     * Stop calling a function when an entry changes
+     *
+     * @param entry    the entry
+     * @param callback the function that was added
+     */
+    public void remove(NetworkTableEntry entry, Consumer<NetworkTableValue> callback) {
+        listeners.computeIfPresent(entry.getHandle(), (handle, entryListeners) -> {
+            entryListeners.callbacks.remove(callback);
+            return removeIfEmpty(entryListeners);
+        });
+    }
+
+    /**
+     * Remove every listener on an entry
+     *
+     * @param entry the entry
+     */
+    public void removeAll(NetworkTableEntry entry) {
+        listeners.computeIfPresent(entry.getHandle(), (handle, entryListeners) -> {
+            entryListeners.callbacks.clear();
+            return removeIfEmpty(entryListeners);
+        });
+    }
+
+    /**
+     * Get the number of functions listening to an entry
+     *
+     * @param entry the entry
+     * @return the number of listeners
+     */
+    public int getListenerCount(NetworkTableEntry entry) {
+        EntryListeners entryListeners = listeners.get(entry.getHandle());
+        return entryListeners == null ? 0 : entryListeners.callbacks.size();
+    }
+
+    /**
+     * Removes the NetworkTables listener once an entry has no callbacks left
+     *
+     * @return null to drop the entry from the map, or the listeners if there are still some
+     */
+    private static EntryListeners removeIfEmpty(EntryListeners entryListeners) {
+        if (!entryListeners.callbacks.isEmpty())
+            return entryListeners;
+
+        entryListeners.entry.removeListener(entryListeners.networkTablesHandle);
+        return null;
+    }
+
+    /**
+     * Runs on the NetworkTables thread, only queues the callbacks so that thread is never held up
+     */
+    private void dispatch(EntryListeners entryListeners, NetworkTableValue value) {
+        executor.execute(() -> {
+            for (Consumer<NetworkTableValue> callback : entryListeners.callbacks) {
+                try {
+                    callback.accept(value);
+                } catch (RuntimeException e) {
+                    DriverStation.reportError("Dashboard listener for " + entryListeners.entry.getName() + " failed: "
+                            + e, e.getStackTrace());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package frc.robot.Communication.Dashboard;
+
+import java.util.Objects;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * Handle for any other NetworkTables type (strings, boolean / string arrays, raw),
+ * only used by Dashboard.setValue() so values that don't have a typed handle still get change detection
+ */
+class ObjectEntryHandle extends EntryHandle {
+
+    private Object pending;
+    private Object sent;
+
+    ObjectEntryHandle(NetworkTableEntry entry, DashboardPublisher publisher) {
+        super(entry, publisher);
+    }
+
+    synchronized void set(Object value) {
+        pending = value;
+        valueChanged(!Objects.deepEquals(value, sent));
+    }
+
+    @Override
+    void send() {
+        entry.setValue(pending);
+        sent = pending;
+    }
+}
@@ -82,6 +82,24 @@ public class FMS {
         return DriverStation.getInstance().getMatchNumber();
     }
 
+    /**
+     * Get the type of match being played
+     * 
+     * @return the match type, None if not in a match
+     */
+    public static DriverStation.MatchType getMatchType() {
+        return DriverStation.getInstance().getMatchType();
+    }
+
+    /**
+     * Get whether or not the robot is connected to a field
+     * 
+     * @return FMS connection status
+     */
+    public static boolean isFMSAttached() {
+        return DriverStation.getInstance().isFMSAttached();
+    }
+
     /**
      * Get the current match time
      * 
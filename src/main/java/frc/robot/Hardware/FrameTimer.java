@@ -0,0 +1,69 @@
+package frc.robot.Hardware;
+
+/**
+ * Stopwatch that works the same way as the WPILib Timer but reads its time from the RobotStateFrame.
+ * Every check in a loop sees the same time, and when telemetry is replayed the time comes from the recording,
+ * so code timed with this runs the same way on the desktop as it did on the robot
+ */
+public class FrameTimer {
+
+    private final RobotStateFrame frame;
+
+    // Time the timer was last started or reset, and the time counted before that
+    private double startTime = 0;
+    private double accumulatedTime = 0;
+    private boolean running = false;
+
+    /**
+     * Create a timer that reads the shared frame
+     */
+    public FrameTimer() {
+        this(RobotStateFrame.get());
+    }
+
+    /**
+     * Create a timer that reads the given frame
+     *
+     * @param frame the frame to take the time from
+     */
+    public FrameTimer(RobotStateFrame frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Get the time counted so far
+     *
+     * @return the time in seconds
+     */
+    public double get() {
+        if (running)
+            return accumulatedTime + (frame.timestampSeconds - startTime);
+
+        return accumulatedTime;
+    }
+
+    /**
+     * Set the counted time back to 0, a running timer keeps running
+     */
+    public void reset() {
+        accumulatedTime = 0;
+        startTime = frame.timestampSeconds;
+    }
+
+    /**
+     * Start counting from the current time, like the WPILib Timer calling this on a running timer starts it over
+     * from the time already counted
+     */
+    public void start() {
+        startTime = frame.timestampSeconds;
+        running = true;
+    }
+
+    /**
+     * Stop counting, the counted time is kept
+     */
+    public void stop() {
+        accumulatedTime = get();
+        running = false;
+    }
+}
@@ -0,0 +1,161 @@
+package frc.robot.Hardware;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Snapshot of all the sensor values the robot uses in one loop.
+ * Each subsystem fills in its part once at the start of the loop and everything else reads from here afterwards,
+ * so a value is only read over CAN / JNI once per loop and every decision in the loop sees the same values and time
+ */
+public class RobotStateFrame {
+
+    private static RobotStateFrame instance;
+
+    // Number of motors on each side of the drive train
+    public static final int DRIVE_MOTORS_PER_SIDE = 3;
+
+    // Number of motors on the fly wheel
+    public static final int FLYWHEEL_MOTORS = 2;
+
+    // Values for robotMode
+    public static final int MODE_DISABLED = 0;
+    public static final int MODE_AUTONOMOUS = 1;
+    public static final int MODE_TELEOP = 2;
+    public static final int MODE_TEST = 3;
+
+    // Value for autoStage when no auto is running
+    public static final int NO_STAGE = -1;
+
+    // FPGA time the frame was taken at, in seconds
+    public double timestampSeconds;
+
+    // Number of frames taken since the robot turned on
+    public long cycleCount;
+
+    // The mode the robot was in, one of the MODE_ values
+    public int robotMode;
+
+    // The step the running auto was on at the end of the loop, NO_STAGE outside of auto
+    public int autoStage = NO_STAGE;
+
+    //region Drive Train
+
+    // Through bore encoder distances (meters) and rates (meters per second)
+    public double leftDistanceMeters;
+    public double rightDistanceMeters;
+    public double leftRateMetersPerSecond;
+    public double rightRateMetersPerSecond;
+
+    // Motor current draw (amps) and temperature (C), in the order front, middle, back
+    public final double[] leftCurrents = new double[DRIVE_MOTORS_PER_SIDE];
+    public final double[] rightCurrents = new double[DRIVE_MOTORS_PER_SIDE];
+    public final double[] leftTemperatures = new double[DRIVE_MOTORS_PER_SIDE];
+    public final double[] rightTemperatures = new double[DRIVE_MOTORS_PER_SIDE];
+
+    //endregion
+
+    //region NavX
+
+    // Continuous angle, rate of rotation and yaw from the NavX, all in degrees
+    public double gyroAngleDegrees;
+    public double gyroRateDegreesPerSecond;
+    public double gyroYawDegrees;
+
+    //endregion
+
+    //region Shooter
+
+    // Velocity of the main fly wheel motor as reported by its encoder (RPM)
+    public double flywheelVelocityRPM;
+
+    // Current draw of each of the fly wheel motors (amps)
+    public final double[] flywheelCurrents = new double[FLYWHEEL_MOTORS];
+
+    //endregion
+
+    //region Ball System
+
+    // Current draw of the indexer motors (amps)
+    public double beltCurrent;
+    public double frontIndexerCurrent;
+    public double backIndexerCurrent;
+
+    //endregion
+
+    //region Electrical
+
+    // Battery voltage as measured by the PDP (volts)
+    public double pdpVoltage;
+
+    //endregion
+
+    //region Vision
+
+    // Limelight offset to the target in degrees and 1 if it can see a target, 0 if it can't
+    public double limelightX;
+    public double limelightY;
+    public double limelightValidTarget;
+
+    // How old the Limelight values are, from the camera taking the picture to them being published (ms)
+    public double limelightLatencyMs;
+
+    //endregion
+
+    //region Outputs
+
+    // What the control code did with the frame, filled in during the loop so it is recorded and can be checked in replay
+
+    // Last arcade drive powers sent to the drive train
+    public double drivePower;
+    public double turnPower;
+
+    // Pose worked out by the trajectory odometry (meters and degrees)
+    public double poseXMeters;
+    public double poseYMeters;
+    public double poseHeadingDegrees;
+
+    // Whether or not a RAMSETE path was being followed
+    public boolean pathActive;
+
+    //endregion
+
+    /**
+     * Get the frame shared by the whole robot
+     */
+    public static RobotStateFrame get() {
+        if (instance == null) {
+            instance = new RobotStateFrame();
+        }
+        return instance;
+    }
+
+    /**
+     * Called at the start of each loop before the subsystems fill in their values
+     */
+    public void startCycle() {
+        timestampSeconds = Timer.getFPGATimestamp();
+        cycleCount++;
+    }
+
+    /**
+     * Gets the average distance traveled by both sides of the drive train
+     *
+     * @return the distance in meters
+     */
+    public double getAverageDistanceMeters() {
+        return (leftDistanceMeters + rightDistanceMeters) / 2.0;
+    }
+
+    /**
+     * Gets the total current draw of the fly wheel
+     *
+     * @return the current in amps
+     */
+    public double getFlywheelTotalCurrent() {
+        double total = 0;
+        for (int i = 0; i < flywheelCurrents.length; i++) {
+            total += flywheelCurrents[i];
+        }
+        return total;
+    }
+}
@@ -3,6 +3,7 @@ package frc.robot.Hardware.Sensors;
 import com.kauailabs.navx.frc.AHRS;
 
 import edu.wpi.first.wpilibj.SPI;
+import frc.robot.Hardware.RobotStateFrame;
 
 /**
  * Wrapper class used to interface with the NavX
@@ -35,6 +36,17 @@ public class NavX {
         return instance;
     }
 
+    /**
+     * Reads the NavX values into the frame, called once at the start of every loop
+     * 
+     * @param frame the frame to fill
+     */
+    public void sampleState(RobotStateFrame frame) {
+        frame.gyroAngleDegrees = ahrs.getAngle();
+        frame.gyroRateDegreesPerSecond = ahrs.getRate();
+        frame.gyroYawDegrees = ahrs.getYaw();
+    }
+
     /**
      * Gets the yaw axis or for all intensive purposes the robot heading purely
      * based on the gyro scope inside (0-180, -180-0)
@@ -60,7 +72,19 @@ public class NavX {
     }
 
     public double getEdgeCaseAngle(double setpoint){
-        return (((((setpoint - getCorrectedHeading()) + 180)+360) % 360) - 180);
+        return calculateEdgeCaseAngle(setpoint, getCorrectedHeading());
+    }
+
+    /**
+     * Gets the shortest signed angle from a heading to a setpoint (-180 to 180), kept separate from the
+     * hardware so it can be tested and benchmarked on its own
+     * 
+     * @param setpoint the wanted heading (0-360)
+     * @param heading  the current heading (0-360)
+     * @return the angle to turn
+     */
+    public static double calculateEdgeCaseAngle(double setpoint, double heading){
+        return (((((setpoint - heading) + 180)+360) % 360) - 180);
     }
 
     /**
@@ -78,6 +102,7 @@ public class NavX {
      */
     public void resetYaw(){
         ahrs.zeroYaw();
+        zeroFrame();
     }
 
     /**
@@ -95,6 +120,16 @@ public class NavX {
      */
     public void reset() {
         ahrs.reset();
+        zeroFrame();
+    }
+
+    /**
+     * Zero the heading in the frame as well so anything reading it later in this loop sees the reset
+     */
+    private void zeroFrame() {
+        RobotStateFrame frame = RobotStateFrame.get();
+        frame.gyroAngleDegrees = 0;
+        frame.gyroYawDegrees = 0;
     }
 
     /**
@@ -3,6 +3,7 @@ package frc.robot.Hardware.Vision;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import frc.robot.Hardware.RobotStateFrame;
 
 /**
  * Class created to manage limelight data
@@ -19,6 +20,10 @@ public class Limelight {
     private NetworkTableEntry ty;
     private NetworkTableEntry ta;
     private NetworkTableEntry tv;
+    private NetworkTableEntry tl;
+
+    // Time to take the picture, which the pipeline latency doesn't count
+    private static final double CAPTURE_LATENCY_MS = 11;
 
     // Variables for calculating distance
     private double fAngle;
@@ -38,6 +43,19 @@ public class Limelight {
         ty = limelightTable.getEntry("ty"); // Y degrees
         ta = limelightTable.getEntry("ta"); // Target area
         tv = limelightTable.getEntry("tv"); // Target valid
+        tl = limelightTable.getEntry("tl"); // Pipeline latency
+    }
+
+    /**
+     * Reads the target values into the frame, called once at the start of every loop
+     * 
+     * @param frame the frame to fill
+     */
+    public void sampleState(RobotStateFrame frame) {
+        frame.limelightX = getX();
+        frame.limelightY = getY();
+        frame.limelightValidTarget = getValidTarget();
+        frame.limelightLatencyMs = getLatency();
     }
 
     /**
@@ -69,6 +87,15 @@ public class Limelight {
         return ty.getDouble(0.0);
     }
 
+    /**
+     * Gets how old the current values are, the pipeline latency plus the time to take the picture
+     * 
+     * @return latency in milliseconds
+     */
+    public double getLatency() {
+        return tl.getDouble(0.0) + CAPTURE_LATENCY_MS;
+    }
+
     /**
      * Will get the current area value
      * 
@@ -7,10 +7,14 @@
 
 package frc.robot;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 
 import edu.wpi.first.cameraserver.CameraServer;
+import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.XboxController;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
@@ -24,7 +28,12 @@ import frc.robot.Autonomous.Pathing.AutonomousManager;
 import frc.robot.Autonomous.Pathing.PathContainer;
 import frc.robot.Autonomous.Pathing.Pathing;
 import frc.robot.Autonomous.Pathing.PathingCommand;
+import frc.robot.Autonomous.Pathing.TrajectoryCache;
 import frc.robot.Communication.Dashboard.Dashboard;
+import frc.robot.Communication.Dashboard.DashboardTable;
+import frc.robot.Communication.Dashboard.DoubleArrayEntryHandle;
+import frc.robot.Communication.Dashboard.DoubleEntryHandle;
+import frc.robot.Hardware.RobotStateFrame;
 import frc.robot.Hardware.Electrical.PDP;
 import frc.robot.Hardware.Joysticks.Xbox;
 import frc.robot.Hardware.Pneumatics.AdvancedCompressor;
@@ -34,13 +43,22 @@ import frc.robot.Subsystems.BallSystem;
 import frc.robot.Subsystems.DriveTrainSystem;
 import frc.robot.Subsystems.SwitchClimber;
 import frc.robot.Utilities.Control.LimelightAlignment;
-import frc.robot.Utilities.Teleop.TeleopControl;
+import frc.robot.Utilities.Logging.LogLevel;
+import frc.robot.Utilities.Logging.LogSite;
+import frc.robot.Utilities.Logging.Logger;
+import frc.robot.Utilities.Profiling.LoopProfiler;
+import frc.robot.Utilities.Profiling.LoopProfiler.Stage;
+import frc.robot.Utilities.Teleop.ButtonTracker;
+import frc.robot.Utilities.Telemetry.TelemetrySessions;
 
 /**
  * This is the main class where the robot control loop occurs
  */
 public class Robot extends TimedRobot {
 
+  // Prints the gyro angle during teleop
+  private static final LogSite angleLog = Logger.site("Teleop-Angle", LogLevel.INFO, 0.25, "NavX:");
+
   // Joysticks / UI variables
   private Xbox primary;
   private Xbox secondary;
@@ -48,7 +66,16 @@ public class Robot extends TimedRobot {
   // Subsystems
   private DriveTrainSystem drive;
   private ArcShooter shooter;
-  private TeleopControl teleop;
+  private ButtonTracker buttons;
+
+  // Button IDs, registered once in robotInit
+  private int shooterButton;
+  private int trackingButton;
+  private int intakeBackButton;
+  private int intakeForwardButton;
+  private int indexButton;
+  private int extendIntakeButton;
+  private int retractIntakeButton;
   private BallSystem ballSystem;
   private SwitchClimber climber;
 
@@ -67,15 +94,44 @@ public class Robot extends TimedRobot {
   // Temp-Auto
   private boolean tracking = false;
 
+  // Times each part of the loop to find what is causing overruns
+  private LoopProfiler profiler;
+
+  // Sensor values read once at the start of each loop
+  private RobotStateFrame frame;
+
+  // Writes every frame to a file on the roboRIO, one file per match
+  private TelemetrySessions telemetry;
+
+  // Dashboard entries updated every loop
+  private DoubleArrayEntryHandle leftCurrentEntry;
+  private DoubleArrayEntryHandle rightCurrentEntry;
+  private DoubleArrayEntryHandle leftTemperatureEntry;
+  private DoubleArrayEntryHandle rightTemperatureEntry;
+  private DoubleEntryHandle beltCurrentEntry;
+  private DoubleEntryHandle frontIndexerCurrentEntry;
+  private DoubleEntryHandle backIndexerCurrentEntry;
+
   /**
    * Called as soon as the Robo-Rio boots, use like a constructor
    */
   @Override
   public void robotInit() {
 
+    // Create the profiler first so it is ready for the first loop
+    profiler = new LoopProfiler(getPeriod());
+
+    frame = RobotStateFrame.get();
+
     //Setup the dashboard
     DashboardSetup();
 
+    // Send dashboard values from their own thread so the loop only has to set them
+    Dashboard.startPublisher(getPeriod());
+
+    // Start printing log messages in the background
+    Logger.start();
+
     // Assign the primary joystick to the correct port
     primary = new Xbox(new XboxController(0));
     
@@ -88,17 +144,25 @@ public class Robot extends TimedRobot {
     ballSystem = new BallSystem();
 
     // Used to make button interaction easier
-    teleop = new TeleopControl();   
+    setupButtons();
 
     // Used to control the drive train of the robot
     drive = new DriveTrainSystem(ballSystem);
 
+    // Add the drive train encoders and the NavX to the dashboard, they keep themselves up to date after this
+    Dashboard.registerSendable("Left-Side-Encoder", drive.getLeftSideEncoder());
+    Dashboard.registerSendable("Right-Side-Encoder", drive.getRightSideEncoder());
+    Dashboard.registerSendable("Gyro", NavX.get().getAhrs());
+
     // Climber used to climb the generator switch
     climber = new SwitchClimber();
 
     // Overall pathing class used to load paths and run them
     pathing = new Pathing(drive);
 
+    // Generate every path in the background so autonomous doesn't have to
+    TrajectoryCache.get().precompute(PathContainer.getAllPaths());
+
     // Uses the limelight to align the robot to the goal
     alignment = new LimelightAlignment(drive);
 
@@ -109,6 +173,9 @@ public class Robot extends TimedRobot {
 
     basicAuto = new BasicAuto(alignment, autoDriveControl, shooter, ballSystem);
 
+    // Record every loop to a file so matches can be looked at afterwards
+    startTelemetry();
+
     //Clears sticky faults at robot start
     PDP.clearStickyFaults();
     
@@ -140,10 +207,46 @@ public class Robot extends TimedRobot {
   @Override
   public void robotPeriodic() {
     //Update dashboard information
+    profiler.start(Stage.DASHBOARD);
     updateDashboard();
+    profiler.stop(Stage.DASHBOARD);
 
     //Allow for commands to be scheduled
+    profiler.start(Stage.SCHEDULER);
     CommandScheduler.getInstance().run();
+    profiler.stop(Stage.SCHEDULER);
+  }
+
+  /**
+   * Wraps the whole robot loop so the profiler can time it from start to finish
+   */
+  @Override
+  protected void loopFunc() {
+    profiler.startLoop();
+
+    // Read every sensor once before anything uses them
+    profiler.start(Stage.SENSORS);
+    sampleSensors();
+    profiler.stop(Stage.SENSORS);
+
+    super.loopFunc();
+
+    // Record the frame along with what the loop decided to do with it
+    profiler.start(Stage.TELEMETRY);
+    recordTelemetry();
+    profiler.stop(Stage.TELEMETRY);
+
+    profiler.endLoop();
+  }
+
+  /**
+   * Called each time the robot is disabled
+   */
+  @Override
+  public void disabledInit() {
+
+    // Make sure every path is ready for the next autonomous, paths already generated are skipped
+    TrajectoryCache.get().precompute(PathContainer.getAllPaths());
   }
 
   /**
@@ -155,6 +258,9 @@ public class Robot extends TimedRobot {
     // Get the selected auto
     autoPath = autoChooser.getSelected();
 
+    // Start auto with fresh loop timings
+    profiler.reset();
+
     // Stop running the compressor during auto
     AdvancedCompressor.stopCompressor();
 
@@ -211,6 +317,9 @@ public class Robot extends TimedRobot {
   @Override
   public void teleopInit() {
 
+    // Start teleop with fresh loop timings
+    profiler.reset();
+
     NavX.get().reset();
     // Make sure the climber is retracted at teleop start
     climber.retractClimber();
@@ -223,7 +332,9 @@ public class Robot extends TimedRobot {
   @Override
   public void teleopPeriodic() {
 
-    System.out.println(NavX.get().getAngle());
+    Logger.log(angleLog, frame.gyroAngleDegrees);
+
+    profiler.start(Stage.DRIVE);
 
     /**
      * Normal drive + tracking
@@ -247,24 +358,45 @@ public class Robot extends TimedRobot {
       drive.enableClosedRampRate(0.03);
     }
 
+    // Track the target
+    if(buttons.wasPressed(trackingButton))
+      tracking = true;
+
+    profiler.stop(Stage.DRIVE);
+
     // Toggle the shooter on or off if the left bumper is being held down
-    teleop.pressed(primary.leftBumper(), () -> shooter.enableShooter(), () -> shooter.stopShooter());
+    profiler.start(Stage.SHOOTER);
+    if(buttons.isPressed(shooterButton))
+      shooter.enableShooter();
+    else
+      shooter.stopShooter();
+    profiler.stop(Stage.SHOOTER);
 
-    // Track the target
-    teleop.runOncePerPress(primary.A(), () -> tracking = true);
+    profiler.start(Stage.BALL_SYSTEM);
 
     // When A is pressed run the intake
-    if(secondary.dPadUp())
-      teleop.pressed(secondary.dPadUp(), () -> ballSystem.getIntake().runFrontIntakeBack(), () -> ballSystem.getIntake().stopFrontIntake());
+    if(buttons.isPressed(intakeBackButton))
+      ballSystem.getIntake().runFrontIntakeBack();
+    else if(buttons.isPressed(intakeForwardButton))
+      ballSystem.getIntake().runFrontIntakeForward();
     else
-      teleop.pressed(secondary.dPadDown(), () -> ballSystem.getIntake().runFrontIntakeForward(), () -> ballSystem.getIntake().stopFrontIntake());
+      ballSystem.getIntake().stopFrontIntake();
 
     //When X is pressed attempt to index the balls into the shooter
-    teleop.pressed(secondary.X(), () -> ballSystem.getIndexer().standardIndex(), () -> ballSystem.getIndexer().stopIndexing());
+    if(buttons.isPressed(indexButton))
+      ballSystem.getIndexer().standardIndex();
+    else
+      ballSystem.getIndexer().stopIndexing();
 
     //Extend and retract intake
-    teleop.runOncePerPress(secondary.A(), () -> ballSystem.getIntake().extendIntake());
-    teleop.runOncePerPress(secondary.B(), () -> ballSystem.getIntake().retractIntake());
+    if(buttons.wasPressed(extendIntakeButton))
+      ballSystem.getIntake().extendIntake();
+    if(buttons.wasPressed(retractIntakeButton))
+      ballSystem.getIntake().retractIntake();
+
+    profiler.stop(Stage.BALL_SYSTEM);
+
+    profiler.start(Stage.CLIMBER);
 
     // When both DpadUp and X are pressed climb
     if (secondary.dPadRight() && secondary.Y()){
@@ -292,12 +424,10 @@ public class Robot extends TimedRobot {
       climber.runRightWinch(0);
     }
 
+    profiler.stop(Stage.CLIMBER);
+
     // Make sure systems that need constant updates are recieving them
     subsystemUpdater();
-
-    // Called to signify the end of one teleop loop to reset button properties,
-    // don't delete
-    teleop.endPeriodic();
   }
 
   /**
@@ -330,89 +460,123 @@ public class Robot extends TimedRobot {
    * Will call update methods for subsystems so as to not clutter the teleopPeriodic method
    */
   private void subsystemUpdater(){
+    profiler.start(Stage.SHOOTER);
     shooter.runShooter();
+    profiler.stop(Stage.SHOOTER);
 
     // Stop the compressor if the shooter is running
+    profiler.start(Stage.COMPRESSOR);
     if(!shooter.isRunning())
       AdvancedCompressor.runUntilFull();
     else
       AdvancedCompressor.stopCompressor();
+    profiler.stop(Stage.COMPRESSOR);
 
 
     // When the shooter is at full speed run the indexers automatically
-    if(shooter.isFull() && !secondary.X()){
+    profiler.start(Stage.BALL_SYSTEM);
+    if(shooter.isFull() && !buttons.isPressed(indexButton)){
       ballSystem.getIndexer().standardIndex();
     }
 
-    else if(!secondary.X()){
+    else if(!buttons.isPressed(indexButton)){
       ballSystem.getIndexer().stopIndexing();
     }
+    profiler.stop(Stage.BALL_SYSTEM);
 
     //AdvancedCompressor.runUntilFull();
   }
 
   /**
-   * Used to setup the Shuffleboard
+   * Registers all the teleop buttons with the tracker, the IDs stay the same for as long as the robot is on
    */
-  private void DashboardSetup(){
+  private void setupButtons(){
+    buttons = new ButtonTracker();
+
+    shooterButton = buttons.register(primary::leftBumper);
+    trackingButton = buttons.register(primary::A);
+    intakeBackButton = buttons.register(secondary::dPadUp);
+    intakeForwardButton = buttons.register(secondary::dPadDown);
+    indexButton = buttons.register(secondary::X);
+    extendIntakeButton = buttons.register(secondary::A);
+    retractIntakeButton = buttons.register(secondary::B);
+  }
 
-      //Set up the net table
-      Dashboard.setTable("Subsystems");
+  /**
+   * Fills the frame with this loop's sensor values
+   */
+  private void sampleSensors(){
+    frame.startCycle();
+    buttons.update();
+    drive.sampleState(frame);
+    NavX.get().sampleState(frame);
+    shooter.sampleState(frame);
+    ballSystem.sampleState(frame);
+    alignment.limelight.sampleState(frame);
+    frame.pdpVoltage = PDP.getVoltage();
+
+    if(isDisabled())
+      frame.robotMode = RobotStateFrame.MODE_DISABLED;
+    else if(isAutonomous())
+      frame.robotMode = RobotStateFrame.MODE_AUTONOMOUS;
+    else if(isTest())
+      frame.robotMode = RobotStateFrame.MODE_TEST;
+    else
+      frame.robotMode = RobotStateFrame.MODE_TELEOP;
+  }
 
-      //Add options to the dashboards
-      Dashboard.createEntry("Fly-Wheel-RPM", 0.0);
-      Dashboard.createEntry("Fly-Wheel-Speed-Status", false);
-      Dashboard.createEntry("Fly-Wheel-Total", 0.0);
+  /**
+   * Sets up the telemetry directory, the first file is opened on the first loop
+   */
+  private void startTelemetry(){
+    Path directory = RobotBase.isReal() ? Paths.get("/home/lvuser/telemetry") : Paths.get("telemetry");
+    telemetry = new TelemetrySessions(directory);
+  }
 
-      SmartDashboard.putBoolean("BallsInHopper", true);
+  /**
+   * Adds the auto stage to the frame and writes it to the telemetry file
+   */
+  private void recordTelemetry(){
+    BasicAuto.Stage stage = frame.robotMode == RobotStateFrame.MODE_AUTONOMOUS ? basicAuto.getStage() : null;
+    frame.autoStage = stage == null ? RobotStateFrame.NO_STAGE : stage.ordinal();
+
+    telemetry.record(frame);
+  }
 
-      //Create entry for the shooter current draw
-      Dashboard.createEntry("Shooter-Current-Draw");
+  /**
+   * Used to setup the Shuffleboard
+   */
+  private void DashboardSetup(){
+
+      SmartDashboard.putBoolean("BallsInHopper", true);
 
-      //Switch the table to robot info
+      //Set up the net table, the shooter and RAMSETE entries are created by those classes
       Dashboard.setTable("SmartDashboard");
+      DashboardTable table = Dashboard.getTable("SmartDashboard");
 
       //Create entries for the left side drive train current draw
-      Dashboard.createEntry("Left-Side-Current-Draw");
-      Dashboard.createEntry("Right-Side-Current-Draw");
-
-      //Create entries for drive train encoders
-      Dashboard.createEntry("Left-Side-Encoder");
-      Dashboard.createEntry("Right-Side-Encoder");
+      leftCurrentEntry = table.createEntry("Left-Side-Current-Draw", new double[RobotStateFrame.DRIVE_MOTORS_PER_SIDE]);
+      rightCurrentEntry = table.createEntry("Right-Side-Current-Draw", new double[RobotStateFrame.DRIVE_MOTORS_PER_SIDE]);
 
       //Create entries to display graphs of temperature for the drive train
-      Dashboard.createEntry("Left-Side-Temperature");
-      Dashboard.createEntry("Right-Side-Temperature");
-
-      Dashboard.createEntry("Belt-Current", 0.0);
-      Dashboard.createEntry("FrontIndexer-Current", 0.0);
-      Dashboard.createEntry("BackIndexer-Current", 0.0);
-
-      //Add the NavX to the dashboard
-      Dashboard.createEntry("Gyro");
-
-      ///RAMSETE Specific Outputs
-
-      Dashboard.setTable("RAMSETE");
-      Dashboard.createEntry("Target-Left-Wheel-Speed", 0);
-      Dashboard.createEntry("Target-Right-Wheel-Speed", 0);
+      leftTemperatureEntry = table.createEntry("Left-Side-Temperature", new double[RobotStateFrame.DRIVE_MOTORS_PER_SIDE]);
+      rightTemperatureEntry = table.createEntry("Right-Side-Temperature", new double[RobotStateFrame.DRIVE_MOTORS_PER_SIDE]);
 
-      //The speeds that we want to reach
-      Dashboard.createEntry("Left-Speed-Setpoint", 0);
-      Dashboard.createEntry("Right-Speed-Setpoint", 0);
+      // Temperatures change slowly and currents are noisy, no need to send them every loop
+      leftTemperatureEntry.setPublishLimits(0.5, 1);
+      rightTemperatureEntry.setPublishLimits(0.5, 1);
+      leftCurrentEntry.setPublishLimits(0.1, 10);
+      rightCurrentEntry.setPublishLimits(0.1, 10);
 
-      // Output to the motors
-      Dashboard.createEntry("Left-Wheel-Output", 0);
-      Dashboard.createEntry("Right-Wheel-Output", 0);
+      beltCurrentEntry = table.createEntry("Belt-Current", 0.0);
+      frontIndexerCurrentEntry = table.createEntry("FrontIndexer-Current", 0.0);
+      backIndexerCurrentEntry = table.createEntry("BackIndexer-Current", 0.0);
+      beltCurrentEntry.setPublishLimits(0.1, 10);
+      frontIndexerCurrentEntry.setPublishLimits(0.1, 10);
+      backIndexerCurrentEntry.setPublishLimits(0.1, 10);
 
-      // Add X and Y as well as angle to the dashboard
-      Dashboard.createEntry("Translational-Pose-X", 0);
-      Dashboard.createEntry("Translational-Pose-Y", 0);
-      Dashboard.createEntry("Rotational-Pose", 0);
-
-      //Graphs of where the robot is supposed to be 
-      Dashboard.createEntry("Expected-State-X", 0);
-      Dashboard.createEntry("Expected-State-Y", 0);
+      // Allow the log level to be changed while the robot is running
+      Logger.addLevelChooser();
 
   }
 
@@ -421,26 +585,17 @@ public class Robot extends TimedRobot {
    */
   private void updateDashboard(){
 
-    Dashboard.setTable("SmartDashboard");
-    
     // Add the values to the shuffle board in graph form
-    Dashboard.setValue("Left-Side-Current-Draw", drive.getLeftSideCurrentDraw());
-    Dashboard.setValue("Right-Side-Current-Draw", drive.getRightSideCurrentDraw());
-
-    //Update the values on the dashboard for the drive train encoders
-    Dashboard.setValue("Left-Side-Encoder", drive.getLeftSideEncoder());
-    Dashboard.setValue("Right-Side-Encoder", drive.getRightSideEncoder());
+    leftCurrentEntry.set(frame.leftCurrents);
+    rightCurrentEntry.set(frame.rightCurrents);
 
     //Sets the temperatures for the drive train
-    Dashboard.setValue("Left-Side-Temperature", drive.getLeftSideTemp());
-    Dashboard.setValue("Right-Side-Temperature", drive.getRightSideTemp());
-
-    Dashboard.setValue("Belt-Current", ballSystem.getIndexer().getBeltCurrent());
-    Dashboard.setValue("FrontIndexer-Current", ballSystem.getIndexer().getFrontIndexerCurrent());
-    Dashboard.setValue("BackIndexer-Current", ballSystem.getIndexer().getBackIndexerCurrent());
+    leftTemperatureEntry.set(frame.leftTemperatures);
+    rightTemperatureEntry.set(frame.rightTemperatures);
 
-    //Update the navX angle on the dashboard
-    Dashboard.setValue("Gyro", NavX.get().getAhrs());
+    beltCurrentEntry.set(frame.beltCurrent);
+    frontIndexerCurrentEntry.set(frame.frontIndexerCurrent);
+    backIndexerCurrentEntry.set(frame.backIndexerCurrent);
   }
 
   private void stopRobotAndRunMethod(Runnable action){
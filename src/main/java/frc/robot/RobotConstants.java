@@ -39,6 +39,14 @@ public class RobotConstants {
     // PID values (Only P is required for velocity)
     public static final double kPDriveVal = 0.615;
 
+    // Drive motors are NEOs, the resistance is 12V over the 105A a NEO draws stalled, and the most current each one
+    // can pull before its 40A breaker starts tripping
+    public static final double kDriveMotorResistanceOhms = 12.0 / 105;
+    public static final double kMaxDriveCurrentAmps = 40;
+
+    // How hard the pneumatic wheels can push against the carpet before slipping, as a fraction of the robot's weight
+    public static final double kWheelFrictionCoefficient = 1.0;
+
     // Kinematic information about our robot
     public static final double kTrackWidthMeters = 0.6223;
     //public static final double kTrackWidthMeters = 0.8072495768919005;
@@ -51,10 +59,40 @@ public class RobotConstants {
     public static final double kMaxVelocityMetersPerSecond = 1.5;
     public static final double kMaxAccelerationMetersPerSecondSquared = 2;
 
+    // The most sideways acceleration in a turn before the robot slows down for it
+    public static final double kMaxCentripetalAccelerationMetersPerSecondSquared = 2.5;
+
     // Reasonable baseline values for a RAMSETE follower in units of meters and
     // seconds
     public static final double kRamseteB = 2;
     public static final double kRamseteZeta = 0.7;
 
+    // Follow paths on their own thread at this period instead of in the 20ms robot loop
+    public static final boolean kUseHighRateFollower = false;
+    public static final double kFollowerPeriodSeconds = 0.005;
+
+    // How far off a path the robot can be pushed before a new path is made from where it is, 0 to turn off,
+    // and how far ahead of the robot the new path starts so there is time to generate it. Off until replanning has
+    // been tried on the robot, 0.3 worked in simulation
+    public static final double kReplanThresholdMeters = 0;
+    public static final double kReplanLookaheadSeconds = 0.1;
+
+    //endregion
+
+    //region Vision Constants
+
+    // Where the Limelight is on the robot, lens height off the floor, tilt up from level and distance forward of the
+    // middle of the robot
+    public static final double kLimelightHeightMeters = 0.56;
+    public static final double kLimelightPitchDegrees = 25;
+    public static final double kLimelightForwardMeters = 0.2;
+
+    // Height of the middle of the vision tape around the power port
+    public static final double kVisionTargetHeightMeters = 2.28;
+
+    // How far the power port is straight ahead of the middle of the robot where the eight ball auto starts, the
+    // initiation line is 3.05m from the port and the robot's bumpers sit on it
+    public static final double kEightBallStartToPowerPortMeters = 3.5;
+
     //endregion
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package frc.robot.Subsystems;
 
+import com.revrobotics.CANEncoder;
 import com.revrobotics.CANSparkMax;
 import com.revrobotics.CANSparkMax.IdleMode;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
@@ -9,7 +10,12 @@ import edu.wpi.first.wpilibj.RobotBase;
 import edu.wpi.first.wpilibj.RobotState;
 import frc.robot.RobotConstants;
 import frc.robot.RobotMap;
+import frc.robot.Communication.Dashboard.BooleanEntryHandle;
 import frc.robot.Communication.Dashboard.Dashboard;
+import frc.robot.Communication.Dashboard.DashboardTable;
+import frc.robot.Communication.Dashboard.DoubleArrayEntryHandle;
+import frc.robot.Communication.Dashboard.DoubleEntryHandle;
+import frc.robot.Hardware.RobotStateFrame;
 import frc.robot.Utilities.Control.SmartMotion;
 
 /**
@@ -20,6 +26,21 @@ public class ArcShooter{
     private CANSparkMax flywheelMotor;
     private CANSparkMax flywheelMotor2;
 
+    // Encoder on the main fly wheel motor, only fetched once
+    private CANEncoder flywheelEncoder;
+
+    // Sensor values for the current loop
+    private RobotStateFrame frame;
+
+    // Reused array for putting the motor current on the dashboard
+    private final double[] shooterCurrent = new double[1];
+
+    // Dashboard entries for the shooter stats
+    private DoubleEntryHandle rpmEntry;
+    private DoubleEntryHandle totalCurrentEntry;
+    private BooleanEntryHandle speedStatusEntry;
+    private DoubleArrayEntryHandle currentDrawEntry;
+
     // Weather or not the shooter should be running
     private boolean toggledStatus = false;
 
@@ -54,9 +75,26 @@ public class ArcShooter{
 
         flywheelMotor2.follow(flywheelMotor, true);
 
+        flywheelEncoder = flywheelMotor.getEncoder();
+
+        frame = RobotStateFrame.get();
+
         //Set a 300ms ramp rate for the motor
         flywheelMotor.setOpenLoopRampRate(2.5);
 
+        //Add options to the dashboards
+        DashboardTable table = Dashboard.getTable("Subsystems");
+        rpmEntry = table.createEntry("Fly-Wheel-RPM", 0.0);
+        speedStatusEntry = table.createEntry("Fly-Wheel-Speed-Status", false);
+        totalCurrentEntry = table.createEntry("Fly-Wheel-Total", 0.0);
+
+        //Create entry for the shooter current draw
+        currentDrawEntry = table.createEntry("Shooter-Current-Draw", shooterCurrent);
+
+        // Currents are noisy, no need to send them every loop
+        totalCurrentEntry.setPublishLimits(0.1, 10);
+        currentDrawEntry.setPublishLimits(0.1, 10);
+
         
     }
 
@@ -81,12 +119,21 @@ public class ArcShooter{
         flywheelMotor.set(currentFlyWheelPower);
     }
 
+    /**
+     * Reads the shooter sensors into the frame, called once at the start of every loop
+     * @param frame the frame to fill
+     */
+    public void sampleState(RobotStateFrame frame){
+        frame.flywheelVelocityRPM = flywheelEncoder.getVelocity();
+        frame.flywheelCurrents[0] = flywheelMotor.getOutputCurrent();
+        frame.flywheelCurrents[1] = flywheelMotor2.getOutputCurrent();
+    }
+
     /**
      * Returns the output current of the shooter motors as an array so it can be put onto the dashboard
      */
     public double[] getMotorCurrent(){
-        double [] shooterCurrent = new double[1];
-        shooterCurrent[0] = flywheelMotor.getOutputCurrent();
+        shooterCurrent[0] = frame.flywheelCurrents[0];
 
         return shooterCurrent;
     }
@@ -100,7 +147,7 @@ public class ArcShooter{
      * @return
      */
     public boolean isFull(){
-        return ((Math.abs(flywheelMotor.getEncoder().getVelocity()*2)) > 9000);
+        return ((Math.abs(frame.flywheelVelocityRPM*2)) > 9000);
     }
 
     /**
@@ -108,7 +155,7 @@ public class ArcShooter{
      * @return whether or not the shooter is at full speed
      */
     public boolean dynamicIsFull(){
-        currentSpeed = Math.abs(flywheelMotor.getEncoder().getVelocity());
+        currentSpeed = Math.abs(frame.flywheelVelocityRPM);
 
         if(hasLoopedOnce){
             double difference = prevoiusSpeeds[prevoiusSpeeds.length-1] - prevoiusSpeeds[0];
@@ -189,7 +236,11 @@ public class ArcShooter{
     public void stopShooter(){
         toggledStatus = false;
         speedLoop = 0;
-        prevoiusSpeeds = new double[10];
+
+        // Clear the old speeds in place, this is called every loop the shooter button isn't held
+        for (int i = 0; i < prevoiusSpeeds.length; i++) {
+            prevoiusSpeeds[i] = 0;
+        }
         flywheelMotor.set(0);
     }
 
@@ -204,24 +255,18 @@ public class ArcShooter{
      * Update the dashboard stats of the motor
      */
     private void updateShooterStats(){
-        Dashboard.setTable("Subsystems");
         // Only update on real robot to avoid crashing the simulation
         if(RobotBase.isReal()){
             
             //Add the RPM values to the smart dashboard
-            Dashboard.setValue("Fly-Wheel-RPM", flywheelMotor.getEncoder().getVelocity()*2);
-            Dashboard.setValue("Fly-Wheel-Total", flywheelMotor.getOutputCurrent() + flywheelMotor2.getOutputCurrent());
+            rpmEntry.set(frame.flywheelVelocityRPM*2);
+            totalCurrentEntry.set(frame.getFlywheelTotalCurrent());
             
             //Inform the user of wheater or not the motor is up to speed
-            if(flywheelMotor.getEncoder().getVelocity() > 10_000){
-                Dashboard.setValue("Fly-Wheel-Speed-Status", true);
-            }
-            else{
-                Dashboard.setValue("Fly-Wheel-Speed-Status", false);
-            }
+            speedStatusEntry.set(frame.flywheelVelocityRPM > 10_000);
 
             //Adds a graph of the motor current draw
-            Dashboard.setValue("Shooter-Current-Draw", getMotorCurrent());
+            currentDrawEntry.set(getMotorCurrent());
         }
     }
 }
\ No newline at end of file
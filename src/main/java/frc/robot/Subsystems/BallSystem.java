@@ -5,6 +5,7 @@ import com.revrobotics.CANSparkMaxLowLevel;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
 
 import frc.robot.RobotMap;
+import frc.robot.Hardware.RobotStateFrame;
 import frc.robot.Hardware.Pneumatics.AdvancedCompressor;
 import frc.robot.Hardware.Pneumatics.DoublePiston;
 import frc.robot.Hardware.Pneumatics.PistonGroup;
@@ -71,6 +72,16 @@ public class BallSystem{
         intake.retractIntake();
     }
 
+    /**
+     * Reads the ball system sensors into the frame, called once at the start of every loop
+     * @param frame the frame to fill
+     */
+    public void sampleState(RobotStateFrame frame){
+        frame.beltCurrent = transportBeltMotor.getOutputCurrent();
+        frame.frontIndexerCurrent = frontIndexerMotor.getOutputCurrent();
+        frame.backIndexerCurrent = backIndexerMotor.getOutputCurrent();
+    }
+
     /**
      * Get a reference to he Intake sub class
      */
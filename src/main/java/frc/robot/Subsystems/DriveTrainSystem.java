@@ -9,6 +9,7 @@ import edu.wpi.first.wpilibj.drive.DifferentialDrive;
 import frc.robot.RobotConstants;
 import frc.robot.RobotMap;
 import frc.robot.Communication.Dashboard.Dashboard;
+import frc.robot.Hardware.RobotStateFrame;
 
 public class DriveTrainSystem {
 
@@ -46,6 +47,9 @@ public class DriveTrainSystem {
 
     private BallSystem ballSystem;
 
+    // Sensor values for the current loop
+    private RobotStateFrame frame;
+
     //Static friction
     private double staticCurrentPower = 0.0;
     private boolean foundPowerStatic = false;
@@ -69,6 +73,27 @@ public class DriveTrainSystem {
         createEncoders();    
                 
         this.ballSystem = ballSystem;
+
+        frame = RobotStateFrame.get();
+    }
+
+    /**
+     * Reads the drive train sensors into the frame, called once at the start of every loop
+     * @param frame the frame to fill
+     */
+    public void sampleState(RobotStateFrame frame){
+        frame.leftDistanceMeters = leftSideEncoder.getDistance();
+        frame.rightDistanceMeters = rightSideEncoder.getDistance();
+        frame.leftRateMetersPerSecond = leftSideEncoder.getRate();
+        frame.rightRateMetersPerSecond = rightSideEncoder.getRate();
+
+        // Loop through the motors on both sides
+        for (int i=0; i<RobotStateFrame.DRIVE_MOTORS_PER_SIDE; i++){
+            frame.leftCurrents[i] = leftMotorsArray[i].getOutputCurrent();
+            frame.rightCurrents[i] = rightMotorsArray[i].getOutputCurrent();
+            frame.leftTemperatures[i] = leftMotorsArray[i].getMotorTemperature();
+            frame.rightTemperatures[i] = rightMotorsArray[i].getMotorTemperature();
+        }
     }
 
     /**
@@ -142,6 +167,10 @@ public class DriveTrainSystem {
       //  if(ballSystem.getIntake().isIntakeRunning()){
         //    drivePower = 0.5;
         //}
+
+        // Keep what was asked for so it gets recorded with the telemetry
+        frame.drivePower = drivePower;
+        frame.turnPower = turnPower;
         
         diffDrive.arcadeDrive(-drivePower, -turnPower);
 
@@ -324,7 +353,7 @@ public class DriveTrainSystem {
      * @return the distance
      */
     public double getAverageEncoderDistance(){
-        return ((leftSideEncoder.getDistance() + rightSideEncoder.getDistance()) / 2.0);
+        return frame.getAverageDistanceMeters();
     }
 
     /**
@@ -333,6 +362,10 @@ public class DriveTrainSystem {
     public void resetEncoders(){
         rightSideEncoder.reset();
         leftSideEncoder.reset();
+
+        // Zero the frame as well so anything reading it later in this loop sees the reset
+        frame.leftDistanceMeters = 0;
+        frame.rightDistanceMeters = 0;
     }
 
     /**
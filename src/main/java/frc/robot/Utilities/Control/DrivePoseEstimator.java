@@ -0,0 +1,518 @@
+package frc.robot.Utilities.Control;
+
+/**
+ * Extended Kalman filter that tracks the robot's pose from the wheels, the gyro and the Limelight.
+ *
+ * Every loop the wheels give how far the robot went and both the wheels and the gyro give how far it turned, the two
+ * turns are averaged by how much each can be trusted and the pose moves along an arc. The uncertainty grows with the
+ * distance driven since wheels slip. When the Limelight sees the target its angles are turned into a distance and a
+ * bearing to the target, which is at a known place, and the pose is pulled toward agreeing with them by however much
+ * the filter trusts the camera over its own guess.
+ *
+ * Camera frames are old by the time they arrive, so each one is compared against where the robot was when the frame
+ * was taken, looked up in a short history of poses, and the correction is applied to the pose now. Older frames and
+ * frames taken while moving fast are trusted less since a small timing error moves the target further. Frames that
+ * disagree too much with the pose are thrown out as reflections, unless they keep disagreeing
+ *
+ * Everything is plain doubles and fixed arrays so an update costs a few hundred nanoseconds and allocates nothing
+ */
+public class DrivePoseEstimator {
+
+    // Wheel error grows with the distance driven from slip and worn tread, the variance added per meter. Treated as
+    // a random walk so it has to be big enough to cover error that really builds up steadily, 0.005 is about 16cm
+    // after 5m
+    private static final double WHEEL_VARIANCE_PER_METER = 0.005;
+    private static final double MIN_DISTANCE_STDDEV_METERS = 0.0005;
+
+    // Wheels scrub in turns so their idea of the turn is worse than the gyro's
+    private static final double WHEEL_TURN_FRACTION = 0.15;
+
+    // Gyro error grows with how far it turned and slowly drifts with time, the drift as the standard deviation after
+    // one second of a random walk so it is about 1.5 degrees after 8 seconds
+    private static final double GYRO_TURN_FRACTION = 0.01;
+    private static final double GYRO_DRIFT_RADIANS_PER_ROOT_SECOND = Math.toRadians(0.5);
+
+    // Limelight angle noise, about one pixel of the 320 wide image
+    private static final double CAMERA_ANGLE_STDDEV_RADIANS = Math.toRadians(0.3);
+
+    // How well the time a frame was taken is known, a fixed amount plus a fraction of the latency
+    private static final double CAMERA_TIMING_STDDEV_SECONDS = 0.005;
+    private static final double CAMERA_LATENCY_FRACTION = 0.2;
+
+    // Frames further than this from what the filter expects are thrown out, 99% for two measurements
+    private static final double OUTLIER_GATE = 9.21;
+
+    // After this many frames in a row are thrown out the pose is the thing that is wrong, so trust the camera again
+    private static final int MAX_REJECTED_IN_A_ROW = 10;
+
+    // How well the robot is placed by hand at the start of a path
+    private static final double RESET_POSITION_STDDEV_METERS = 0.05;
+    private static final double RESET_HEADING_STDDEV_RADIANS = Math.toRadians(2);
+
+    // Poses kept for matching up late frames, a power of 2 so the index can wrap with a mask
+    private static final int HISTORY_SIZE = 64;
+
+    private final double trackWidthMeters;
+
+    // Camera mounting, height and tilt above level, and how far forward of the middle of the robot it is
+    private final double cameraHeightMeters;
+    private final double cameraPitchRadians;
+    private final double cameraForwardMeters;
+
+    // The target, its height and where it is in the same coordinates as the pose
+    private final double targetHeightMeters;
+    private boolean hasTarget;
+    private double targetX;
+    private double targetY;
+
+    // The camera looks out the back when running a path inverted, since the pose is mirrored
+    private boolean inverted;
+
+    // Pose and its covariance, row major
+    private double x;
+    private double y;
+    private double heading;
+    private final double[] P = new double[9];
+
+    // Sensor values from the last update
+    private double prevLeftDistance;
+    private double prevRightDistance;
+    private double prevGyroRadians;
+    private double prevTime;
+
+    // Recent poses, oldest overwritten first
+    private final double[] historyTime = new double[HISTORY_SIZE];
+    private final double[] historyX = new double[HISTORY_SIZE];
+    private final double[] historyY = new double[HISTORY_SIZE];
+    private final double[] historyHeading = new double[HISTORY_SIZE];
+    private int historyIndex;
+    private int historyCount;
+
+    // Last frame used, the Limelight repeats itself when the loop runs faster than it
+    private double lastTx = Double.NaN;
+    private double lastTy = Double.NaN;
+    private double lastLatency = Double.NaN;
+
+    private int rejectedInARow;
+    private int acceptedCount;
+    private int rejectedCount;
+
+    // Working space for the updates
+    private final double[] temp = new double[9];
+
+    /**
+     * @param trackWidthMeters    distance between the wheels
+     * @param cameraHeightMeters  height of the Limelight lens off the floor
+     * @param cameraPitchDegrees  how far the Limelight is tilted up from level
+     * @param cameraForwardMeters how far in front of the middle of the robot the Limelight is
+     * @param targetHeightMeters  height of the middle of the target off the floor
+     */
+    public DrivePoseEstimator(double trackWidthMeters, double cameraHeightMeters, double cameraPitchDegrees,
+            double cameraForwardMeters, double targetHeightMeters) {
+        this.trackWidthMeters = trackWidthMeters;
+        this.cameraHeightMeters = cameraHeightMeters;
+        this.cameraPitchRadians = Math.toRadians(cameraPitchDegrees);
+        this.cameraForwardMeters = cameraForwardMeters;
+        this.targetHeightMeters = targetHeightMeters;
+    }
+
+    /**
+     * Put the robot at a known pose, about as well as it can be placed by hand, and take the current sensor values as
+     * the starting point
+     *
+     * @param xMeters        where the robot is
+     * @param yMeters        where the robot is
+     * @param headingRadians which way the robot is facing
+     * @param leftDistance   left encoder distance in meters
+     * @param rightDistance  right encoder distance in meters
+     * @param gyroRadians    gyro heading, counter clockwise positive
+     * @param timeSeconds    the current time
+     */
+    public void reset(double xMeters, double yMeters, double headingRadians, double leftDistance, double rightDistance,
+            double gyroRadians, double timeSeconds) {
+        x = xMeters;
+        y = yMeters;
+        heading = headingRadians;
+        for (int i = 0; i < 9; i++) {
+            P[i] = 0;
+        }
+        P[0] = RESET_POSITION_STDDEV_METERS * RESET_POSITION_STDDEV_METERS;
+        P[4] = RESET_POSITION_STDDEV_METERS * RESET_POSITION_STDDEV_METERS;
+        P[8] = RESET_HEADING_STDDEV_RADIANS * RESET_HEADING_STDDEV_RADIANS;
+
+        prevLeftDistance = leftDistance;
+        prevRightDistance = rightDistance;
+        prevGyroRadians = gyroRadians;
+        prevTime = timeSeconds;
+
+        historyCount = 0;
+        rejectedInARow = 0;
+        lastTx = Double.NaN;
+        record(timeSeconds);
+    }
+
+    /**
+     * Set where the vision target is, in the same coordinates as the pose. The camera isn't used until this is set
+     *
+     * @param xMeters where the middle of the target is
+     * @param yMeters where the middle of the target is
+     */
+    public void setTarget(double xMeters, double yMeters) {
+        targetX = xMeters;
+        targetY = yMeters;
+        hasTarget = true;
+    }
+
+    /**
+     * Stop using the camera, for when the pose's coordinates don't say where the target is
+     */
+    public void clearTarget() {
+        hasTarget = false;
+    }
+
+    /**
+     * Set whether or not the pose is mirrored for a path being run backwards
+     *
+     * @param inverted inverted status
+     */
+    public void setInverted(boolean inverted) {
+        this.inverted = inverted;
+    }
+
+    /**
+     * Move the pose along by how far the wheels and gyro say the robot went since the last update
+     *
+     * @param timeSeconds   the current time
+     * @param leftDistance  left encoder distance in meters
+     * @param rightDistance right encoder distance in meters
+     * @param gyroRadians   gyro heading, counter clockwise positive
+     */
+    public void update(double timeSeconds, double leftDistance, double rightDistance, double gyroRadians) {
+        double dt = Math.max(0, timeSeconds - prevTime);
+        double dLeft = leftDistance - prevLeftDistance;
+        double dRight = rightDistance - prevRightDistance;
+        double distance = (dLeft + dRight) / 2;
+
+        // Average the two turns by how much each is trusted
+        double wheelTurn = (dRight - dLeft) / trackWidthMeters;
+        double gyroTurn = Math.IEEEremainder(gyroRadians - prevGyroRadians, 2 * Math.PI);
+
+        double wheelStdDev = WHEEL_TURN_FRACTION * Math.abs(wheelTurn)
+                + Math.sqrt(WHEEL_VARIANCE_PER_METER * (Math.abs(dLeft) + Math.abs(dRight))) / trackWidthMeters + MIN_DISTANCE_STDDEV_METERS;
+        double gyroStdDev = GYRO_TURN_FRACTION * Math.abs(gyroTurn) + GYRO_DRIFT_RADIANS_PER_ROOT_SECOND * Math.sqrt(dt) + 1e-6;
+
+        double wheelWeight = 1 / (wheelStdDev * wheelStdDev);
+        double gyroWeight = 1 / (gyroStdDev * gyroStdDev);
+        double turn = (wheelTurn * wheelWeight + gyroTurn * gyroWeight) / (wheelWeight + gyroWeight);
+        double turnVariance = 1 / (wheelWeight + gyroWeight);
+
+        double distanceVariance = WHEEL_VARIANCE_PER_METER * Math.abs(distance) + MIN_DISTANCE_STDDEV_METERS * MIN_DISTANCE_STDDEV_METERS;
+
+        // Drive along the middle of the arc
+        double angle = heading + turn / 2;
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+
+        x += distance * cos;
+        y += distance * sin;
+        heading = Math.IEEEremainder(heading + turn, 2 * Math.PI);
+
+        // P = F P F^T + G Q G^T, F is identity apart from the heading column
+        double fx = -distance * sin;
+        double fy = distance * cos;
+        predictCovariance(fx, fy);
+
+        // G maps (distance, turn) onto the pose
+        double g00 = cos;
+        double g01 = -distance * sin / 2;
+        double g10 = sin;
+        double g11 = distance * cos / 2;
+        P[0] += g00 * g00 * distanceVariance + g01 * g01 * turnVariance;
+        P[1] += g00 * g10 * distanceVariance + g01 * g11 * turnVariance;
+        P[2] += g01 * turnVariance;
+        P[3] += g10 * g00 * distanceVariance + g11 * g01 * turnVariance;
+        P[4] += g10 * g10 * distanceVariance + g11 * g11 * turnVariance;
+        P[5] += g11 * turnVariance;
+        P[6] += g01 * turnVariance;
+        P[7] += g11 * turnVariance;
+        P[8] += turnVariance;
+
+        prevLeftDistance = leftDistance;
+        prevRightDistance = rightDistance;
+        prevGyroRadians = gyroRadians;
+        prevTime = timeSeconds;
+
+        record(timeSeconds);
+    }
+
+    /**
+     * P = F P F^T with F = [1 0 fx; 0 1 fy; 0 0 1]
+     */
+    private void predictCovariance(double fx, double fy) {
+        // F P
+        for (int c = 0; c < 3; c++) {
+            temp[c] = P[c] + fx * P[6 + c];
+            temp[3 + c] = P[3 + c] + fy * P[6 + c];
+            temp[6 + c] = P[6 + c];
+        }
+
+        // (F P) F^T
+        for (int r = 0; r < 3; r++) {
+            double a = temp[r * 3];
+            double b = temp[r * 3 + 1];
+            double h = temp[r * 3 + 2];
+            P[r * 3] = a + h * fx;
+            P[r * 3 + 1] = b + h * fy;
+            P[r * 3 + 2] = h;
+        }
+    }
+
+    /**
+     * Pull the pose toward what a Limelight frame says
+     *
+     * @param timeSeconds    the current time, the frame was taken latencySeconds before this
+     * @param txDegrees      Limelight horizontal angle to the target, positive to the right
+     * @param tyDegrees      Limelight vertical angle to the target, positive up
+     * @param latencySeconds how old the frame is
+     * @param confidence     how much to trust the frame from 0 to 1, the camera's noise is divided by this
+     * @return whether or not the frame was used
+     */
+    public boolean addVisionMeasurement(double timeSeconds, double txDegrees, double tyDegrees, double latencySeconds,
+            double confidence) {
+        if (!hasTarget || confidence <= 0)
+            return false;
+
+        // Same frame as last time
+        if (txDegrees == lastTx && tyDegrees == lastTy && latencySeconds == lastLatency)
+            return false;
+        lastTx = txDegrees;
+        lastTy = tyDegrees;
+        lastLatency = latencySeconds;
+
+        // Find the pose when the frame was taken
+        double captureTime = timeSeconds - latencySeconds;
+        int newer = findHistory(captureTime);
+        if (newer < 0)
+            return false;
+        int older = (newer - 1) & (HISTORY_SIZE - 1);
+
+        double span = historyTime[newer] - historyTime[older];
+        double t = span > 0 ? Math.max(0, Math.min(1, (captureTime - historyTime[older]) / span)) : 1;
+        double pastX = historyX[older] + (historyX[newer] - historyX[older]) * t;
+        double pastY = historyY[older] + (historyY[newer] - historyY[older]) * t;
+        double pastHeading = historyHeading[older] + Math.IEEEremainder(historyHeading[newer] - historyHeading[older], 2 * Math.PI) * t;
+
+        // How fast the robot was going then, a timing error moves the target by this much
+        double speed = span > 0 ? Math.hypot(historyX[newer] - historyX[older], historyY[newer] - historyY[older]) / span : 0;
+        double turnRate = span > 0 ? Math.abs(Math.IEEEremainder(historyHeading[newer] - historyHeading[older], 2 * Math.PI)) / span : 0;
+
+        // Distance from the camera's tilt, and the bearing in the pose's frame
+        double elevation = cameraPitchRadians + Math.toRadians(tyDegrees);
+        if (elevation <= 0)
+            return false;
+
+        double heightDifference = targetHeightMeters - cameraHeightMeters;
+        double measuredRange = heightDifference / Math.tan(elevation);
+        double measuredBearing = Math.toRadians(inverted ? txDegrees : -txDegrees);
+
+        // Where the filter thinks the camera and target are, looking out the back when mirrored
+        double cameraOffset = inverted ? -cameraForwardMeters : cameraForwardMeters;
+        double cameraYaw = inverted ? Math.PI : 0;
+        double cos = Math.cos(pastHeading);
+        double sin = Math.sin(pastHeading);
+        double dx = targetX - (pastX + cameraOffset * cos);
+        double dy = targetY - (pastY + cameraOffset * sin);
+        double rangeSquared = dx * dx + dy * dy;
+        double range = Math.sqrt(rangeSquared);
+        if (range < 1e-3)
+            return false;
+
+        double expectedBearing = Math.atan2(dy, dx) - pastHeading - cameraYaw;
+
+        double rangeError = measuredRange - range;
+        double bearingError = Math.IEEEremainder(measuredBearing - expectedBearing, 2 * Math.PI);
+
+        // H = d(range, bearing) / d(x, y, heading)
+        double h00 = -dx / range;
+        double h01 = -dy / range;
+        double h02 = cameraOffset * (dx * sin - dy * cos) / range;
+        double h10 = dy / rangeSquared;
+        double h11 = -dx / rangeSquared;
+        double h12 = -cameraOffset * (dy * sin + dx * cos) / rangeSquared - 1;
+
+        // Camera noise, the range gets worse fast with distance since the angle to the target flattens out
+        double angleStdDev = CAMERA_ANGLE_STDDEV_RADIANS / Math.min(1, confidence);
+        double rangeStdDev = angleStdDev * (measuredRange * measuredRange + heightDifference * heightDifference) / Math.abs(heightDifference);
+        double timingStdDev = CAMERA_TIMING_STDDEV_SECONDS + CAMERA_LATENCY_FRACTION * latencySeconds;
+        double r00 = rangeStdDev * rangeStdDev + speed * speed * timingStdDev * timingStdDev;
+        double r11 = angleStdDev * angleStdDev + turnRate * turnRate * timingStdDev * timingStdDev
+                + speed * speed * timingStdDev * timingStdDev / rangeSquared;
+
+        // P H^T, three rows of two
+        double ph00 = P[0] * h00 + P[1] * h01 + P[2] * h02;
+        double ph01 = P[0] * h10 + P[1] * h11 + P[2] * h12;
+        double ph10 = P[3] * h00 + P[4] * h01 + P[5] * h02;
+        double ph11 = P[3] * h10 + P[4] * h11 + P[5] * h12;
+        double ph20 = P[6] * h00 + P[7] * h01 + P[8] * h02;
+        double ph21 = P[6] * h10 + P[7] * h11 + P[8] * h12;
+
+        // S = H P H^T + R
+        double s00 = h00 * ph00 + h01 * ph10 + h02 * ph20 + r00;
+        double s01 = h00 * ph01 + h01 * ph11 + h02 * ph21;
+        double s11 = h10 * ph01 + h11 * ph11 + h12 * ph21 + r11;
+        double determinant = s00 * s11 - s01 * s01;
+        if (determinant <= 0)
+            return false;
+
+        double i00 = s11 / determinant;
+        double i01 = -s01 / determinant;
+        double i11 = s00 / determinant;
+
+        // Throw out frames that don't fit, unless the pose has been wrong for a while
+        double distance = rangeError * (i00 * rangeError + i01 * bearingError) + bearingError * (i01 * rangeError + i11 * bearingError);
+        if (distance > OUTLIER_GATE && rejectedInARow < MAX_REJECTED_IN_A_ROW) {
+            rejectedInARow++;
+            rejectedCount++;
+            return false;
+        }
+        rejectedInARow = 0;
+        acceptedCount++;
+
+        // K = P H^T S^-1
+        double k00 = ph00 * i00 + ph01 * i01;
+        double k01 = ph00 * i01 + ph01 * i11;
+        double k10 = ph10 * i00 + ph11 * i01;
+        double k11 = ph10 * i01 + ph11 * i11;
+        double k20 = ph20 * i00 + ph21 * i01;
+        double k21 = ph20 * i01 + ph21 * i11;
+
+        // The correction found at the old pose is applied to the pose now and to the history after it
+        double correctionX = k00 * rangeError + k01 * bearingError;
+        double correctionY = k10 * rangeError + k11 * bearingError;
+        double correctionHeading = k20 * rangeError + k21 * bearingError;
+
+        x += correctionX;
+        y += correctionY;
+        heading = Math.IEEEremainder(heading + correctionHeading, 2 * Math.PI);
+        for (int i = 0; i < historyCount; i++) {
+            int index = (historyIndex - 1 - i) & (HISTORY_SIZE - 1);
+            if (historyTime[index] < captureTime)
+                break;
+            historyX[index] += correctionX;
+            historyY[index] += correctionY;
+            historyHeading[index] += correctionHeading;
+        }
+
+        // P = (I - K H) P (I - K H)^T + K R K^T, which stays symmetric and positive
+        double[] k = temp;
+        double a00 = 1 - (k00 * h00 + k01 * h10);
+        double a01 = -(k00 * h01 + k01 * h11);
+        double a02 = -(k00 * h02 + k01 * h12);
+        double a10 = -(k10 * h00 + k11 * h10);
+        double a11 = 1 - (k10 * h01 + k11 * h11);
+        double a12 = -(k10 * h02 + k11 * h12);
+        double a20 = -(k20 * h00 + k21 * h10);
+        double a21 = -(k20 * h01 + k21 * h11);
+        double a22 = 1 - (k20 * h02 + k21 * h12);
+
+        // A P
+        for (int c = 0; c < 3; c++) {
+            k[c] = a00 * P[c] + a01 * P[3 + c] + a02 * P[6 + c];
+            k[3 + c] = a10 * P[c] + a11 * P[3 + c] + a12 * P[6 + c];
+            k[6 + c] = a20 * P[c] + a21 * P[3 + c] + a22 * P[6 + c];
+        }
+
+        // (A P) A^T + K R K^T
+        for (int r = 0; r < 3; r++) {
+            double kr0 = r == 0 ? k00 : r == 1 ? k10 : k20;
+            double kr1 = r == 0 ? k01 : r == 1 ? k11 : k21;
+            double p0 = k[r * 3];
+            double p1 = k[r * 3 + 1];
+            double p2 = k[r * 3 + 2];
+            P[r * 3] = p0 * a00 + p1 * a01 + p2 * a02 + kr0 * k00 * r00 + kr1 * k01 * r11;
+            P[r * 3 + 1] = p0 * a10 + p1 * a11 + p2 * a12 + kr0 * k10 * r00 + kr1 * k11 * r11;
+            P[r * 3 + 2] = p0 * a20 + p1 * a21 + p2 * a22 + kr0 * k20 * r00 + kr1 * k21 * r11;
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the current pose to the history
+     */
+    private void record(double timeSeconds) {
+        historyTime[historyIndex] = timeSeconds;
+        historyX[historyIndex] = x;
+        historyY[historyIndex] = y;
+        historyHeading[historyIndex] = heading;
+        historyIndex = (historyIndex + 1) & (HISTORY_SIZE - 1);
+        historyCount = Math.min(historyCount + 1, HISTORY_SIZE);
+    }
+
+    /**
+     * Finds the first pose in the history at or after a time, with one before it to interpolate from, or the newest
+     * pose if the time is after all of them
+     *
+     * @return the index of the pose, -1 if the time is older than the history
+     */
+    private int findHistory(double timeSeconds) {
+        if (historyCount < 2)
+            return -1;
+
+        int newest = (historyIndex - 1) & (HISTORY_SIZE - 1);
+        if (timeSeconds >= historyTime[newest])
+            return newest;
+
+        for (int i = 1; i < historyCount; i++) {
+            int index = (historyIndex - 1 - i) & (HISTORY_SIZE - 1);
+            if (historyTime[index] <= timeSeconds)
+                return (index + 1) & (HISTORY_SIZE - 1);
+        }
+        return -1;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Get the heading in radians, counter clockwise positive
+     */
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Get the standard deviation of the position, the longer axis of the uncertainty
+     */
+    public double getPositionStdDev() {
+        double mean = (P[0] + P[4]) / 2;
+        double spread = Math.sqrt((P[0] - P[4]) * (P[0] - P[4]) / 4 + P[1] * P[1]);
+        return Math.sqrt(mean + spread);
+    }
+
+    /**
+     * Get the standard deviation of the heading in radians
+     */
+    public double getHeadingStdDev() {
+        return Math.sqrt(P[8]);
+    }
+
+    /**
+     * Get how many camera frames have been used
+     */
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * Get how many camera frames were thrown out for not fitting
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+}
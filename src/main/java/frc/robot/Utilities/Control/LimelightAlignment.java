@@ -1,5 +1,6 @@
 package frc.robot.Utilities.Control;
 
+import frc.robot.Hardware.RobotStateFrame;
 import frc.robot.Hardware.Vision.Limelight;
 import frc.robot.Subsystems.DriveTrainSystem;
 
@@ -9,6 +10,10 @@ public class LimelightAlignment{
 
     private PID pid;
     private DriveTrainSystem drive;
+
+    // Limelight values for the current loop, read from here so the alignment can be replayed from telemetry
+    private RobotStateFrame frame;
+
     private boolean initalControlLoop = true;
 
     // Limelight values, the current X offset of the angle
@@ -26,6 +31,7 @@ public class LimelightAlignment{
      */
     public LimelightAlignment(DriveTrainSystem drive){
         limelight = new Limelight();
+        frame = RobotStateFrame.get();
 
         // P, I, D, staticFrictionOffset
         pid = new PID(.025,0,0.2);
@@ -47,7 +53,7 @@ public class LimelightAlignment{
             this.drive.enableClosedRampRate(0.02);
             initalControlLoop = false;
         }
-        limelightX = limelight.getX(); 
+        limelightX = frame.limelightX;
         power = 0;
         power = pid.calcOutput(limelightX*-1);
 
@@ -57,14 +63,14 @@ public class LimelightAlignment{
         }
 
         // Check if the PID value is in range and there is more than one active target
-        if(pid.isInRange() && limelight.getValidTarget() > 0){
+        if(pid.isInRange() && frame.limelightValidTarget > 0){
             //System.out.println("Aligned");
             drive.arcadeDrive(0, 0);
             return true;
         }
 
         // If not aligned then attempt to align 
-        else if(limelight.getValidTarget() > 0){
+        else if(frame.limelightValidTarget > 0){
             drive.arcadeDrive(power, 0);
             return false;
         }
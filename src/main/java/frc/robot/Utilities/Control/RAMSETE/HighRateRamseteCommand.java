@@ -0,0 +1,89 @@
+package frc.robot.Utilities.Control.RAMSETE;
+
+import java.util.function.Supplier;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj2.command.CommandBase;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+import frc.robot.Communication.Dashboard.Dashboard;
+import frc.robot.Communication.Dashboard.DashboardTable;
+import frc.robot.Communication.Dashboard.DoubleEntryHandle;
+import frc.robot.Hardware.RobotStateFrame;
+
+/**
+ * Follows a trajectory with a {@link RamseteFollower} running on its own thread.
+ * The command only starts the follower with where the robot is, shows how it is doing on the dashboard and stops
+ * it once the trajectory is done, all the control happens on the follower thread
+ */
+public class HighRateRamseteCommand extends CommandBase {
+
+    private final RamseteFollower follower;
+    private final Supplier<Pose2d> startPose;
+
+    // Same entries RamseteCommand uses so the dashboard layout doesn't change between the two
+    private final DoubleEntryHandle poseXEntry;
+    private final DoubleEntryHandle poseYEntry;
+    private final DoubleEntryHandle rotationEntry;
+    private final DoubleEntryHandle expectedXEntry;
+    private final DoubleEntryHandle expectedYEntry;
+    private final DoubleEntryHandle leftOutputEntry;
+    private final DoubleEntryHandle rightOutputEntry;
+    private final DoubleEntryHandle errorEntry;
+    private final DoubleEntryHandle maxErrorEntry;
+
+    // Marks the loops spent following a path in the telemetry
+    private final RobotStateFrame frame = RobotStateFrame.get();
+
+    /**
+     * @param follower     the follower to run
+     * @param startPose    where the robot is when the command starts
+     * @param requirements the subsystems to require
+     */
+    public HighRateRamseteCommand(RamseteFollower follower, Supplier<Pose2d> startPose, Subsystem... requirements) {
+        this.follower = follower;
+        this.startPose = startPose;
+
+        DashboardTable table = Dashboard.getTable("RAMSETE");
+        poseXEntry = table.createEntry("Translational-Pose-X", 0.0);
+        poseYEntry = table.createEntry("Translational-Pose-Y", 0.0);
+        rotationEntry = table.createEntry("Rotational-Pose", 0.0);
+        expectedXEntry = table.createEntry("Expected-State-X", 0.0);
+        expectedYEntry = table.createEntry("Expected-State-Y", 0.0);
+        leftOutputEntry = table.createEntry("Left-Wheel-Output", 0.0);
+        rightOutputEntry = table.createEntry("Right-Wheel-Output", 0.0);
+        errorEntry = table.createEntry("Tracking-Error", 0.0);
+        maxErrorEntry = table.createEntry("Max-Tracking-Error", 0.0);
+
+        addRequirements(requirements);
+    }
+
+    @Override
+    public void initialize() {
+        follower.start(startPose.get());
+        frame.pathActive = true;
+    }
+
+    @Override
+    public void execute() {
+        poseXEntry.set(follower.getPoseX());
+        poseYEntry.set(follower.getPoseY());
+        rotationEntry.set(Math.toDegrees(follower.getPoseHeading()));
+        expectedXEntry.set(follower.getExpectedX());
+        expectedYEntry.set(follower.getExpectedY());
+        leftOutputEntry.set(follower.getLeftVolts());
+        rightOutputEntry.set(follower.getRightVolts());
+        errorEntry.set(follower.getErrorMeters());
+        maxErrorEntry.set(follower.getMaxErrorMeters());
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        follower.stop();
+        frame.pathActive = false;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return follower.isFinished();
+    }
+}
@@ -14,26 +14,29 @@ import java.util.function.Supplier;
 
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.controller.PIDController;
-import edu.wpi.first.wpilibj.trajectory.Trajectory.State;
-import edu.wpi.first.wpilibj.controller.RamseteController;
 import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
-import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
 import edu.wpi.first.wpilibj.trajectory.Trajectory;
 import edu.wpi.first.wpilibj2.command.CommandBase;
 import edu.wpi.first.wpilibj2.command.Subsystem;
 import frc.robot.Communication.Dashboard.Dashboard;
+import frc.robot.Communication.Dashboard.DashboardTable;
+import frc.robot.Communication.Dashboard.DoubleEntryHandle;
+import frc.robot.Hardware.RobotStateFrame;
 
 import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 
 /**
  * LOCAL RECREATION OF THE COMMAND USED FOR TESTING
  * 
- * A command that uses a RAMSETE controller ({@link RamseteController}) to follow a trajectory
+ * A command that uses a RAMSETE controller ({@link RamseteLaw}) to follow a trajectory
  * {@link Trajectory} with a differential drive.
  *
+ * <p>The trajectory is resampled into a {@link SampledTrajectory} when the command is made, so each loop looks up
+ * the reference state by index into a reused {@link TrajectorySample} and the follower allocates nothing.
+ *
  * <p>The command handles trajectory-following, PID calculations, and feedforwards internally.  This
  * is intended to be a more-or-less "complete solution" that can be used by teams without a great
  * deal of controls expertise.
@@ -47,18 +50,45 @@ import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 public class RamseteCommand extends CommandBase {
   private final Timer m_timer = new Timer();
   private final boolean m_usePID;
-  private final Trajectory m_trajectory;
+  private final SampledTrajectory m_originalTrajectory;
   private final Supplier<Pose2d> m_pose;
-  private final RamseteController m_follower;
+  private final RamseteLaw m_follower;
   private final SimpleMotorFeedforward m_feedforward;
   private final DifferentialDriveKinematics m_kinematics;
   private final Supplier<DifferentialDriveWheelSpeeds> m_speeds;
   private final PIDController m_leftController;
   private final PIDController m_rightController;
   private final BiConsumer<Double, Double> m_output;
-  private DifferentialDriveWheelSpeeds m_prevSpeeds;
+  private final TrajectorySample m_sample = new TrajectorySample();
+  private double m_prevLeftSpeed;
+  private double m_prevRightSpeed;
   private double m_prevTime;
 
+  // What is being followed and when it started, both change when the replanner makes a new trajectory
+  private SampledTrajectory m_trajectory;
+  private double m_startTime;
+  private TrajectoryReplanner m_replanner;
+
+  // Wheel speeds the RAMSETE law asked for this loop
+  private double m_leftSpeedSetpoint;
+  private double m_rightSpeedSetpoint;
+
+  // Dashboard entries, looked up once when the command is made
+  private DoubleEntryHandle m_targetLeftSpeedEntry;
+  private DoubleEntryHandle m_targetRightSpeedEntry;
+  private DoubleEntryHandle m_leftSetpointEntry;
+  private DoubleEntryHandle m_rightSetpointEntry;
+  private DoubleEntryHandle m_poseXEntry;
+  private DoubleEntryHandle m_poseYEntry;
+  private DoubleEntryHandle m_leftOutputEntry;
+  private DoubleEntryHandle m_rightOutputEntry;
+  private DoubleEntryHandle m_rotationEntry;
+  private DoubleEntryHandle m_expectedXEntry;
+  private DoubleEntryHandle m_expectedYEntry;
+
+  // Marks the loops spent following a path in the telemetry
+  private final RobotStateFrame m_frame = RobotStateFrame.get();
+
   /**
    * Constructs a new RamseteCommand that, when executed, will follow the provided trajectory.
    * PID control and feedforward are handled internally, and outputs are scaled -12 to 12
@@ -85,7 +115,7 @@ public class RamseteCommand extends CommandBase {
   @SuppressWarnings("PMD.ExcessiveParameterList")
   public RamseteCommand(Trajectory trajectory,
                         Supplier<Pose2d> pose,
-                        RamseteController controller,
+                        RamseteLaw controller,
                         SimpleMotorFeedforward feedforward,
                         DifferentialDriveKinematics kinematics,
                         Supplier<DifferentialDriveWheelSpeeds> wheelSpeeds,
@@ -93,7 +123,7 @@ public class RamseteCommand extends CommandBase {
                         PIDController rightController,
                         BiConsumer<Double, Double> outputVolts,
                         Subsystem... requirements) {
-    m_trajectory = requireNonNullParam(trajectory, "trajectory", "RamseteCommand");
+    m_originalTrajectory = new SampledTrajectory(requireNonNullParam(trajectory, "trajectory", "RamseteCommand"));
     m_pose = requireNonNullParam(pose, "pose", "RamseteCommand");
     m_follower = requireNonNullParam(controller, "controller", "RamseteCommand");
     m_feedforward = feedforward;
@@ -105,6 +135,8 @@ public class RamseteCommand extends CommandBase {
 
     m_usePID = true;
 
+    createDashboardEntries();
+
     addRequirements(requirements);
   }
 
@@ -124,11 +156,11 @@ public class RamseteCommand extends CommandBase {
    */
   public RamseteCommand(Trajectory trajectory,
                         Supplier<Pose2d> pose,
-                        RamseteController follower,
+                        RamseteLaw follower,
                         DifferentialDriveKinematics kinematics,
                         BiConsumer<Double, Double> outputMetersPerSecond,
                         Subsystem... requirements) {
-    m_trajectory = requireNonNullParam(trajectory, "trajectory", "RamseteCommand");
+    m_originalTrajectory = new SampledTrajectory(requireNonNullParam(trajectory, "trajectory", "RamseteCommand"));
     m_pose = requireNonNullParam(pose, "pose", "RamseteCommand");
     m_follower = requireNonNullParam(follower, "follower", "RamseteCommand");
     m_kinematics = requireNonNullParam(kinematics, "kinematics", "RamseteCommand");
@@ -141,20 +173,64 @@ public class RamseteCommand extends CommandBase {
 
     m_usePID = false;
 
+    createDashboardEntries();
+
     addRequirements(requirements);
   }
 
+  /**
+   * Replan from where the robot is if it gets pushed off the trajectory.
+   *
+   * @param replanner The replanner, or null to always follow the original trajectory.
+   * @return This command.
+   */
+  public RamseteCommand withReplanner(TrajectoryReplanner replanner) {
+    m_replanner = replanner;
+    return this;
+  }
+
+  /**
+   * Looks up the RAMSETE dashboard entries so execute() doesn't have to
+   */
+  private void createDashboardEntries() {
+    DashboardTable table = Dashboard.getTable("RAMSETE");
+    m_targetLeftSpeedEntry = table.createEntry("Target-Left-Wheel-Speed", 0.0);
+    m_targetRightSpeedEntry = table.createEntry("Target-Right-Wheel-Speed", 0.0);
+
+    //The speeds that we want to reach
+    m_leftSetpointEntry = table.createEntry("Left-Speed-Setpoint", 0.0);
+    m_rightSetpointEntry = table.createEntry("Right-Speed-Setpoint", 0.0);
+
+    // Output to the motors
+    m_leftOutputEntry = table.createEntry("Left-Wheel-Output", 0.0);
+    m_rightOutputEntry = table.createEntry("Right-Wheel-Output", 0.0);
+
+    // Add X and Y as well as angle to the dashboard
+    m_poseXEntry = table.createEntry("Translational-Pose-X", 0.0);
+    m_poseYEntry = table.createEntry("Translational-Pose-Y", 0.0);
+    m_rotationEntry = table.createEntry("Rotational-Pose", 0.0);
+
+    //Graphs of where the robot is supposed to be
+    m_expectedXEntry = table.createEntry("Expected-State-X", 0.0);
+    m_expectedYEntry = table.createEntry("Expected-State-Y", 0.0);
+  }
+
   @Override
   public void initialize() {
     m_prevTime = 0;
-    var initialState = m_trajectory.sample(0);
-    m_prevSpeeds = m_kinematics.toWheelSpeeds(
-        new ChassisSpeeds(initialState.velocityMetersPerSecond,
-            0,
-            initialState.curvatureRadPerMeter
-                * initialState.velocityMetersPerSecond));
+    m_startTime = 0;
+    m_trajectory = m_originalTrajectory;
+    if (m_replanner != null) {
+      m_replanner.start(m_trajectory);
+    }
+    m_trajectory.sample(0, m_sample);
+    setWheelSpeeds(m_sample.velocityMetersPerSecond,
+        m_sample.curvatureRadPerMeter * m_sample.velocityMetersPerSecond);
+    m_prevLeftSpeed = m_leftSpeedSetpoint;
+    m_prevRightSpeed = m_rightSpeedSetpoint;
     m_timer.reset();
     m_timer.start();
+    m_frame.pathActive = true;
     if (m_usePID) {
       m_leftController.reset();
       m_rightController.reset();
@@ -163,34 +239,49 @@ public class RamseteCommand extends CommandBase {
 
   @Override
   public void execute() {
-    double curTime = m_timer.get();
+    double curTime = m_timer.get() - m_startTime;
+
+    // Switch to a replanned trajectory once the robot gets to where it starts, its time starts from there
+    if (m_replanner != null) {
+      TrajectoryReplanner.Replan replan = m_replanner.poll(curTime);
+      if (replan != null) {
+        m_trajectory = replan.trajectory;
+        m_startTime += replan.startTimeSeconds;
+        m_prevTime -= replan.startTimeSeconds;
+        curTime -= replan.startTimeSeconds;
+      }
+    }
+
     double dt = curTime - m_prevTime;
 
     //The state at the current time
-    State sampledState = m_trajectory.sample(curTime);
-
-    var targetWheelSpeeds = m_kinematics.toWheelSpeeds(
-        m_follower.calculate(m_pose.get(), sampledState));
+    m_trajectory.sample(curTime, m_sample);
 
-    Dashboard.setTable("RAMSETE");
+    Pose2d pose = m_pose.get();
+    m_follower.calculate(pose.getTranslation().getX(), pose.getTranslation().getY(),
+        pose.getRotation().getRadians(), m_sample);
+    setWheelSpeeds(m_follower.linearMetersPerSecond, m_follower.angularRadiansPerSecond);
 
     //Add the target speed to the dashboard
-    Dashboard.setValue("Target-Left-Wheel-Speed", targetWheelSpeeds.leftMetersPerSecond);
-    Dashboard.setValue("Target-Right-Wheel-Speed", targetWheelSpeeds.rightMetersPerSecond);
+    m_targetLeftSpeedEntry.set(m_leftSpeedSetpoint);
+    m_targetRightSpeedEntry.set(m_rightSpeedSetpoint);
 
-    var leftSpeedSetpoint = targetWheelSpeeds.leftMetersPerSecond;
-    var rightSpeedSetpoint = targetWheelSpeeds.rightMetersPerSecond;
+    double leftSpeedSetpoint = m_leftSpeedSetpoint;
+    double rightSpeedSetpoint = m_rightSpeedSetpoint;
 
     // Shows the speed we want the wheels to be at
-    Dashboard.setValue("Left-Speed-Setpoint", leftSpeedSetpoint);
-    Dashboard.setValue("Right-Speed-Setpoint", rightSpeedSetpoint);
+    m_leftSetpointEntry.set(leftSpeedSetpoint);
+    m_rightSetpointEntry.set(rightSpeedSetpoint);
 
     //Adds the expected current position to the dashboard
-    getExpectedPose(sampledState);
+    getExpectedPose(m_sample);
 
     // Shows the translational and rotational values on the dashboard
-    Dashboard.setValue("Translational-Pose-X", m_pose.get().getTranslation().getX());
-    Dashboard.setValue("Translational-Pose-Y", m_pose.get().getTranslation().getY());
+    m_poseXEntry.set(pose.getTranslation().getX());
+    m_poseYEntry.set(pose.getTranslation().getY());
+
+    // Speed of the robot, the reference speed stands in when there is nothing measuring it
+    double velocity = m_sample.velocityMetersPerSecond;
 
     double leftOutput;
     double rightOutput;
@@ -198,18 +289,21 @@ public class RamseteCommand extends CommandBase {
     if (m_usePID) {
       double leftFeedforward =
           m_feedforward.calculate(leftSpeedSetpoint,
-              (leftSpeedSetpoint - m_prevSpeeds.leftMetersPerSecond) / dt);
+              (leftSpeedSetpoint - m_prevLeftSpeed) / dt);
 
       double rightFeedforward =
           m_feedforward.calculate(rightSpeedSetpoint,
-              (rightSpeedSetpoint - m_prevSpeeds.rightMetersPerSecond) / dt);
+              (rightSpeedSetpoint - m_prevRightSpeed) / dt);
+
+      DifferentialDriveWheelSpeeds speeds = m_speeds.get();
+      velocity = (speeds.leftMetersPerSecond + speeds.rightMetersPerSecond) / 2;
 
       leftOutput = leftFeedforward
-          + m_leftController.calculate(m_speeds.get().leftMetersPerSecond,
+          + m_leftController.calculate(speeds.leftMetersPerSecond,
           leftSpeedSetpoint);
 
       rightOutput = rightFeedforward
-          + m_rightController.calculate(m_speeds.get().rightMetersPerSecond,
+          + m_rightController.calculate(speeds.rightMetersPerSecond,
           rightSpeedSetpoint);
     } else {
       leftOutput = leftSpeedSetpoint;
@@ -217,36 +311,49 @@ public class RamseteCommand extends CommandBase {
     }
 
     // Shows the values for the wheel output
-    Dashboard.setValue("Left-Wheel-Output", leftOutput);
-    Dashboard.setValue("Right-Wheel-Output", rightOutput);
-
+    m_leftOutputEntry.set(leftOutput);
+    m_rightOutputEntry.set(rightOutput);
 
-    Dashboard.setValue("Rotational-Pose", m_pose.get().getRotation().getDegrees());
 
-    Dashboard.setTable("SmartDashboard");
+    m_rotationEntry.set(pose.getRotation().getDegrees());
 
     m_output.accept(leftOutput, rightOutput);
 
+    if (m_replanner != null) {
+      m_replanner.check(curTime, m_trajectory.getTotalTimeSeconds(), pose.getTranslation().getX(),
+          pose.getTranslation().getY(), pose.getRotation().getRadians(), velocity, m_sample);
+    }
+
     m_prevTime = curTime;
-    m_prevSpeeds = targetWheelSpeeds;
+    m_prevLeftSpeed = leftSpeedSetpoint;
+    m_prevRightSpeed = rightSpeedSetpoint;
+  }
+
+  /**
+   * Turns chassis speeds into wheel speeds, the same as DifferentialDriveKinematics.toWheelSpeeds()
+   */
+  private void setWheelSpeeds(double linearMetersPerSecond, double angularRadiansPerSecond) {
+    m_leftSpeedSetpoint = linearMetersPerSecond - m_kinematics.trackWidthMeters / 2 * angularRadiansPerSecond;
+    m_rightSpeedSetpoint = linearMetersPerSecond + m_kinematics.trackWidthMeters / 2 * angularRadiansPerSecond;
   }
 
   /**
    * Adds the expected pose coords to the dashboard
    */
-  private void getExpectedPose(State state){
+  private void getExpectedPose(TrajectorySample state){
 
-    Dashboard.setValue("Expected-State-X", state.poseMeters.getTranslation().getX());
-    Dashboard.setValue("Expected-State-Y", state.poseMeters.getTranslation().getY());
+    m_expectedXEntry.set(state.xMeters);
+    m_expectedYEntry.set(state.yMeters);
   }
 
   @Override
   public void end(boolean interrupted) {
     m_timer.stop();
+    m_frame.pathActive = false;
   }
 
   @Override
   public boolean isFinished() {
-    return m_timer.hasPeriodPassed(m_trajectory.getTotalTimeSeconds());
+    return m_timer.get() - m_startTime >= m_trajectory.getTotalTimeSeconds();
   }
 }
@@ -0,0 +1,395 @@
+package frc.robot.Utilities.Control.RAMSETE;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.controller.PIDController;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+/**
+ * Follows a trajectory on its own Notifier thread, faster than the 20ms robot loop.
+ * Each update reads the encoders and gyro straight from the hardware, keeps its own odometry, then runs the RAMSETE
+ * law, feedforward and wheel PIDs and sets the motor voltages, so nothing waits on the scheduler, dashboard or
+ * logging. The command that owns it only starts it at the beginning of a path and stops it at the end.
+ *
+ * update() can also be called directly with a simulated time, which is how it is tested off the robot
+ */
+public class RamseteFollower {
+
+    // 200Hz
+    public static final double DEFAULT_PERIOD = 0.005;
+
+    /**
+     * Where the follower reads the drive train from, these are called from the follower thread
+     */
+    public interface Sensors {
+
+        /**
+         * Distance the left side has driven in meters, positive is along the path
+         */
+        double readLeftDistanceMeters();
+
+        /**
+         * Distance the right side has driven in meters, positive is along the path
+         */
+        double readRightDistanceMeters();
+
+        /**
+         * Speed of the left side in meters per second
+         */
+        double readLeftRateMetersPerSecond();
+
+        /**
+         * Speed of the right side in meters per second
+         */
+        double readRightRateMetersPerSecond();
+
+        /**
+         * The heading in degrees, counter clockwise positive
+         */
+        double readHeadingDegrees();
+    }
+
+    /**
+     * Where the follower sends the motor voltages
+     */
+    public interface Output {
+        void setVolts(double leftVolts, double rightVolts);
+    }
+
+    private final SampledTrajectory originalTrajectory;
+    private final RamseteLaw law;
+    private final SimpleMotorFeedforward feedforward;
+    private final PIDController leftController;
+    private final PIDController rightController;
+    private final double trackWidthMeters;
+    private final Sensors sensors;
+    private final Output output;
+    private final double periodSeconds;
+
+    private final TrajectorySample sample = new TrajectorySample();
+
+    // What is being followed, replaced when the replanner makes a new trajectory
+    private SampledTrajectory trajectory;
+    private TrajectoryReplanner replanner;
+
+    // Only exists while following so a finished path doesn't keep a HAL notifier around
+    private Notifier notifier;
+    private boolean running;
+    private volatile boolean finished;
+
+    private double startTime;
+    private double prevTime;
+    private double prevLeftSpeed;
+    private double prevRightSpeed;
+
+    // Odometry, only touched by update() and reset()
+    private double prevLeftDistance;
+    private double prevRightDistance;
+    private double headingOffset;
+    private double x;
+    private double y;
+    private double heading;
+
+    // Copies of the last update for the dashboard, which reads them from another thread
+    private volatile double poseX;
+    private volatile double poseY;
+    private volatile double poseHeading;
+    private volatile double expectedX;
+    private volatile double expectedY;
+    private volatile double leftVolts;
+    private volatile double rightVolts;
+
+    // How far the robot has been from where it should be
+    private volatile double errorMeters;
+    private volatile double maxErrorMeters;
+    private double errorSquaredSum;
+    private int updateCount;
+
+    /**
+     * @param trajectory       the trajectory to follow
+     * @param law              the RAMSETE law
+     * @param feedforward      the drive train feedforward
+     * @param leftController   velocity PID for the left side
+     * @param rightController  velocity PID for the right side
+     * @param trackWidthMeters the distance between the left and right wheels
+     * @param sensors          where to read the encoders and gyro
+     * @param output           where to send the voltages
+     * @param periodSeconds    time between updates when started
+     */
+    public RamseteFollower(Trajectory trajectory, RamseteLaw law, SimpleMotorFeedforward feedforward,
+            PIDController leftController, PIDController rightController, double trackWidthMeters,
+            Sensors sensors, Output output, double periodSeconds) {
+        this.originalTrajectory = new SampledTrajectory(trajectory, Math.min(periodSeconds, SampledTrajectory.DEFAULT_DT));
+        this.trajectory = originalTrajectory;
+        this.law = law;
+        this.feedforward = feedforward;
+        this.leftController = leftController;
+        this.rightController = rightController;
+        this.trackWidthMeters = trackWidthMeters;
+        this.sensors = sensors;
+        this.output = output;
+        this.periodSeconds = periodSeconds;
+    }
+
+    /**
+     * Replan from where the robot is if it gets pushed off the trajectory
+     *
+     * @param replanner the replanner, or null to always follow the original trajectory
+     */
+    public synchronized void setReplanner(TrajectoryReplanner replanner) {
+        this.replanner = replanner;
+    }
+
+    /**
+     * Start following from a pose on the follower thread
+     *
+     * @param startPose where the robot is now
+     */
+    public synchronized void start(Pose2d startPose) {
+        if (notifier != null)
+            return;
+
+        reset(startPose, Timer.getFPGATimestamp());
+        running = true;
+
+        notifier = new Notifier(this::tick);
+        notifier.setName("RAMSETE-Follower");
+        notifier.startPeriodic(periodSeconds);
+    }
+
+    /**
+     * Stop the follower thread, once this returns no more voltages will be set
+     */
+    public void stop() {
+        Notifier stopping;
+        synchronized (this) {
+            running = false;
+            stopping = notifier;
+            notifier = null;
+        }
+
+        // Closing waits for the thread, which could be waiting on the lock to find out it isn't running
+        if (stopping != null) {
+            stopping.stop();
+            stopping.close();
+        }
+    }
+
+    /**
+     * Called by the follower thread, a call that was already waiting when stop() ran does nothing
+     */
+    private synchronized void tick() {
+        if (running)
+            update(Timer.getFPGATimestamp());
+    }
+
+    /**
+     * Set where the robot is and take the current encoder and gyro values as the starting point
+     *
+     * @param startPose   where the robot is now
+     * @param timeSeconds the time the path starts at
+     */
+    public synchronized void reset(Pose2d startPose, double timeSeconds) {
+        x = startPose.getTranslation().getX();
+        y = startPose.getTranslation().getY();
+        heading = startPose.getRotation().getRadians();
+        headingOffset = heading - Math.toRadians(sensors.readHeadingDegrees());
+        prevLeftDistance = sensors.readLeftDistanceMeters();
+        prevRightDistance = sensors.readRightDistanceMeters();
+
+        startTime = timeSeconds;
+        prevTime = 0;
+
+        trajectory = originalTrajectory;
+        if (replanner != null)
+            replanner.start(trajectory);
+
+        // Start from the wheel speeds of the first state so the feedforward doesn't see a jump
+        trajectory.sample(0, sample);
+        double turn = sample.velocityMetersPerSecond * sample.curvatureRadPerMeter * trackWidthMeters / 2;
+        prevLeftSpeed = sample.velocityMetersPerSecond - turn;
+        prevRightSpeed = sample.velocityMetersPerSecond + turn;
+
+        leftController.reset();
+        rightController.reset();
+
+        finished = false;
+        maxErrorMeters = 0;
+        errorSquaredSum = 0;
+        updateCount = 0;
+    }
+
+    /**
+     * Run one step of the follower, called by the follower thread or by a simulation
+     *
+     * @param timeSeconds the current time, on the same clock given to reset()
+     */
+    public synchronized void update(double timeSeconds) {
+        updateOdometry();
+
+        double curTime = timeSeconds - startTime;
+
+        // Switch to a replanned trajectory once the robot gets to where it starts, its time starts from there
+        if (replanner != null) {
+            TrajectoryReplanner.Replan replan = replanner.poll(curTime);
+            if (replan != null) {
+                trajectory = replan.trajectory;
+                startTime += replan.startTimeSeconds;
+                prevTime -= replan.startTimeSeconds;
+                curTime -= replan.startTimeSeconds;
+            }
+        }
+
+        double dt = curTime - prevTime;
+
+        trajectory.sample(curTime, sample);
+        law.calculate(x, y, heading, sample);
+
+        double turn = law.angularRadiansPerSecond * trackWidthMeters / 2;
+        double leftSpeedSetpoint = law.linearMetersPerSecond - turn;
+        double rightSpeedSetpoint = law.linearMetersPerSecond + turn;
+
+        // The first update can land on the same time as the reset
+        double leftAcceleration = dt > 0 ? (leftSpeedSetpoint - prevLeftSpeed) / dt : 0;
+        double rightAcceleration = dt > 0 ? (rightSpeedSetpoint - prevRightSpeed) / dt : 0;
+
+        double leftRate = sensors.readLeftRateMetersPerSecond();
+        double rightRate = sensors.readRightRateMetersPerSecond();
+
+        double left = feedforward.calculate(leftSpeedSetpoint, leftAcceleration)
+                + leftController.calculate(leftRate, leftSpeedSetpoint);
+        double right = feedforward.calculate(rightSpeedSetpoint, rightAcceleration)
+                + rightController.calculate(rightRate, rightSpeedSetpoint);
+
+        output.setVolts(left, right);
+
+        prevTime = curTime;
+        prevLeftSpeed = leftSpeedSetpoint;
+        prevRightSpeed = rightSpeedSetpoint;
+
+        if (replanner != null)
+            replanner.check(curTime, trajectory.getTotalTimeSeconds(), x, y, heading, (leftRate + rightRate) / 2, sample);
+
+        double error = Math.hypot(sample.xMeters - x, sample.yMeters - y);
+        errorSquaredSum += error * error;
+        updateCount++;
+        if (error > maxErrorMeters)
+            maxErrorMeters = error;
+
+        errorMeters = error;
+        poseX = x;
+        poseY = y;
+        poseHeading = heading;
+        expectedX = sample.xMeters;
+        expectedY = sample.yMeters;
+        leftVolts = left;
+        rightVolts = right;
+
+        if (curTime >= trajectory.getTotalTimeSeconds())
+            finished = true;
+    }
+
+    /**
+     * Moves the pose along by how far the wheels and gyro say the robot went since the last update, the same as
+     * DifferentialDriveOdometry.update() without making a new Pose2d
+     */
+    private void updateOdometry() {
+        double leftDistance = sensors.readLeftDistanceMeters();
+        double rightDistance = sensors.readRightDistanceMeters();
+        double angle = Math.toRadians(sensors.readHeadingDegrees()) + headingOffset;
+
+        double distance = ((leftDistance - prevLeftDistance) + (rightDistance - prevRightDistance)) / 2;
+        double dTheta = Math.IEEEremainder(angle - heading, 2 * Math.PI);
+
+        // Drive along an arc rather than a straight line between updates
+        double s;
+        double c;
+        if (Math.abs(dTheta) < 1e-9) {
+            s = 1.0 - dTheta * dTheta / 6.0;
+            c = 0.5 * dTheta;
+        } else {
+            s = Math.sin(dTheta) / dTheta;
+            c = (1 - Math.cos(dTheta)) / dTheta;
+        }
+
+        double forward = distance * s;
+        double sideways = distance * c;
+        double cos = Math.cos(heading);
+        double sin = Math.sin(heading);
+
+        x += forward * cos - sideways * sin;
+        y += forward * sin + sideways * cos;
+        heading = angle;
+
+        prevLeftDistance = leftDistance;
+        prevRightDistance = rightDistance;
+    }
+
+    /**
+     * Whether or not the end of the trajectory has been reached
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Get the length of the original trajectory in seconds
+     */
+    public double getTotalTimeSeconds() {
+        return originalTrajectory.getTotalTimeSeconds();
+    }
+
+    public double getPoseX() {
+        return poseX;
+    }
+
+    public double getPoseY() {
+        return poseY;
+    }
+
+    /**
+     * Get the heading from the follower's odometry in radians
+     */
+    public double getPoseHeading() {
+        return poseHeading;
+    }
+
+    public double getExpectedX() {
+        return expectedX;
+    }
+
+    public double getExpectedY() {
+        return expectedY;
+    }
+
+    public double getLeftVolts() {
+        return leftVolts;
+    }
+
+    public double getRightVolts() {
+        return rightVolts;
+    }
+
+    /**
+     * Get the distance between the robot and where it should be at the last update
+     */
+    public double getErrorMeters() {
+        return errorMeters;
+    }
+
+    /**
+     * Get the largest distance the robot has been from where it should be since the path started
+     */
+    public double getMaxErrorMeters() {
+        return maxErrorMeters;
+    }
+
+    /**
+     * Get the RMS distance the robot has been from where it should be since the path started
+     */
+    public synchronized double getRmsErrorMeters() {
+        return updateCount == 0 ? 0 : Math.sqrt(errorSquaredSum / updateCount);
+    }
+}
@@ -0,0 +1,57 @@
+package frc.robot.Utilities.Control.RAMSETE;
+
+/**
+ * The RAMSETE control law from WPILib's RamseteController written out with doubles, so following a path doesn't
+ * allocate a Pose2d and ChassisSpeeds every loop.
+ * calculate() leaves the speeds to drive at in the velocity fields
+ */
+public class RamseteLaw {
+
+    private final double b;
+    private final double zeta;
+
+    // Speeds from the last call to calculate()
+    public double linearMetersPerSecond;
+    public double angularRadiansPerSecond;
+
+    /**
+     * @param b    tuning parameter (b > 0) for which larger values make convergence more aggressive
+     * @param zeta tuning parameter (0 < zeta < 1) for which larger values provide more damping
+     */
+    public RamseteLaw(double b, double zeta) {
+        this.b = b;
+        this.zeta = zeta;
+    }
+
+    /**
+     * Works out the speeds that bring the robot back onto the trajectory
+     *
+     * @param xMeters        where the robot is
+     * @param yMeters        where the robot is
+     * @param headingRadians which way the robot is facing
+     * @param reference      where the robot should be
+     */
+    public void calculate(double xMeters, double yMeters, double headingRadians, TrajectorySample reference) {
+        double cos = Math.cos(headingRadians);
+        double sin = Math.sin(headingRadians);
+        double dx = reference.xMeters - xMeters;
+        double dy = reference.yMeters - yMeters;
+
+        // Error in the robot's frame
+        double errorX = cos * dx + sin * dy;
+        double errorY = -sin * dx + cos * dy;
+        double errorTheta = Math.IEEEremainder(reference.headingRadians - headingRadians, 2 * Math.PI);
+
+        double velocityRef = reference.velocityMetersPerSecond;
+        double omegaRef = velocityRef * reference.curvatureRadPerMeter;
+
+        double k = 2 * zeta * Math.sqrt(omegaRef * omegaRef + b * velocityRef * velocityRef);
+
+        linearMetersPerSecond = velocityRef * Math.cos(errorTheta) + k * errorX;
+        angularRadiansPerSecond = omegaRef + k * errorTheta + b * velocityRef * sinc(errorTheta) * errorY;
+    }
+
+    private static double sinc(double x) {
+        return Math.abs(x) < 1e-9 ? 1.0 - x * x / 6.0 : Math.sin(x) / x;
+    }
+}
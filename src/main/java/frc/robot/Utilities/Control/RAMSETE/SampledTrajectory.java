@@ -0,0 +1,116 @@
+package frc.robot.Utilities.Control.RAMSETE;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+
+/**
+ * A trajectory resampled at a fixed time step with each value in its own array.
+ * Looking up a time is an index and a linear interpolation between two samples rather than a binary search, and
+ * the result is written into a TrajectorySample the caller owns so nothing is allocated
+ */
+public class SampledTrajectory {
+
+    // Small enough that interpolating between samples is within a millimeter of sampling the trajectory
+    public static final double DEFAULT_DT = 0.005;
+
+    private final double dt;
+    private final double totalTimeSeconds;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] heading;
+    private final double[] velocity;
+    private final double[] acceleration;
+    private final double[] curvature;
+
+    /**
+     * Resample a trajectory every 5 ms
+     *
+     * @param trajectory the trajectory
+     */
+    public SampledTrajectory(Trajectory trajectory) {
+        this(trajectory, DEFAULT_DT);
+    }
+
+    /**
+     * Resample a trajectory
+     *
+     * @param trajectory the trajectory
+     * @param dt         the time between samples in seconds
+     */
+    public SampledTrajectory(Trajectory trajectory, double dt) {
+        this.dt = dt;
+        this.totalTimeSeconds = trajectory.getTotalTimeSeconds();
+
+        // One extra sample so the end of the trajectory is always in the table
+        int count = (int) Math.ceil(totalTimeSeconds / dt) + 1;
+        x = new double[count];
+        y = new double[count];
+        heading = new double[count];
+        velocity = new double[count];
+        acceleration = new double[count];
+        curvature = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            Trajectory.State state = trajectory.sample(Math.min(i * dt, totalTimeSeconds));
+
+            x[i] = state.poseMeters.getTranslation().getX();
+            y[i] = state.poseMeters.getTranslation().getY();
+            velocity[i] = state.velocityMetersPerSecond;
+            acceleration[i] = state.accelerationMetersPerSecondSq;
+            curvature[i] = state.curvatureRadPerMeter;
+
+            // Keep the heading continuous so interpolating never goes the long way around
+            double angle = state.poseMeters.getRotation().getRadians();
+            if (i > 0)
+                angle = heading[i - 1] + Math.IEEEremainder(angle - heading[i - 1], 2 * Math.PI);
+            heading[i] = angle;
+        }
+    }
+
+    /**
+     * Find where the robot should be at a time
+     *
+     * @param timeSeconds the time since the start of the trajectory, clamped to the start and end
+     * @param sample      filled in with the state at that time
+     */
+    public void sample(double timeSeconds, TrajectorySample sample) {
+        double t = Math.max(0, Math.min(timeSeconds, totalTimeSeconds));
+        double position = t / dt;
+
+        int i = Math.min((int) position, x.length - 2);
+        double fraction = position - i;
+
+        // A trajectory with only one sample
+        if (i < 0) {
+            i = 0;
+            fraction = 0;
+        }
+        int next = Math.min(i + 1, x.length - 1);
+
+        sample.timeSeconds = t;
+        sample.xMeters = lerp(x[i], x[next], fraction);
+        sample.yMeters = lerp(y[i], y[next], fraction);
+        sample.headingRadians = lerp(heading[i], heading[next], fraction);
+        sample.velocityMetersPerSecond = lerp(velocity[i], velocity[next], fraction);
+        sample.accelerationMetersPerSecondSq = lerp(acceleration[i], acceleration[next], fraction);
+        sample.curvatureRadPerMeter = lerp(curvature[i], curvature[next], fraction);
+    }
+
+    /**
+     * Get the length of the trajectory in seconds
+     */
+    public double getTotalTimeSeconds() {
+        return totalTimeSeconds;
+    }
+
+    /**
+     * Get the time between samples in seconds
+     */
+    public double getDt() {
+        return dt;
+    }
+
+    private static double lerp(double start, double end, double fraction) {
+        return start + (end - start) * fraction;
+    }
+}
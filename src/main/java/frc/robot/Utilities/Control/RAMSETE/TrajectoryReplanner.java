@@ -0,0 +1,204 @@
+package frc.robot.Utilities.Control.RAMSETE;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import frc.robot.Utilities.Logging.LogLevel;
+import frc.robot.Utilities.Logging.LogSite;
+import frc.robot.Utilities.Logging.Logger;
+
+/**
+ * Makes a new trajectory when the robot gets pushed too far off the one it is following.
+ * The follower calls check() every update, once the robot is further than the threshold from where it should be a
+ * trajectory from where the robot will be a little later to the original goal is generated on a worker thread. The
+ * follower keeps driving the old trajectory until it reaches the time the new one starts at, then poll() hands it
+ * over so the switch happens between two updates and never part way through one
+ */
+public class TrajectoryReplanner {
+
+    private static final LogSite replanLog = Logger.site("Trajectory-Replan", LogLevel.WARN, 0.5, "Error:", "Start Time:");
+    private static final LogSite failedLog = Logger.site("Trajectory-Replan-Failed", LogLevel.WARN, 0.5);
+
+    // Don't bother replanning when this close to the end
+    private static final double MIN_REMAINING_SECONDS = 0.5;
+
+    // A new trajectory has to start this close to where it was asked to, otherwise the generator gave up
+    private static final double MAX_START_ERROR_METERS = 0.05;
+
+    // Shared worker, replanning is rare and one at a time is plenty
+    private static ExecutorService executor;
+
+    /**
+     * A new trajectory and the time on the old one that it takes over at
+     */
+    public static class Replan {
+        public final SampledTrajectory trajectory;
+        public final double startTimeSeconds;
+
+        Replan(SampledTrajectory trajectory, double startTimeSeconds) {
+            this.trajectory = trajectory;
+            this.startTimeSeconds = startTimeSeconds;
+        }
+    }
+
+    private final TrajectoryConfig config;
+    private final double thresholdMeters;
+    private final double lookaheadSeconds;
+
+    // Where the original trajectory ends, set by start()
+    private Pose2d goal;
+    private double goalVelocity;
+
+    private final AtomicBoolean planning = new AtomicBoolean();
+    private final AtomicReference<Replan> pending = new AtomicReference<>();
+
+    private int replanCount;
+
+    /**
+     * @param config           the config the original trajectory was made with, new ones are made the same way
+     * @param thresholdMeters  how far off the trajectory the robot has to be before replanning
+     * @param lookaheadSeconds how far ahead of the robot the new trajectory starts, enough time to generate it
+     */
+    public TrajectoryReplanner(TrajectoryConfig config, double thresholdMeters, double lookaheadSeconds) {
+        this.config = config;
+        this.thresholdMeters = thresholdMeters;
+        this.lookaheadSeconds = lookaheadSeconds;
+    }
+
+    /**
+     * Set the trajectory being followed, called when the follower starts
+     *
+     * @param trajectory the original trajectory
+     */
+    public void start(SampledTrajectory trajectory) {
+        TrajectorySample end = new TrajectorySample();
+        trajectory.sample(trajectory.getTotalTimeSeconds(), end);
+
+        goal = new Pose2d(end.xMeters, end.yMeters, new Rotation2d(end.headingRadians));
+        goalVelocity = Math.abs(end.velocityMetersPerSecond);
+
+        pending.set(null);
+        replanCount = 0;
+    }
+
+    /**
+     * Start replanning if the robot is too far from where it should be, called by the follower every update
+     *
+     * @param timeSeconds    time along the trajectory being followed
+     * @param totalSeconds   length of the trajectory being followed
+     * @param xMeters        where the robot is
+     * @param yMeters        where the robot is
+     * @param headingRadians which way the robot is facing
+     * @param velocity       how fast the robot is going in meters per second
+     * @param reference      where the robot should be
+     */
+    public void check(double timeSeconds, double totalSeconds, double xMeters, double yMeters, double headingRadians,
+            double velocity, TrajectorySample reference) {
+        double error = Math.hypot(reference.xMeters - xMeters, reference.yMeters - yMeters);
+        if (error < thresholdMeters || totalSeconds - timeSeconds < MIN_REMAINING_SECONDS + lookaheadSeconds)
+            return;
+
+        // Only one at a time, and not again until the last one has been handed over
+        if (pending.get() != null || !planning.compareAndSet(false, true))
+            return;
+
+        // Guess where the robot will be when the new trajectory takes over, turning like the reference is
+        double speed = Math.abs(velocity) * (config.isReversed() ? -1 : 1);
+        double turn = speed * reference.curvatureRadPerMeter * lookaheadSeconds;
+        double distance = speed * lookaheadSeconds;
+        double heading = headingRadians + turn / 2;
+        Pose2d start = new Pose2d(xMeters + distance * Math.cos(heading), yMeters + distance * Math.sin(heading),
+                new Rotation2d(headingRadians + turn));
+
+        double startTime = timeSeconds + lookaheadSeconds;
+        double startVelocity = Math.min(Math.abs(velocity), config.getMaxVelocity());
+
+        Logger.log(replanLog, error, startTime);
+
+        getExecutor().execute(() -> {
+            try {
+                Trajectory trajectory = generate(start, startVelocity);
+                if (trajectory != null)
+                    pending.set(new Replan(new SampledTrajectory(trajectory), startTime));
+                else
+                    Logger.log(failedLog);
+            } finally {
+                planning.set(false);
+            }
+        });
+    }
+
+    /**
+     * Get the new trajectory once the follower has reached the time it takes over at, called by the follower at the
+     * start of every update
+     *
+     * @param timeSeconds time along the trajectory being followed
+     * @return the new trajectory, or null to keep following the current one
+     */
+    public Replan poll(double timeSeconds) {
+        Replan replan = pending.get();
+        if (replan == null || timeSeconds < replan.startTimeSeconds)
+            return null;
+
+        if (!pending.compareAndSet(replan, null))
+            return null;
+
+        replanCount++;
+        return replan;
+    }
+
+    /**
+     * Whether or not a new trajectory is being generated
+     */
+    public boolean isPlanning() {
+        return planning.get();
+    }
+
+    /**
+     * Get how many times the trajectory has been replaced since the follower started
+     */
+    public int getReplanCount() {
+        return replanCount;
+    }
+
+    /**
+     * Makes a trajectory from a pose to the goal, null if there isn't a sensible one
+     */
+    private Trajectory generate(Pose2d start, double startVelocity) {
+        if (start.getTranslation().getDistance(goal.getTranslation()) < thresholdMeters)
+            return null;
+
+        TrajectoryConfig replanConfig = new TrajectoryConfig(config.getMaxVelocity(), config.getMaxAcceleration())
+                .addConstraints(config.getConstraints())
+                .setReversed(config.isReversed())
+                .setStartVelocity(startVelocity)
+                .setEndVelocity(goalVelocity);
+
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(start, List.of(), goal, replanConfig);
+
+        // The generator hands back an empty trajectory when the spline can't be made
+        if (trajectory.getTotalTimeSeconds() <= 0 || trajectory.sample(0).poseMeters.getTranslation().getDistance(start.getTranslation()) > MAX_START_ERROR_METERS)
+            return null;
+
+        return trajectory;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Trajectory-Replanner");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,15 @@
+package frc.robot.Utilities.Control.RAMSETE;
+
+/**
+ * One point on a trajectory stored as plain doubles so the follower can reuse the same object every loop instead
+ * of allocating a Trajectory.State and Pose2d
+ */
+public class TrajectorySample {
+    public double timeSeconds;
+    public double xMeters;
+    public double yMeters;
+    public double headingRadians;
+    public double velocityMetersPerSecond;
+    public double accelerationMetersPerSecondSq;
+    public double curvatureRadPerMeter;
+}
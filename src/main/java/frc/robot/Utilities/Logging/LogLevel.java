@@ -0,0 +1,13 @@
+package frc.robot.Utilities.Logging;
+
+/**
+ * How important a log message is, messages below the logger's current level are thrown away
+ * DEBUG - Values that are only useful while tuning
+ * INFO - Normal status messages
+ * WARN - Something is wrong but the robot can keep going
+ * ERROR - Something is broken
+ * OFF - Used as the logger level to turn off all output
+ */
+public enum LogLevel{
+    DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,133 @@
+package frc.robot.Utilities.Logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size lock free queue of log records, any number of threads can add records and one thread reads them.
+ * Records are stored as primitives in arrays that are created up front so adding one never allocates,
+ * if the buffer is full the record is dropped rather than making the robot loop wait
+ */
+public class LogRingBuffer {
+
+    // Most values a single record can hold
+    public static final int MAX_VALUES = 3;
+
+    /**
+     * Called for each record when the buffer is drained
+     */
+    public interface RecordHandler {
+        void onRecord(int siteId, long timeNanos, int valueCount, double value0, double value1, double value2);
+    }
+
+    private final int capacity;
+    private final int mask;
+
+    // Sequence number of the next record to be claimed by a writer
+    private final AtomicLong head = new AtomicLong(0);
+
+    // Sequence number of the next record to be read, only changed by the reading thread
+    private volatile long tail = 0;
+
+    // Holds sequence + 1 for a slot once the record in it has been fully written
+    private final AtomicLongArray published;
+
+    // Record storage
+    private final int[] siteIds;
+    private final long[] times;
+    private final int[] valueCounts;
+    private final double[] values;
+
+    // Number of records thrown away because the buffer was full
+    private final AtomicLong dropped = new AtomicLong(0);
+
+    /**
+     * Create the buffer
+     *
+     * @param capacity the number of records it can hold, rounded up to a power of 2
+     */
+    public LogRingBuffer(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        mask = this.capacity - 1;
+
+        published = new AtomicLongArray(this.capacity);
+        siteIds = new int[this.capacity];
+        times = new long[this.capacity];
+        valueCounts = new int[this.capacity];
+        values = new double[this.capacity * MAX_VALUES];
+    }
+
+    /**
+     * Add a record to the buffer
+     *
+     * @return false if the buffer was full and the record was dropped
+     */
+    public boolean offer(int siteId, long timeNanos, int valueCount, double value0, double value1, double value2) {
+        long sequence;
+
+        // Claim the next slot, giving up if the reader hasn't caught up
+        do {
+            sequence = head.get();
+            if (sequence - tail >= capacity) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) (sequence & mask);
+        siteIds[index] = siteId;
+        times[index] = timeNanos;
+        valueCounts[index] = valueCount;
+        values[index * MAX_VALUES] = value0;
+        values[index * MAX_VALUES + 1] = value1;
+        values[index * MAX_VALUES + 2] = value2;
+
+        // Let the reader know the slot is ready
+        published.lazySet(index, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Read every record that is ready, only call from one thread
+     *
+     * @param handler called for each record in the order they were added
+     * @return the number of records read
+     */
+    public int drain(RecordHandler handler) {
+        int count = 0;
+        long next = tail;
+
+        while (true) {
+            int index = (int) (next & mask);
+
+            // Stop at the first slot that hasn't been finished yet
+            if (published.get(index) != next + 1)
+                break;
+
+            handler.onRecord(siteIds[index], times[index], valueCounts[index], values[index * MAX_VALUES],
+                    values[index * MAX_VALUES + 1], values[index * MAX_VALUES + 2]);
+
+            next++;
+            count++;
+
+            // Free the slot for the writers
+            tail = next;
+        }
+
+        return count;
+    }
+
+    /**
+     * Get and clear the number of dropped records
+     */
+    public long takeDroppedCount() {
+        return dropped.getAndSet(0);
+    }
+
+    /**
+     * Get the number of records the buffer can hold
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
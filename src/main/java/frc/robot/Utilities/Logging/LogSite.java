@@ -0,0 +1,54 @@
+package frc.robot.Utilities.Logging;
+
+/**
+ * A single place in the code that logs, created once with Logger.site() and then reused every loop.
+ * Holds the text of the message so only the numbers have to be passed when logging
+ */
+public class LogSite {
+
+    // Index of this site in the logger's list of sites
+    final int id;
+
+    // Name printed at the start of every message
+    final String name;
+
+    // Importance of the message
+    final LogLevel level;
+
+    // Text printed before each value
+    final String[] labels;
+
+    // Shortest time allowed between two messages from this site
+    final long minPeriodNanos;
+
+    // Time of the last message that was let through
+    long lastLogNanos;
+
+    /**
+     * Created through Logger.site()
+     */
+    LogSite(int id, String name, LogLevel level, double minPeriodSeconds, String[] labels) {
+        this.id = id;
+        this.name = name;
+        this.level = level;
+        this.labels = labels;
+        this.minPeriodNanos = (long) (minPeriodSeconds * 1e9);
+
+        // Let the very first message through
+        lastLogNanos = Long.MIN_VALUE / 2;
+    }
+
+    /**
+     * Get the name of the site
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the level messages from this site are logged at
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,208 @@
+package frc.robot.Utilities.Logging;
+
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import frc.robot.Communication.Dashboard.Dashboard;
+
+/**
+ * Console logger that is safe to call from the robot loop.
+ * Messages are stored as numbers in a ring buffer and a low priority background thread turns them into text
+ * and prints them, so the loop never waits on the netconsole. Each call site is rate limited on its own and
+ * the level can be changed from the dashboard while the robot is running
+ */
+public class Logger {
+
+    // Most sites that can be registered
+    private static final int MAX_SITES = 256;
+
+    // Time the drain thread waits between passes in milliseconds
+    private static final long DRAIN_PERIOD_MS = 20;
+
+    // Every registered site, indexed by its ID
+    private static final LogSite[] sites = new LogSite[MAX_SITES];
+    private static int siteCount = 0;
+
+    // Records waiting to be printed
+    private static final LogRingBuffer buffer = new LogRingBuffer(1024);
+
+    // Lowest level that gets logged
+    private static volatile LogLevel currentLevel = LogLevel.INFO;
+
+    // Time the logger was loaded, message times are printed relative to this
+    private static final long startNanos = System.nanoTime();
+
+    // Background thread that prints the messages
+    private static Thread drainThread;
+
+    // Dashboard selector for the log level
+    private static SendableChooser<LogLevel> levelChooser;
+
+    // Reused by the drain thread to build each line
+    private static final StringBuilder line = new StringBuilder(256);
+
+    /**
+     * Register a place in the code that logs, store the result in a static field and reuse it
+     *
+     * @param name             name printed at the start of the message
+     * @param level            importance of the message
+     * @param minPeriodSeconds shortest time allowed between two messages from this site, 0 for no limit
+     * @param labels           text printed before each value, one per value
+     * @return the site to pass to log()
+     */
+    public static synchronized LogSite site(String name, LogLevel level, double minPeriodSeconds, String... labels) {
+        if (siteCount >= MAX_SITES) {
+            throw new IllegalStateException("Cannot register more than " + MAX_SITES + " log sites");
+        }
+        if (labels.length > LogRingBuffer.MAX_VALUES) {
+            throw new IllegalArgumentException("A log site can have at most " + LogRingBuffer.MAX_VALUES + " values");
+        }
+
+        LogSite site = new LogSite(siteCount, name, level, minPeriodSeconds, labels);
+        sites[siteCount] = site;
+        siteCount++;
+
+        return site;
+    }
+
+    /**
+     * Log a message with no values
+     */
+    public static void log(LogSite site) {
+        record(site, 0, 0, 0, 0);
+    }
+
+    /**
+     * Log a message with one value
+     */
+    public static void log(LogSite site, double value0) {
+        record(site, 1, value0, 0, 0);
+    }
+
+    /**
+     * Log a message with two values
+     */
+    public static void log(LogSite site, double value0, double value1) {
+        record(site, 2, value0, value1, 0);
+    }
+
+    /**
+     * Log a message with three values
+     */
+    public static void log(LogSite site, double value0, double value1, double value2) {
+        record(site, 3, value0, value1, value2);
+    }
+
+    /**
+     * Checks the level and rate limit and then adds the record to the buffer
+     */
+    private static void record(LogSite site, int valueCount, double value0, double value1, double value2) {
+
+        // Throw away anything below the current level
+        if (site.level.ordinal() < currentLevel.ordinal())
+            return;
+
+        long now = System.nanoTime();
+
+        // Only let the message through if enough time has passed since the last one from this site
+        if (now - site.lastLogNanos < site.minPeriodNanos)
+            return;
+        site.lastLogNanos = now;
+
+        buffer.offer(site.id, now - startNanos, valueCount, value0, value1, value2);
+    }
+
+    /**
+     * Set the lowest level that gets logged
+     *
+     * @param level the new level
+     */
+    public static void setLevel(LogLevel level) {
+        currentLevel = level;
+    }
+
+    /**
+     * Get the lowest level that gets logged
+     */
+    public static LogLevel getLevel() {
+        return currentLevel;
+    }
+
+    /**
+     * Starts the background thread that prints messages, safe to call more than once
+     */
+    public static synchronized void start() {
+        if (drainThread != null)
+            return;
+
+        drainThread = new Thread(Logger::drainLoop, "Logger");
+        drainThread.setDaemon(true);
+        drainThread.setPriority(Thread.MIN_PRIORITY);
+        drainThread.start();
+    }
+
+    /**
+     * Adds a drop down to the dashboard that sets the log level
+     */
+    @SuppressWarnings("unchecked")
+    public static void addLevelChooser() {
+        SendableChooser<LogLevel> chooser = Dashboard.createSenableChooser("Log-Level", LogLevel.values());
+        chooser.setDefaultOption(currentLevel.name(), currentLevel);
+        levelChooser = chooser;
+    }
+
+    /**
+     * Runs on the background thread, prints everything in the buffer and then waits
+     */
+    private static void drainLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+
+            // Pick up level changes from the dashboard
+            if (levelChooser != null) {
+                LogLevel selected = levelChooser.getSelected();
+                if (selected != null)
+                    currentLevel = selected;
+            }
+
+            buffer.drain(Logger::printRecord);
+
+            long dropped = buffer.takeDroppedCount();
+            if (dropped > 0) {
+                System.out.println("[Logger] Dropped " + dropped + " messages, buffer was full");
+            }
+
+            try {
+                Thread.sleep(DRAIN_PERIOD_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Turns one record into text and prints it
+     */
+    private static void printRecord(int siteId, long timeNanos, int valueCount, double value0, double value1, double value2) {
+        LogSite site = sites[siteId];
+
+        line.setLength(0);
+        line.append('[').append(timeNanos / 1_000_000 / 1000.0).append("] ");
+        line.append(site.level.name()).append(' ').append(site.name);
+
+        for (int i = 0; i < valueCount; i++) {
+            line.append(' ');
+
+            // A site logging more values than it has labels still prints them, an exception here would stop the
+            // drain thread and every message after it
+            if (i < site.labels.length)
+                line.append(site.labels[i]);
+
+            if (i == 0)
+                line.append(value0);
+            else if (i == 1)
+                line.append(value1);
+            else
+                line.append(value2);
+        }
+
+        System.out.println(line);
+    }
+}
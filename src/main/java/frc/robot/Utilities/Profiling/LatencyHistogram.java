@@ -0,0 +1,107 @@
+package frc.robot.Utilities.Profiling;
+
+/**
+ * Fixed width bucket histogram used to track how long a section of code takes.
+ * All of the storage is allocated when it is constructed so recording a sample never creates garbage
+ */
+public class LatencyHistogram {
+
+    // Width of each bucket in nanoseconds
+    private final long bucketWidthNanos;
+
+    // Sample counts for each bucket, the last bucket holds everything that didn't fit in the others
+    private final long[] buckets;
+
+    // Total number of samples recorded and the largest one seen
+    private long count = 0;
+    private long maxNanos = 0;
+
+    /**
+     * Create a histogram with a set resolution and range
+     * 
+     * @param bucketWidthNanos the width of each bucket in nanoseconds
+     * @param bucketCount      the number of buckets, anything past bucketWidthNanos * bucketCount lands in the overflow bucket
+     */
+    public LatencyHistogram(long bucketWidthNanos, int bucketCount) {
+        this.bucketWidthNanos = bucketWidthNanos;
+
+        // One extra bucket to hold the overflow
+        buckets = new long[bucketCount + 1];
+    }
+
+    /**
+     * Adds a sample to the histogram
+     * 
+     * @param nanos the length of the sample in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+
+        int index = (int) Math.min(nanos / bucketWidthNanos, buckets.length - 1);
+        buckets[index]++;
+        count++;
+
+        if (nanos > maxNanos)
+            maxNanos = nanos;
+    }
+
+    /**
+     * Gets the value that the given fraction of samples fall under, rounded up to the edge of its bucket
+     * 
+     * @param percentile the percentile to find (0.0 - 1.0)
+     * @return the percentile in nanoseconds, 0 if there are no samples
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0)
+            return 0;
+
+        // The number of samples that need to be at or below the returned value
+        long target = Math.max(1, (long) Math.ceil(percentile * count));
+
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+
+            if (seen >= target) {
+
+                // The overflow bucket has no upper edge so the max is the best we know
+                if (i == buckets.length - 1)
+                    return maxNanos;
+
+                return Math.min((i + 1) * bucketWidthNanos, maxNanos);
+            }
+        }
+
+        return maxNanos;
+    }
+
+    /**
+     * Get the largest sample recorded
+     * 
+     * @return the max in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Get the number of samples recorded
+     * 
+     * @return the sample count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Clears all recorded samples
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        maxNanos = 0;
+    }
+}
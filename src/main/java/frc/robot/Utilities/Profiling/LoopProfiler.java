@@ -0,0 +1,224 @@
+package frc.robot.Utilities.Profiling;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+/**
+ * Times each stage of the robot loop so we can tell what is making the loop overrun.
+ * Samples are taken with System.nanoTime() and stored in preallocated histograms, the p50 / p99 / max
+ * for each stage is published to the "Profiler" table about once a second
+ */
+public class LoopProfiler {
+
+    /**
+     * The sections of the robot loop that are timed
+     */
+    public enum Stage {
+        SENSORS("Sensors"), DASHBOARD("Dashboard"), SCHEDULER("Scheduler"), DRIVE("Drive"), SHOOTER("Shooter"),
+        BALL_SYSTEM("Ball-System"), CLIMBER("Climber"), COMPRESSOR("Compressor"), TELEMETRY("Telemetry");
+
+        // The name of the stage on the dashboard
+        private final String displayName;
+
+        Stage(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    // Cached copy of the stages, Stage.values() creates a new array every call
+    private static final Stage[] STAGES = Stage.values();
+
+    // 50us buckets up to 50ms, anything longer is put in the overflow bucket
+    private static final long BUCKET_WIDTH_NANOS = 50_000;
+    private static final int BUCKET_COUNT = 1000;
+
+    // Number of loops between each dashboard update
+    private static final int PUBLISH_INTERVAL = 50;
+
+    // The time the loop is given to run in nanoseconds
+    private final long loopPeriodNanos;
+
+    // Histograms for each stage and the loop as a whole
+    private final LatencyHistogram[] stageHistograms;
+    private final LatencyHistogram loopHistogram;
+
+    // Time each stage was started, and the total time spent in each stage during the current loop
+    private final long[] stageStartTimes;
+    private final long[] stageLoopTotals;
+    private final boolean[] stageRanThisLoop;
+
+    // Start time of the current loop
+    private long loopStartTime = 0;
+    private boolean loopRunning = false;
+
+    // Number of loops that took longer than the loop period
+    private long overrunCount = 0;
+
+    private int loopsSincePublish = 0;
+
+    // Dashboard entries, looked up once so publishing doesn't have to
+    private final NetworkTableEntry[] p50Entries;
+    private final NetworkTableEntry[] p99Entries;
+    private final NetworkTableEntry[] maxEntries;
+    private final NetworkTableEntry loopP50Entry;
+    private final NetworkTableEntry loopP99Entry;
+    private final NetworkTableEntry loopMaxEntry;
+    private final NetworkTableEntry overrunEntry;
+
+    /**
+     * Create the profiler and all of its histograms
+     *
+     * @param loopPeriodSeconds the length of one robot loop in seconds, loops longer than this are counted as overruns
+     */
+    public LoopProfiler(double loopPeriodSeconds) {
+        loopPeriodNanos = (long) (loopPeriodSeconds * 1e9);
+
+        stageHistograms = new LatencyHistogram[STAGES.length];
+        stageStartTimes = new long[STAGES.length];
+        stageLoopTotals = new long[STAGES.length];
+        stageRanThisLoop = new boolean[STAGES.length];
+
+        for (int i = 0; i < STAGES.length; i++) {
+            stageHistograms[i] = new LatencyHistogram(BUCKET_WIDTH_NANOS, BUCKET_COUNT);
+        }
+        loopHistogram = new LatencyHistogram(BUCKET_WIDTH_NANOS, BUCKET_COUNT);
+
+        NetworkTable table = NetworkTableInstance.getDefault().getTable("Profiler");
+
+        p50Entries = new NetworkTableEntry[STAGES.length];
+        p99Entries = new NetworkTableEntry[STAGES.length];
+        maxEntries = new NetworkTableEntry[STAGES.length];
+
+        for (int i = 0; i < STAGES.length; i++) {
+            String name = STAGES[i].getDisplayName();
+            p50Entries[i] = table.getEntry(name + "-p50-ms");
+            p99Entries[i] = table.getEntry(name + "-p99-ms");
+            maxEntries[i] = table.getEntry(name + "-max-ms");
+        }
+
+        loopP50Entry = table.getEntry("Loop-p50-ms");
+        loopP99Entry = table.getEntry("Loop-p99-ms");
+        loopMaxEntry = table.getEntry("Loop-max-ms");
+        overrunEntry = table.getEntry("Loop-Overruns");
+    }
+
+    /**
+     * Called at the very start of the robot loop
+     */
+    public void startLoop() {
+        loopStartTime = System.nanoTime();
+        loopRunning = true;
+    }
+
+    /**
+     * Start timing a stage, a stage can be started and stopped more than once a loop and the times are added together
+     *
+     * @param stage the stage being timed
+     */
+    public void start(Stage stage) {
+        stageStartTimes[stage.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Stop timing a stage
+     *
+     * @param stage the stage being timed
+     */
+    public void stop(Stage stage) {
+        int index = stage.ordinal();
+        stageLoopTotals[index] += System.nanoTime() - stageStartTimes[index];
+        stageRanThisLoop[index] = true;
+    }
+
+    /**
+     * Called at the very end of the robot loop, records the loop and stage times and publishes them when it is time to
+     */
+    public void endLoop() {
+        if (!loopRunning)
+            return;
+
+        long loopTime = System.nanoTime() - loopStartTime;
+        loopRunning = false;
+
+        loopHistogram.record(loopTime);
+
+        // Count the loop as an overrun if it went over its time
+        if (loopTime > loopPeriodNanos)
+            overrunCount++;
+
+        // Only record stages that actually ran so a skipped stage doesn't pull the percentiles down
+        for (int i = 0; i < STAGES.length; i++) {
+            if (stageRanThisLoop[i]) {
+                stageHistograms[i].record(stageLoopTotals[i]);
+                stageLoopTotals[i] = 0;
+                stageRanThisLoop[i] = false;
+            }
+        }
+
+        loopsSincePublish++;
+        if (loopsSincePublish >= PUBLISH_INTERVAL) {
+            publish();
+            loopsSincePublish = 0;
+        }
+    }
+
+    /**
+     * Push the current stats to the dashboard
+     */
+    public void publish() {
+        for (int i = 0; i < STAGES.length; i++) {
+            p50Entries[i].setDouble(toMillis(stageHistograms[i].getPercentileNanos(0.5)));
+            p99Entries[i].setDouble(toMillis(stageHistograms[i].getPercentileNanos(0.99)));
+            maxEntries[i].setDouble(toMillis(stageHistograms[i].getMaxNanos()));
+        }
+
+        loopP50Entry.setDouble(toMillis(loopHistogram.getPercentileNanos(0.5)));
+        loopP99Entry.setDouble(toMillis(loopHistogram.getPercentileNanos(0.99)));
+        loopMaxEntry.setDouble(toMillis(loopHistogram.getMaxNanos()));
+        overrunEntry.setDouble(overrunCount);
+    }
+
+    /**
+     * Clears all the stats, called when the robot changes modes so each mode has its own numbers
+     */
+    public void reset() {
+        for (int i = 0; i < STAGES.length; i++) {
+            stageHistograms[i].reset();
+            stageLoopTotals[i] = 0;
+            stageRanThisLoop[i] = false;
+        }
+        loopHistogram.reset();
+        overrunCount = 0;
+    }
+
+    /**
+     * Get the number of loops that ran over the loop period since the last reset
+     *
+     * @return the overrun count
+     */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * Get the histogram for a stage
+     *
+     * @param stage the stage
+     * @return the stage's histogram
+     */
+    public LatencyHistogram getHistogram(Stage stage) {
+        return stageHistograms[stage.ordinal()];
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,145 @@
+package frc.robot.Utilities.Replay;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.Autonomous.Basic.AutoPaths;
+import frc.robot.Autonomous.Basic.BasicAuto;
+import frc.robot.Autonomous.Control.AutoDriveControl;
+import frc.robot.Autonomous.Pathing.TrajectoryDriveSubsystem;
+import frc.robot.Hardware.RobotStateFrame;
+import frc.robot.Subsystems.ArcShooter;
+import frc.robot.Subsystems.BallSystem;
+import frc.robot.Subsystems.DriveTrainSystem;
+import frc.robot.Utilities.Control.LimelightAlignment;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+
+/**
+ * Desktop tool that replays a match recording through the odometry, the shooter speed check and the basic autos
+ * (which run the limelight alignment), then reports the first loop where the replayed drive commands or auto stage
+ * stop matching what the robot did. Run with ./gradlew replayTelemetry
+ *
+ * Usage: AutoReplay input.bin [BACKUP3|RENDEZVOUSFIVE] [trace.csv]
+ */
+public class AutoReplay {
+
+    // Drive powers are copied straight through so anything bigger than rounding is a real difference
+    private static final double TOLERANCE = 1e-9;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: AutoReplay <input.bin> [BACKUP3|RENDEZVOUSFIVE] [trace.csv]");
+            System.exit(1);
+        }
+
+        AutoPaths routine = args.length > 1 ? AutoPaths.valueOf(args[1]) : AutoPaths.BACKUP3;
+
+        // The subsystems are built on the simulated HAL, their motor outputs go nowhere
+        HAL.initialize(500, 0);
+
+        try (TelemetryReader reader = TelemetryReader.open(Paths.get(args[0]))) {
+            LogReplay replay = createReplay(reader, routine);
+
+            long start = System.nanoTime();
+            ReplayTrace trace = replay.run();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double matchSeconds = trace.getLength() > 0
+                    ? trace.get(0, trace.getLength() - 1) - trace.get(0, 0) : 0;
+            System.out.printf("Replayed %d loops (%.1f s of robot time) in %.3f s%n", trace.getLength(),
+                    matchSeconds, seconds);
+
+            report(trace, "drivePower", trace.firstDifference("drivePower", reader, f -> f.drivePower, TOLERANCE));
+            report(trace, "turnPower", trace.firstDifference("turnPower", reader, f -> f.turnPower, TOLERANCE));
+            report(trace, "autoStage", trace.firstDifference("autoStage", reader, f -> f.autoStage, 0));
+
+            if (args.length > 2) {
+                try (Writer writer = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+                    trace.writeCsv(writer);
+                }
+                System.out.println("Wrote trace to " + args[2]);
+            }
+        }
+    }
+
+    /**
+     * Builds the subsystems the same way the robot does and sets up a replay that runs them like the robot loop
+     *
+     * @param reader  the recording to replay
+     * @param routine the basic auto that was selected for the match
+     * @return the replay, ready to run
+     */
+    public static LogReplay createReplay(TelemetryReader reader, AutoPaths routine) {
+        RobotStateFrame frame = RobotStateFrame.get();
+
+        ArcShooter shooter = new ArcShooter();
+        BallSystem ballSystem = new BallSystem();
+        DriveTrainSystem drive = new DriveTrainSystem(ballSystem);
+        LimelightAlignment alignment = new LimelightAlignment(drive);
+        AutoDriveControl autoDriveControl = new AutoDriveControl(drive);
+        BasicAuto basicAuto = new BasicAuto(alignment, autoDriveControl, shooter, ballSystem);
+        TrajectoryDriveSubsystem trajectoryDrive = new TrajectoryDriveSubsystem(drive);
+
+        // Result of the shooter speed check each loop
+        boolean[] shooterFull = new boolean[1];
+
+        LogReplay replay = new LogReplay(reader, frame);
+
+        // Same as the parts of autonomousInit() that affect the routine
+        replay.onModeStart(RobotStateFrame.MODE_AUTONOMOUS, () -> {
+            drive.resetEncoders();
+            shooter.stopShooter();
+            ballSystem.getIndexer().stopIndexing();
+
+            if (routine == AutoPaths.RENDEZVOUSFIVE)
+                basicAuto.runRendezvousFiveSetup();
+            else
+                basicAuto.runBasicBackStartup();
+        });
+
+        // Subsystem periodic methods run from the scheduler before the mode's periodic method
+        replay.addStep(trajectoryDrive::periodic);
+
+        replay.addStep(() -> {
+            if (frame.robotMode == RobotStateFrame.MODE_AUTONOMOUS) {
+                if (routine == AutoPaths.RENDEZVOUSFIVE)
+                    basicAuto.runRendezvousFive();
+                else
+                    basicAuto.runBasicBack();
+            }
+
+            shooterFull[0] = shooter.dynamicIsFull();
+
+            // Same as Robot.recordTelemetry()
+            BasicAuto.Stage stage = frame.robotMode == RobotStateFrame.MODE_AUTONOMOUS ? basicAuto.getStage() : null;
+            frame.autoStage = stage == null ? RobotStateFrame.NO_STAGE : stage.ordinal();
+        });
+
+        replay.addChannel("mode", f -> f.robotMode);
+        replay.addChannel("autoStage", f -> f.autoStage);
+        replay.addChannel("drivePower", f -> f.drivePower);
+        replay.addChannel("turnPower", f -> f.turnPower);
+        replay.addChannel("poseX", f -> f.poseXMeters);
+        replay.addChannel("poseY", f -> f.poseYMeters);
+        replay.addChannel("poseHeading", f -> f.poseHeadingDegrees);
+        replay.addChannel("shooterFull", f -> shooterFull[0] ? 1 : 0);
+
+        return replay;
+    }
+
+    /**
+     * Prints where a channel first stopped matching the recording
+     */
+    private static void report(ReplayTrace trace, String channel, int row) {
+        if (row < 0) {
+            System.out.println(channel + ": matches the recording");
+        } else {
+            System.out.printf("%s: differs from the recording at loop %d (t = %.3f s)%n", channel,
+                    trace.getRecord(row), trace.get(0, row));
+        }
+    }
+}
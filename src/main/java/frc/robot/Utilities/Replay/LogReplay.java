@@ -0,0 +1,140 @@
+package frc.robot.Utilities.Replay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import frc.robot.Hardware.RobotStateFrame;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+
+/**
+ * Runs robot code against a telemetry recording instead of the real sensors.
+ * For each recorded loop the time, mode and sensor values are loaded into the frame the subsystems read from,
+ * the steps are run in the order they were added, and then every channel is sampled into a trace.
+ * Nothing waits on a clock so a match replays in well under a second, and the same recording always
+ * gives the same trace
+ *
+ * Only the code that reads its sensors from the RobotStateFrame and its time from a FrameTimer can be replayed,
+ * the outputs it makes are left in the frame for the channels to read
+ */
+public class LogReplay {
+
+    private final TelemetryReader reader;
+    private final RobotStateFrame frame;
+
+    // Run every loop, in order
+    private final List<Runnable> steps = new ArrayList<>();
+
+    // Run on the first loop of each mode, indexed by the MODE_ values
+    private final Runnable[] modeStarts = new Runnable[RobotStateFrame.MODE_TEST + 1];
+
+    // Sampled after the steps each loop, the time is always the first channel
+    private final List<String> channelNames = new ArrayList<>();
+    private final List<ToDoubleFunction<RobotStateFrame>> channels = new ArrayList<>();
+
+    /**
+     * Create a replay that loads the recording into the frame shared by the whole robot
+     *
+     * @param reader the recording to replay
+     */
+    public LogReplay(TelemetryReader reader) {
+        this(reader, RobotStateFrame.get());
+    }
+
+    /**
+     * Create a replay that loads the recording into the given frame
+     *
+     * @param reader the recording to replay
+     * @param frame  the frame the replayed code reads from
+     */
+    public LogReplay(TelemetryReader reader, RobotStateFrame frame) {
+        this.reader = reader;
+        this.frame = frame;
+
+        addChannel("timestamp", f -> f.timestampSeconds);
+    }
+
+    /**
+     * Add something to run every loop, like a subsystem's periodic method
+     *
+     * @param step the code to run
+     */
+    public void addStep(Runnable step) {
+        steps.add(step);
+    }
+
+    /**
+     * Set something to run on the first loop of a mode before the steps, like autonomousInit()
+     *
+     * @param mode   one of the RobotStateFrame MODE_ values
+     * @param action the code to run
+     */
+    public void onModeStart(int mode, Runnable action) {
+        modeStarts[mode] = action;
+    }
+
+    /**
+     * Add a value to record in the trace each loop
+     *
+     * @param name    the column name
+     * @param channel gets the value, usually from the frame after the steps have run
+     */
+    public void addChannel(String name, ToDoubleFunction<RobotStateFrame> channel) {
+        channelNames.add(name);
+        channels.add(channel);
+    }
+
+    /**
+     * Replay the whole recording
+     *
+     * @return the values the channels took each loop
+     */
+    public ReplayTrace run() {
+        return run(0, reader.getRecordCount());
+    }
+
+    /**
+     * Replay part of the recording
+     *
+     * @param firstRecord the first record to replay
+     * @param endRecord   the record after the last one to replay
+     * @return the values the channels took each loop
+     */
+    public ReplayTrace run(int firstRecord, int endRecord) {
+        ReplayTrace trace = new ReplayTrace(channelNames.toArray(new String[0]), endRecord - firstRecord, firstRecord);
+        int channelCount = channels.size();
+        int lastMode = -1;
+
+        for (int i = firstRecord; i < endRecord; i++) {
+            reader.readInputs(i, frame);
+
+            // Start of a new mode, the same place the robot would have called its init method
+            if (frame.robotMode != lastMode) {
+                lastMode = frame.robotMode;
+
+                Runnable action = frame.robotMode >= 0 && frame.robotMode < modeStarts.length
+                        ? modeStarts[frame.robotMode] : null;
+                if (action != null)
+                    action.run();
+            }
+
+            for (int s = 0; s < steps.size(); s++) {
+                steps.get(s).run();
+            }
+
+            for (int c = 0; c < channelCount; c++) {
+                trace.set(c, channels.get(c).applyAsDouble(frame));
+            }
+            trace.endRow();
+        }
+
+        return trace;
+    }
+
+    /**
+     * Get the frame the recording is loaded into
+     */
+    public RobotStateFrame getFrame() {
+        return frame;
+    }
+}
@@ -0,0 +1,204 @@
+package frc.robot.Utilities.Replay;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.ToDoubleFunction;
+
+import frc.robot.Hardware.RobotStateFrame;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+
+/**
+ * The values a replay produced, one column per channel and one row per replayed loop.
+ * Replays are deterministic so two traces from the same recording and the same code are identical,
+ * which lets a trace from known good code be used to catch changes in behaviour
+ */
+public class ReplayTrace {
+
+    private final String[] names;
+
+    // Indexed by channel and then by row
+    private final double[][] values;
+
+    // Record in the telemetry file the first row came from
+    private final int firstRecord;
+
+    private int length = 0;
+
+    /**
+     * Create an empty trace
+     *
+     * @param names       the channel names
+     * @param capacity    the most rows the trace will hold
+     * @param firstRecord the telemetry record the first row comes from
+     */
+    ReplayTrace(String[] names, int capacity, int firstRecord) {
+        this.names = names;
+        this.values = new double[names.length][capacity];
+        this.firstRecord = firstRecord;
+    }
+
+    /**
+     * Sets a value in the next row
+     */
+    void set(int channel, double value) {
+        values[channel][length] = value;
+    }
+
+    /**
+     * Finishes the current row
+     */
+    void endRow() {
+        length++;
+    }
+
+    /**
+     * Get the number of rows
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Get the number of channels
+     */
+    public int getChannelCount() {
+        return names.length;
+    }
+
+    /**
+     * Get the name of a channel
+     *
+     * @param channel the channel index
+     */
+    public String getName(int channel) {
+        return names[channel];
+    }
+
+    /**
+     * Finds a channel by name
+     *
+     * @param name the channel name
+     * @return the channel index, -1 if there is no channel with that name
+     */
+    public int getChannel(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Get one value
+     *
+     * @param channel the channel index
+     * @param row     the row
+     * @return the value
+     */
+    public double get(int channel, int row) {
+        if (row < 0 || row >= length) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + length);
+        }
+        return values[channel][row];
+    }
+
+    /**
+     * Get the telemetry record a row was replayed from
+     *
+     * @param row the row
+     * @return the record index
+     */
+    public int getRecord(int row) {
+        return firstRecord + row;
+    }
+
+    /**
+     * Finds the first row where this trace and another don't match.
+     * Channels with the same name are compared, a trace that is shorter than the other counts as a difference
+     *
+     * @param other     the trace to compare against
+     * @param tolerance the most two values can differ by and still match
+     * @return the first row that is different, -1 if the traces match
+     */
+    public int firstDifference(ReplayTrace other, double tolerance) {
+        int rows = Math.min(length, other.length);
+        int first = length == other.length ? -1 : rows;
+
+        for (int channel = 0; channel < names.length; channel++) {
+            int otherChannel = other.getChannel(names[channel]);
+            if (otherChannel < 0)
+                continue;
+
+            // Only need to look before the first difference found so far
+            int end = first < 0 ? rows : first;
+            for (int row = 0; row < end; row++) {
+                if (!matches(values[channel][row], other.values[otherChannel][row], tolerance)) {
+                    first = row;
+                    break;
+                }
+            }
+        }
+
+        return first;
+    }
+
+    /**
+     * Finds the first row where a channel doesn't match what the robot recorded, used to see where the code being
+     * replayed starts to behave differently from the code that was on the robot
+     *
+     * @param name      the channel to check
+     * @param reader    the recording the trace was replayed from
+     * @param recorded  gets the recorded value out of a frame
+     * @param tolerance the most the values can differ by and still match
+     * @return the first row that is different, -1 if every row matches
+     */
+    public int firstDifference(String name, TelemetryReader reader, ToDoubleFunction<RobotStateFrame> recorded,
+            double tolerance) {
+        int channel = getChannel(name);
+        if (channel < 0) {
+            throw new IllegalArgumentException("No replay channel named " + name);
+        }
+
+        RobotStateFrame frame = new RobotStateFrame();
+        for (int row = 0; row < length; row++) {
+            reader.read(firstRecord + row, frame);
+
+            if (!matches(values[channel][row], recorded.applyAsDouble(frame), tolerance))
+                return row;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Writes the trace as CSV with a header line first
+     *
+     * @param writer where to write the CSV
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write(String.join(",", names));
+        writer.write('\n');
+
+        StringBuilder line = new StringBuilder(256);
+        for (int row = 0; row < length; row++) {
+            line.setLength(0);
+            for (int channel = 0; channel < names.length; channel++) {
+                if (channel > 0)
+                    line.append(',');
+                line.append(values[channel][row]);
+            }
+            line.append('\n');
+            writer.append(line);
+        }
+    }
+
+    /**
+     * Whether two values match, NaN matches NaN so a channel that is always NaN doesn't count as different
+     */
+    private static boolean matches(double a, double b, double tolerance) {
+        if (Double.isNaN(a) || Double.isNaN(b))
+            return Double.isNaN(a) && Double.isNaN(b);
+
+        return Math.abs(a - b) <= tolerance;
+    }
+}
@@ -0,0 +1,154 @@
+package frc.robot.Utilities.Simulation;
+
+import frc.robot.Utilities.Control.RAMSETE.RamseteFollower;
+
+/**
+ * A simple model of the drive train so the path followers can be run off the robot.
+ * Each side accelerates by the voltage left over after static friction and back EMF, (V - kS - kV * v) / kA, and the
+ * robot turns from the difference between the sides. The wheels scrub when turning so the robot turns less than the
+ * track width says, like the real robot does
+ */
+public class DrivetrainSim implements RamseteFollower.Sensors, RamseteFollower.Output {
+
+    // Time step the model is integrated at
+    private static final double STEP_SECONDS = 0.001;
+
+    private final double kS;
+    private final double kV;
+    private final double kA;
+    private final double effectiveTrackWidthMeters;
+    private final double maxVolts;
+
+    private double leftVolts;
+    private double rightVolts;
+
+    // Pinned against something so the wheels can't turn
+    private boolean stalled;
+
+    private double x;
+    private double y;
+    private double heading;
+    private double leftSpeed;
+    private double rightSpeed;
+    private double leftDistance;
+    private double rightDistance;
+
+    /**
+     * @param kS                        volts needed to overcome static friction
+     * @param kV                        volts per meter per second
+     * @param kA                        volts per meter per second squared
+     * @param effectiveTrackWidthMeters the track width the robot actually turns with, wider than the real one
+     * @param maxVolts                  the most voltage the motors can be given
+     */
+    public DrivetrainSim(double kS, double kV, double kA, double effectiveTrackWidthMeters, double maxVolts) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+        this.effectiveTrackWidthMeters = effectiveTrackWidthMeters;
+        this.maxVolts = maxVolts;
+    }
+
+    /**
+     * Put the robot somewhere, stopped with the encoders zeroed
+     */
+    public void reset(double xMeters, double yMeters, double headingRadians) {
+        x = xMeters;
+        y = yMeters;
+        heading = headingRadians;
+        leftSpeed = 0;
+        rightSpeed = 0;
+        leftDistance = 0;
+        rightDistance = 0;
+        leftVolts = 0;
+        rightVolts = 0;
+    }
+
+    /**
+     * Hold the robot in place as if it was pinned by another robot, the wheels stop turning so the encoders see it
+     *
+     * @param stalled whether or not the robot is held
+     */
+    public void setStalled(boolean stalled) {
+        this.stalled = stalled;
+    }
+
+    /**
+     * Move the robot forward in time with the last voltages it was given
+     *
+     * @param seconds how long to run for
+     */
+    public void step(double seconds) {
+        for (double t = 0; t < seconds - 1e-9; t += STEP_SECONDS) {
+            double dt = Math.min(STEP_SECONDS, seconds - t);
+
+            leftSpeed = stalled ? 0 : accelerate(leftSpeed, leftVolts, dt);
+            rightSpeed = stalled ? 0 : accelerate(rightSpeed, rightVolts, dt);
+
+            double speed = (leftSpeed + rightSpeed) / 2;
+            double turnRate = (rightSpeed - leftSpeed) / effectiveTrackWidthMeters;
+
+            x += speed * Math.cos(heading + turnRate * dt / 2) * dt;
+            y += speed * Math.sin(heading + turnRate * dt / 2) * dt;
+            heading += turnRate * dt;
+
+            leftDistance += leftSpeed * dt;
+            rightDistance += rightSpeed * dt;
+        }
+    }
+
+    /**
+     * Speed one side up or down for a step, static friction holds a stopped side until the voltage beats it
+     */
+    private double accelerate(double speed, double volts, double dt) {
+        double friction = speed != 0 ? Math.signum(speed) * kS : Math.signum(volts) * Math.min(kS, Math.abs(volts));
+        double newSpeed = speed + (volts - friction - kV * speed) / kA * dt;
+
+        // Friction can stop a side but not turn it around
+        if (speed != 0 && Math.signum(newSpeed) != Math.signum(speed) && Math.abs(volts) < kS)
+            return 0;
+        return newSpeed;
+    }
+
+    @Override
+    public void setVolts(double leftVolts, double rightVolts) {
+        this.leftVolts = Math.max(-maxVolts, Math.min(maxVolts, leftVolts));
+        this.rightVolts = Math.max(-maxVolts, Math.min(maxVolts, rightVolts));
+    }
+
+    @Override
+    public double readLeftDistanceMeters() {
+        return leftDistance;
+    }
+
+    @Override
+    public double readRightDistanceMeters() {
+        return rightDistance;
+    }
+
+    @Override
+    public double readLeftRateMetersPerSecond() {
+        return leftSpeed;
+    }
+
+    @Override
+    public double readRightRateMetersPerSecond() {
+        return rightSpeed;
+    }
+
+    @Override
+    public double readHeadingDegrees() {
+        return Math.toDegrees(heading);
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+}
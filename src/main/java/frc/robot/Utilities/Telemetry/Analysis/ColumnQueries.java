@@ -0,0 +1,240 @@
+package frc.robot.Utilities.Telemetry.Analysis;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The questions that get asked of a match recording after an event, each one a single pass over the few columns it
+ * needs. Results from different matches can be merged into event totals
+ */
+public class ColumnQueries {
+
+    // Flywheel encoder speed above which the shooter counts as spun up, ArcShooter is full at 4500
+    public static final double SPUN_UP_RPM = 3000;
+
+    // A dip smaller than this is noise rather than a ball going through
+    public static final double MIN_SHOT_DROP_RPM = 150;
+
+    // Loops are meant to be 20 ms, anything this late is an overrun
+    public static final double OVERRUN_SECONDS = 0.025;
+
+    private ColumnQueries() {
+    }
+
+    /**
+     * Finds every shot by the drop in flywheel speed as the ball goes through.
+     * While spun up the highest speed is tracked, once the speed falls far enough below it a shot has started and
+     * it ends when the speed climbs back half way to where it was
+     *
+     * @param file the match
+     * @return the shots in the order they were taken
+     */
+    public static List<Shot> shots(ColumnarFile file) throws IOException {
+        DoubleBuffer time = file.getColumn("timestamp");
+        DoubleBuffer rpm = file.getColumn("flywheelRPM");
+        int rows = (int) file.getRowCount();
+
+        List<Shot> shots = new ArrayList<>();
+        double peak = 0;
+        double peakTime = 0;
+        double low = 0;
+        boolean inDip = false;
+
+        for (int i = 0; i < rows; i++) {
+            double speed = Math.abs(rpm.get(i));
+
+            if (inDip) {
+                low = Math.min(low, speed);
+
+                if (speed >= low + (peak - low) / 2) {
+                    shots.add(new Shot(peakTime, peak, low));
+                    inDip = false;
+                    peak = speed;
+                    peakTime = time.get(i);
+                }
+            } else if (speed < SPUN_UP_RPM) {
+                peak = 0;
+            } else if (speed > peak) {
+                peak = speed;
+                peakTime = time.get(i);
+            } else if (peak - speed >= MIN_SHOT_DROP_RPM) {
+                inDip = true;
+                low = speed;
+            }
+        }
+
+        return shots;
+    }
+
+    /**
+     * Counts the loops that ran late while a RAMSETE path was being followed
+     *
+     * @param file the match
+     * @return the overruns
+     */
+    public static Overruns pathOverruns(ColumnarFile file) throws IOException {
+        DoubleBuffer time = file.getColumn("timestamp");
+        DoubleBuffer pathActive = file.getColumn("pathActive");
+        int rows = (int) file.getRowCount();
+
+        Overruns overruns = new Overruns();
+        for (int i = 1; i < rows; i++) {
+            if (pathActive.get(i) == 0 || pathActive.get(i - 1) == 0)
+                continue;
+
+            double period = time.get(i) - time.get(i - 1);
+            overruns.pathLoops++;
+
+            if (period > OVERRUN_SECONDS) {
+                overruns.count++;
+                overruns.worstSeconds = Math.max(overruns.worstSeconds, period);
+            }
+        }
+
+        return overruns;
+    }
+
+    /**
+     * Fits battery voltage against the total drivetrain current while the robot is enabled, the slope is the
+     * battery and wiring resistance seen by the drivetrain
+     *
+     * @param file the match
+     * @return the fit
+     */
+    public static Sag batterySag(ColumnarFile file) throws IOException {
+        DoubleBuffer mode = file.getColumn("mode");
+        DoubleBuffer voltage = file.getColumn("pdpVoltage");
+        DoubleBuffer[] currents = {
+            file.getColumn("leftCurrent1"), file.getColumn("leftCurrent2"), file.getColumn("leftCurrent3"),
+            file.getColumn("rightCurrent1"), file.getColumn("rightCurrent2"), file.getColumn("rightCurrent3")
+        };
+        int rows = (int) file.getRowCount();
+
+        Sag sag = new Sag();
+        for (int i = 0; i < rows; i++) {
+            if (mode.get(i) == 0)
+                continue;
+
+            double current = 0;
+            for (DoubleBuffer motor : currents) {
+                current += motor.get(i);
+            }
+
+            sag.add(current, voltage.get(i));
+        }
+
+        return sag;
+    }
+
+    /**
+     * A drop in flywheel speed from one ball
+     */
+    public static class Shot {
+        public final double timestampSeconds;
+        public final double peakRPM;
+        public final double lowRPM;
+
+        Shot(double timestampSeconds, double peakRPM, double lowRPM) {
+            this.timestampSeconds = timestampSeconds;
+            this.peakRPM = peakRPM;
+            this.lowRPM = lowRPM;
+        }
+
+        public double getDropRPM() {
+            return peakRPM - lowRPM;
+        }
+    }
+
+    /**
+     * Late loops while following a path
+     */
+    public static class Overruns {
+        public long pathLoops;
+        public long count;
+        public double worstSeconds;
+
+        public void merge(Overruns other) {
+            pathLoops += other.pathLoops;
+            count += other.count;
+            worstSeconds = Math.max(worstSeconds, other.worstSeconds);
+        }
+    }
+
+    /**
+     * Running least squares fit of voltage against current, kept as sums so matches can be merged
+     */
+    public static class Sag {
+        private long n;
+        private double sumI;
+        private double sumV;
+        private double sumII;
+        private double sumIV;
+        private double sumVV;
+        private double minVoltage = Double.POSITIVE_INFINITY;
+        private double maxCurrent;
+
+        public void add(double current, double voltage) {
+            n++;
+            sumI += current;
+            sumV += voltage;
+            sumII += current * current;
+            sumIV += current * voltage;
+            sumVV += voltage * voltage;
+            minVoltage = Math.min(minVoltage, voltage);
+            maxCurrent = Math.max(maxCurrent, current);
+        }
+
+        public void merge(Sag other) {
+            n += other.n;
+            sumI += other.sumI;
+            sumV += other.sumV;
+            sumII += other.sumII;
+            sumIV += other.sumIV;
+            sumVV += other.sumVV;
+            minVoltage = Math.min(minVoltage, other.minVoltage);
+            maxCurrent = Math.max(maxCurrent, other.maxCurrent);
+        }
+
+        public long getSamples() {
+            return n;
+        }
+
+        /**
+         * Volts lost per amp of drivetrain current, negative as the voltage falls
+         */
+        public double getSlope() {
+            double denominator = n * sumII - sumI * sumI;
+            return denominator == 0 ? 0 : (n * sumIV - sumI * sumV) / denominator;
+        }
+
+        /**
+         * Voltage the fit expects with no drivetrain current
+         */
+        public double getIntercept() {
+            return n == 0 ? 0 : (sumV - getSlope() * sumI) / n;
+        }
+
+        /**
+         * How much of the change in voltage the drivetrain current explains, from 0 to 1
+         */
+        public double getRSquared() {
+            double varianceI = n * sumII - sumI * sumI;
+            double varianceV = n * sumVV - sumV * sumV;
+            if (varianceI == 0 || varianceV == 0)
+                return 0;
+
+            double covariance = n * sumIV - sumI * sumV;
+            return covariance * covariance / (varianceI * varianceV);
+        }
+
+        public double getMinVoltage() {
+            return n == 0 ? 0 : minVoltage;
+        }
+
+        public double getMaxCurrent() {
+            return maxCurrent;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package frc.robot.Utilities.Telemetry.Analysis;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import frc.robot.Utilities.Telemetry.TelemetryFormat;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+
+/**
+ * A telemetry recording turned on its side, every signal is stored as one contiguous run of doubles so a query
+ * that only needs a few signals only reads those from disk. Files are made from a TelemetryReader by convert()
+ * and read back by mapping each column as it is asked for, so nothing is loaded into the heap
+ *
+ * Layout, little endian: magic, version, row count (long), column count, the column names as a length and UTF-8
+ * bytes each, padding to a multiple of 8, then each column's doubles one after the other
+ */
+public class ColumnarFile implements AutoCloseable {
+
+    public static final String EXTENSION = ".cols";
+
+    // "COLS"
+    private static final int MAGIC = 0x534C4F43;
+    private static final int VERSION = 1;
+
+    // Rows converted at a time by each thread
+    private static final int BLOCK_ROWS = 8192;
+
+    private final FileChannel channel;
+    private final String[] names;
+    private final long rowCount;
+    private final long dataStart;
+
+    // Columns are mapped the first time they are used
+    private final DoubleBuffer[] columns;
+
+    /**
+     * Open a file written by convert()
+     *
+     * @param file the file to read
+     * @throws IOException if the file can't be read or isn't a columnar telemetry file
+     */
+    public ColumnarFile(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(header, 0);
+
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+                throw new IOException(file + " is not a columnar telemetry file this version understands");
+
+            rowCount = header.getLong(8);
+            int columnCount = header.getInt(16);
+
+            // Names are short so read a generous amount and check it was enough
+            ByteBuffer nameBuffer = ByteBuffer.allocate(columnCount * 256).order(ByteOrder.LITTLE_ENDIAN);
+            nameBuffer.limit((int) Math.min(nameBuffer.capacity(), channel.size() - 20));
+            readFully(nameBuffer, 20);
+            nameBuffer.flip();
+
+            names = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                byte[] bytes = new byte[nameBuffer.getShort()];
+                nameBuffer.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            dataStart = align(20 + nameBuffer.position());
+            if (channel.size() != dataStart + rowCount * columnCount * Double.BYTES)
+                throw new IOException(file + " is truncated");
+
+            columns = new DoubleBuffer[columnCount];
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Get the number of rows, one per recorded loop
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Get the names of the columns in the order they are stored
+     */
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * Get a column by name
+     *
+     * @param name one of TelemetryFormat.FIELD_NAMES
+     * @return the values, mapped read only, indexed by row
+     * @throws IllegalArgumentException if there is no column with that name
+     */
+    public synchronized DoubleBuffer getColumn(String name) throws IOException {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                if (columns[i] == null) {
+                    columns[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                            dataStart + i * rowCount * Double.BYTES, rowCount * Double.BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                }
+
+                // Each caller gets its own position
+                return columns[i].duplicate();
+            }
+        }
+
+        throw new IllegalArgumentException("No column named " + name);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Turns a telemetry recording into a columnar file.
+     * The rows are split into blocks which the executor converts in parallel, each block is gathered into one buffer
+     * per column and written straight to its place in the file, so only a few blocks are ever in memory
+     *
+     * @param reader   the recording
+     * @param file     the file to write, replaced once it is complete
+     * @param executor runs the blocks
+     */
+    public static void convert(TelemetryReader reader, Path file, ExecutorService executor) throws IOException {
+        String[] names = TelemetryFormat.FIELD_NAMES;
+        long rowCount = reader.getRecordCount();
+
+        ByteBuffer header = createHeader(names, rowCount);
+        long dataStart = header.remaining();
+
+        Path partial = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            writeFully(out, header, 0);
+
+            List<Future<Void>> blocks = new ArrayList<>();
+            for (long first = 0; first < rowCount; first += BLOCK_ROWS) {
+                int start = (int) first;
+                int end = (int) Math.min(rowCount, first + BLOCK_ROWS);
+
+                blocks.add(executor.submit(() -> {
+                    convertBlock(reader, out, dataStart, rowCount, start, end);
+                    return null;
+                }));
+            }
+
+            for (Future<Void> block : blocks) {
+                block.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Files.deleteIfExists(partial);
+            throw new IOException("Interrupted while converting " + file);
+        } catch (ExecutionException e) {
+            Files.deleteIfExists(partial);
+            throw new IOException("Could not convert " + file, e.getCause());
+        } catch (IOException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Converts the rows from start up to end, one column at a time
+     */
+    private static void convertBlock(TelemetryReader reader, FileChannel out, long dataStart, long rowCount,
+            int start, int end) throws IOException {
+        int columnCount = TelemetryFormat.FIELD_NAMES.length;
+        ByteBuffer block = ByteBuffer.allocate((end - start) * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int column = 0; column < columnCount; column++) {
+            block.clear();
+            for (int row = start; row < end; row++) {
+                block.putDouble(reader.readField(row, column));
+            }
+            block.flip();
+
+            writeFully(out, block, dataStart + (column * rowCount + start) * Double.BYTES);
+        }
+    }
+
+    /**
+     * Builds everything that comes before the columns
+     */
+    private static ByteBuffer createHeader(String[] names, long rowCount) {
+        List<byte[]> encoded = new ArrayList<>();
+        int size = 20;
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            size += 2 + bytes.length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate((int) align(size)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(rowCount);
+        header.putInt(names.length);
+        for (byte[] bytes : encoded) {
+            header.putShort((short) bytes.length);
+            header.put(bytes);
+        }
+
+        header.clear();
+        return header;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new IOException("Unexpected end of file");
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        long offset = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            out.write(buffer, offset + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package frc.robot.Utilities.Telemetry.Analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import frc.robot.Utilities.Telemetry.TelemetryArchiver;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+
+/**
+ * Desktop tool that answers questions about a whole event's worth of telemetry. Each recording is converted to a
+ * columnar file next to it the first time it is queried (and again if the recording is newer), then the query runs
+ * over every match at once and prints a line per match followed by the event total.
+ * Run with ./gradlew queryTelemetry
+ *
+ * Usage: TelemetryQuery shots|overruns|sag file-or-directory...
+ */
+public class TelemetryQuery {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || !(args[0].equals("shots") || args[0].equals("overruns") || args[0].equals("sag"))) {
+            System.err.println("Usage: TelemetryQuery shots|overruns|sag <file or directory>...");
+            System.exit(1);
+        }
+
+        List<Path> recordings = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            findRecordings(Paths.get(args[i]), recordings);
+        }
+        Collections.sort(recordings);
+
+        List<Path> columnFiles = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (Path recording : recordings) {
+                columnFiles.add(getColumnarFile(recording, executor));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Matches are independent so they are queried in parallel, the results are printed in file order
+        String[] lines = new String[columnFiles.size()];
+        Object[] results = new Object[columnFiles.size()];
+        IntStream.range(0, columnFiles.size()).parallel().forEach(i -> {
+            try (ColumnarFile file = new ColumnarFile(columnFiles.get(i))) {
+                String name = TelemetryArchiver.baseName(recordings.get(i));
+                switch (args[0]) {
+                    case "shots":
+                        List<ColumnQueries.Shot> shots = ColumnQueries.shots(file);
+                        results[i] = shots;
+                        lines[i] = describeShots(name, shots);
+                        break;
+                    case "overruns":
+                        ColumnQueries.Overruns overruns = ColumnQueries.pathOverruns(file);
+                        results[i] = overruns;
+                        lines[i] = describeOverruns(name, overruns);
+                        break;
+                    default:
+                        ColumnQueries.Sag sag = ColumnQueries.batterySag(file);
+                        results[i] = sag;
+                        lines[i] = describeSag(name, sag);
+                        break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        for (String line : lines) {
+            System.out.println(line);
+        }
+        System.out.println(total(args[0], results));
+    }
+
+    /**
+     * Adds a recording, or every recording in a directory
+     */
+    private static void findRecordings(Path path, List<Path> recordings) throws IOException {
+        if (!Files.isDirectory(path)) {
+            recordings.add(path);
+            return;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TelemetryArchiver.FILE_EXTENSION) || name.endsWith(TelemetryArchiver.COMPRESSED_EXTENSION))
+                    recordings.add(file);
+            }
+        }
+    }
+
+    /**
+     * Gets the columnar file for a recording, converting it if there isn't an up to date one already
+     */
+    private static Path getColumnarFile(Path recording, ExecutorService executor) throws IOException {
+        Path columns = recording.resolveSibling(TelemetryArchiver.baseName(recording) + ColumnarFile.EXTENSION);
+
+        if (Files.exists(columns)
+                && Files.getLastModifiedTime(columns).compareTo(Files.getLastModifiedTime(recording)) >= 0)
+            return columns;
+
+        try (TelemetryReader reader = TelemetryReader.open(recording)) {
+            ColumnarFile.convert(reader, columns, executor);
+        }
+        return columns;
+    }
+
+    private static String describeShots(String name, List<ColumnQueries.Shot> shots) {
+        double worst = 0;
+        for (ColumnQueries.Shot shot : shots) {
+            worst = Math.max(worst, shot.getDropRPM());
+        }
+        return String.format("%s: %d shots, max drop %.0f RPM", name, shots.size(), worst);
+    }
+
+    private static String describeOverruns(String name, ColumnQueries.Overruns overruns) {
+        return String.format("%s: %d of %d path loops overran, worst %.1f ms", name, overruns.count,
+                overruns.pathLoops, overruns.worstSeconds * 1000);
+    }
+
+    private static String describeSag(String name, ColumnQueries.Sag sag) {
+        return String.format("%s: %.4f V/A, %.2f V at 0 A, R^2 %.2f, min %.2f V, max %.0f A", name, sag.getSlope(),
+                sag.getIntercept(), sag.getRSquared(), sag.getMinVoltage(), sag.getMaxCurrent());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String total(String query, Object[] results) {
+        switch (query) {
+            case "shots":
+                List<ColumnQueries.Shot> shots = new ArrayList<>();
+                for (Object result : results) {
+                    shots.addAll((List<ColumnQueries.Shot>) result);
+                }
+                return describeShots("Event", shots);
+            case "overruns":
+                ColumnQueries.Overruns overruns = new ColumnQueries.Overruns();
+                for (Object result : results) {
+                    overruns.merge((ColumnQueries.Overruns) result);
+                }
+                return describeOverruns("Event", overruns);
+            default:
+                ColumnQueries.Sag sag = new ColumnQueries.Sag();
+                for (Object result : results) {
+                    sag.merge((ColumnQueries.Sag) result);
+                }
+                return describeSag("Event", sag);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package frc.robot.Utilities.Telemetry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPOutputStream;
+
+import edu.wpi.first.wpilibj.DriverStation;
+
+/**
+ * Looks after the telemetry directory on a low priority background thread.
+ * Sessions handed over by TelemetrySessions are closed and get their index written straight away, then while the
+ * robot is disabled finished files are gzipped and the oldest files are deleted once the directory is over its size
+ * limit. Compression checks the robot is still disabled between every block and gives up if it isn't, so it never
+ * runs while the control loop needs the CPU. Files left behind by a reboot are picked up the same way
+ */
+public class TelemetryArchiver {
+
+    public static final String FILE_EXTENSION = ".bin";
+    public static final String COMPRESSED_EXTENSION = ".bin.gz";
+
+    // Time between passes over the directory
+    private static final long PERIOD_MS = 1000;
+
+    // Amount compressed between checks that the robot is still disabled
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final long maxDirectoryBytes;
+
+    // True when it is OK to use the CPU and disk, normally while the robot is disabled
+    private final BooleanSupplier canRun;
+
+    // Sessions the loop has stopped writing that still need closing
+    private final ConcurrentLinkedQueue<ClosedSession> closedSessions = new ConcurrentLinkedQueue<>();
+
+    // Files of the queued sessions, left alone until they are closed
+    private final Set<Path> closingFiles = ConcurrentHashMap.newKeySet();
+
+    // The file being written, never compressed or deleted
+    private volatile Path activeFile;
+
+    private final byte[] block = new byte[BLOCK_SIZE];
+
+    private Thread thread;
+
+    /**
+     * Create an archiver for a directory, start() has to be called for it to run
+     *
+     * @param directory         the telemetry directory
+     * @param maxDirectoryBytes the most space the telemetry files can take up
+     * @param canRun            returns true when compressing and deleting is allowed
+     */
+    public TelemetryArchiver(Path directory, long maxDirectoryBytes, BooleanSupplier canRun) {
+        this.directory = directory;
+        this.maxDirectoryBytes = maxDirectoryBytes;
+        this.canRun = canRun;
+    }
+
+    /**
+     * Start the background thread, safe to call more than once
+     */
+    public synchronized void start() {
+        if (thread != null)
+            return;
+
+        thread = new Thread(this::archiveLoop, "Telemetry-Archiver");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Set the file that is being written so it is left alone, the old file should be handed to finish() first
+     *
+     * @param file the active telemetry file
+     */
+    public void setActiveFile(Path file) {
+        activeFile = file;
+    }
+
+    /**
+     * Hand over a session that the loop is done with, it is closed and its index written on the background thread
+     *
+     * @param recorder the recorder to close
+     * @param index    the mode changes in the session
+     */
+    public void finish(TelemetryRecorder recorder, TelemetryIndex index) {
+        closingFiles.add(recorder.getFile());
+        closedSessions.add(new ClosedSession(recorder, index));
+    }
+
+    /**
+     * One pass over the directory, called once a second by the background thread
+     */
+    public void runOnce() {
+        finishClosedSessions();
+
+        if (!canRun.getAsBoolean())
+            return;
+
+        try {
+            if (!compressFinishedFiles())
+                return;
+
+            deleteOldFiles();
+        } catch (IOException e) {
+            DriverStation.reportError("Telemetry archiver failed: " + e, false);
+        }
+    }
+
+    /**
+     * Closes the recorders handed over by the loop and writes their index files
+     */
+    private void finishClosedSessions() {
+        ClosedSession session;
+        while ((session = closedSessions.poll()) != null) {
+            Path file = session.recorder.getFile();
+            session.recorder.close();
+
+            try {
+                session.index.write(TelemetryIndex.indexFileFor(file));
+            } catch (IOException e) {
+                DriverStation.reportError("Could not write telemetry index for " + file + ": " + e, false);
+            }
+
+            closingFiles.remove(file);
+        }
+    }
+
+    /**
+     * Gzips every finished telemetry file
+     *
+     * @return false if the robot was enabled part way through
+     */
+    private boolean compressFinishedFiles() throws IOException {
+        for (Path file : listFiles()) {
+            String name = file.getFileName().toString();
+            if (!name.endsWith(FILE_EXTENSION) || isInUse(file))
+                continue;
+
+            // Files cut off by a reboot never had their index written
+            Path indexFile = TelemetryIndex.indexFileFor(file);
+            if (!Files.exists(indexFile)) {
+                try (TelemetryReader reader = new TelemetryReader(file)) {
+                    TelemetryIndex.scan(reader).write(indexFile);
+                } catch (IOException e) {
+                    DriverStation.reportWarning("Skipping unreadable telemetry file " + file + ": " + e, false);
+                    continue;
+                }
+            }
+
+            if (!compress(file))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Compresses one file, the original is only deleted once the compressed copy is complete
+     *
+     * @return false if the robot was enabled part way through
+     */
+    private boolean compress(Path file) throws IOException {
+        Path target = file.resolveSibling(baseName(file) + COMPRESSED_EXTENSION);
+        Path partial = file.resolveSibling(target.getFileName() + ".tmp");
+
+        boolean complete = false;
+        try (InputStream in = Files.newInputStream(file);
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), BLOCK_SIZE)) {
+
+            int read;
+            while ((read = in.read(block)) > 0) {
+                if (!canRun.getAsBoolean())
+                    return false;
+
+                out.write(block, 0, read);
+            }
+            complete = true;
+        } finally {
+            if (!complete)
+                Files.deleteIfExists(partial);
+        }
+
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(file);
+        return true;
+    }
+
+    /**
+     * Deletes the oldest telemetry files and their indexes until the directory fits in its limit
+     */
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = listFiles();
+
+        long total = 0;
+        List<Path> telemetryFiles = new ArrayList<>();
+        for (Path file : files) {
+            total += Files.size(file);
+
+            String name = file.getFileName().toString();
+            if (name.endsWith(FILE_EXTENSION) || name.endsWith(COMPRESSED_EXTENSION))
+                telemetryFiles.add(file);
+        }
+
+        if (total <= maxDirectoryBytes)
+            return;
+
+        // Oldest recordings first
+        telemetryFiles.sort((a, b) -> {
+            try {
+                return Files.getLastModifiedTime(a).compareTo(Files.getLastModifiedTime(b));
+            } catch (IOException e) {
+                return 0;
+            }
+        });
+
+        for (Path file : telemetryFiles) {
+            if (total <= maxDirectoryBytes)
+                break;
+            if (isInUse(file))
+                continue;
+
+            total -= Files.size(file);
+            Files.delete(file);
+
+            Path indexFile = TelemetryIndex.indexFileFor(file);
+            if (Files.exists(indexFile)) {
+                total -= Files.size(indexFile);
+                Files.delete(indexFile);
+            }
+        }
+    }
+
+    /**
+     * Whether a file is still being written or waiting to be closed
+     */
+    private boolean isInUse(Path file) {
+        return file.equals(activeFile) || closingFiles.contains(file);
+    }
+
+    /**
+     * Lists the telemetry and index files in the directory
+     */
+    private List<Path> listFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory))
+            return files;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(FILE_EXTENSION) || name.endsWith(COMPRESSED_EXTENSION)
+                        || name.endsWith(TelemetryIndex.EXTENSION))
+                    files.add(file);
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Runs on the background thread
+     */
+    private void archiveLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            runOnce();
+
+            try {
+                Thread.sleep(PERIOD_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A recorder and its index waiting to be closed
+     */
+    private static class ClosedSession {
+        final TelemetryRecorder recorder;
+        final TelemetryIndex index;
+
+        ClosedSession(TelemetryRecorder recorder, TelemetryIndex index) {
+            this.recorder = recorder;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Gets the name of a telemetry or index file without its extension
+     *
+     * @param file the file
+     * @return the name shared by the telemetry file and its index
+     */
+    public static String baseName(Path file) {
+        String name = file.getFileName().toString();
+
+        if (name.endsWith(COMPRESSED_EXTENSION))
+            return name.substring(0, name.length() - COMPRESSED_EXTENSION.length());
+        if (name.endsWith(FILE_EXTENSION))
+            return name.substring(0, name.length() - FILE_EXTENSION.length());
+        if (name.endsWith(TelemetryIndex.EXTENSION))
+            return name.substring(0, name.length() - TelemetryIndex.EXTENSION.length());
+
+        return name;
+    }
+}
@@ -0,0 +1,73 @@
+package frc.robot.Utilities.Telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Desktop tool that turns a telemetry file into a CSV file, run with ./gradlew decodeTelemetry
+ *
+ * Usage: TelemetryDecoder input.bin [output.csv], the CSV is printed if no output file is given.
+ * Compressed files from the archiver (.bin.gz) can be read directly
+ */
+public class TelemetryDecoder {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TelemetryDecoder <input.bin> [output.csv]");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+
+        try (TelemetryReader reader = TelemetryReader.open(input);
+                Writer writer = args.length > 1
+                        ? Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)
+                        : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+
+            writeCsv(reader, writer);
+            writer.flush();
+
+            if (args.length > 1) {
+                System.out.println("Wrote " + reader.getRecordCount() + " records to " + args[1]);
+            }
+        }
+    }
+
+    /**
+     * Writes every record as a line of CSV with a header line first
+     *
+     * @param reader the file to read
+     * @param writer where to write the CSV
+     */
+    public static void writeCsv(TelemetryReader reader, Writer writer) throws IOException {
+        writer.write(String.join(",", TelemetryFormat.FIELD_NAMES));
+        writer.write('\n');
+
+        StringBuilder line = new StringBuilder(512);
+
+        for (int i = 0; i < reader.getRecordCount(); i++) {
+            line.setLength(0);
+
+            for (int field = 0; field < TelemetryFormat.FIELD_NAMES.length; field++) {
+                if (field > 0)
+                    line.append(',');
+
+                // Whole number fields are written without a decimal point
+                double value = reader.readField(i, field);
+                if (field == 1 || field == 2 || field == 3)
+                    line.append((long) value);
+                else
+                    line.append(value);
+            }
+            line.append('\n');
+
+            writer.append(line);
+        }
+    }
+}
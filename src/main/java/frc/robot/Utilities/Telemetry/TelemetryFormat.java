@@ -0,0 +1,249 @@
+package frc.robot.Utilities.Telemetry;
+
+import java.nio.ByteBuffer;
+
+import frc.robot.Hardware.RobotStateFrame;
+
+/**
+ * Layout of the telemetry files written by TelemetryRecorder.
+ * A file is a fixed size header followed by fixed size records, one per robot loop, all little endian.
+ * The record count in the header is updated after every record so a file cut off by a power loss can still be read
+ *
+ * Header: magic (int), version (int), header size (int), record size (int), record count (long), start time (long, epoch ms)
+ */
+public final class TelemetryFormat {
+
+    // "AEMB" so the decoder can tell it has the right kind of file
+    public static final int MAGIC = 0x424D4541;
+
+    // Bump whenever the record layout changes
+    public static final int VERSION = 4;
+
+    //region Header
+
+    public static final int HEADER_MAGIC = 0;
+    public static final int HEADER_VERSION = 4;
+    public static final int HEADER_HEADER_SIZE = 8;
+    public static final int HEADER_RECORD_SIZE = 12;
+    public static final int HEADER_RECORD_COUNT = 16;
+    public static final int HEADER_START_TIME = 24;
+
+    // Padded so records line up on 8 byte boundaries with room to add header fields later
+    public static final int HEADER_SIZE = 64;
+
+    //endregion
+
+    //region Record
+
+    public static final int TIMESTAMP = 0;
+    public static final int CYCLE_COUNT = 8;
+    public static final int ROBOT_MODE = 16;
+    public static final int AUTO_STAGE = 20;
+
+    // Every field after this point is a double
+    public static final int FIRST_DOUBLE = 24;
+
+    public static final int LEFT_DISTANCE = FIRST_DOUBLE;
+    public static final int RIGHT_DISTANCE = FIRST_DOUBLE + 8;
+    public static final int LEFT_RATE = FIRST_DOUBLE + 16;
+    public static final int RIGHT_RATE = FIRST_DOUBLE + 24;
+    public static final int GYRO_ANGLE = FIRST_DOUBLE + 32;
+    public static final int GYRO_RATE = FIRST_DOUBLE + 40;
+    public static final int GYRO_YAW = FIRST_DOUBLE + 48;
+    public static final int FLYWHEEL_RPM = FIRST_DOUBLE + 56;
+    public static final int FLYWHEEL_CURRENT_1 = FIRST_DOUBLE + 64;
+    public static final int FLYWHEEL_CURRENT_2 = FIRST_DOUBLE + 72;
+    public static final int BELT_CURRENT = FIRST_DOUBLE + 80;
+    public static final int FRONT_INDEXER_CURRENT = FIRST_DOUBLE + 88;
+    public static final int BACK_INDEXER_CURRENT = FIRST_DOUBLE + 96;
+    public static final int PDP_VOLTAGE = FIRST_DOUBLE + 104;
+    public static final int LIMELIGHT_X = FIRST_DOUBLE + 112;
+    public static final int LIMELIGHT_Y = FIRST_DOUBLE + 120;
+    public static final int LIMELIGHT_VALID = FIRST_DOUBLE + 128;
+    public static final int LEFT_CURRENT_1 = FIRST_DOUBLE + 136;
+    public static final int LEFT_CURRENT_2 = FIRST_DOUBLE + 144;
+    public static final int LEFT_CURRENT_3 = FIRST_DOUBLE + 152;
+    public static final int RIGHT_CURRENT_1 = FIRST_DOUBLE + 160;
+    public static final int RIGHT_CURRENT_2 = FIRST_DOUBLE + 168;
+    public static final int RIGHT_CURRENT_3 = FIRST_DOUBLE + 176;
+    public static final int LIMELIGHT_LATENCY = FIRST_DOUBLE + 184;
+
+    // Outputs come after the inputs
+    public static final int DRIVE_POWER = FIRST_DOUBLE + 192;
+    public static final int TURN_POWER = FIRST_DOUBLE + 200;
+    public static final int POSE_X = FIRST_DOUBLE + 208;
+    public static final int POSE_Y = FIRST_DOUBLE + 216;
+    public static final int POSE_HEADING = FIRST_DOUBLE + 224;
+    public static final int PATH_ACTIVE = FIRST_DOUBLE + 232;
+
+    public static final int RECORD_SIZE = FIRST_DOUBLE + 240;
+
+    // Column names in record order, used by the decoder
+    public static final String[] FIELD_NAMES = {
+        "timestamp", "cycle", "mode", "autoStage",
+        "leftDistance", "rightDistance", "leftRate", "rightRate",
+        "gyroAngle", "gyroRate", "gyroYaw",
+        "flywheelRPM", "flywheelCurrent1", "flywheelCurrent2",
+        "beltCurrent", "frontIndexerCurrent", "backIndexerCurrent",
+        "pdpVoltage", "limelightX", "limelightY", "limelightValid",
+        "leftCurrent1", "leftCurrent2", "leftCurrent3", "rightCurrent1", "rightCurrent2", "rightCurrent3",
+        "limelightLatency",
+        "drivePower", "turnPower", "poseX", "poseY", "poseHeading", "pathActive"
+    };
+
+    // Where each of the fields in FIELD_NAMES is in a record
+    public static final int[] FIELD_OFFSETS = {
+        TIMESTAMP, CYCLE_COUNT, ROBOT_MODE, AUTO_STAGE,
+        LEFT_DISTANCE, RIGHT_DISTANCE, LEFT_RATE, RIGHT_RATE,
+        GYRO_ANGLE, GYRO_RATE, GYRO_YAW,
+        FLYWHEEL_RPM, FLYWHEEL_CURRENT_1, FLYWHEEL_CURRENT_2,
+        BELT_CURRENT, FRONT_INDEXER_CURRENT, BACK_INDEXER_CURRENT,
+        PDP_VOLTAGE, LIMELIGHT_X, LIMELIGHT_Y, LIMELIGHT_VALID,
+        LEFT_CURRENT_1, LEFT_CURRENT_2, LEFT_CURRENT_3, RIGHT_CURRENT_1, RIGHT_CURRENT_2, RIGHT_CURRENT_3,
+        LIMELIGHT_LATENCY,
+        DRIVE_POWER, TURN_POWER, POSE_X, POSE_Y, POSE_HEADING, PATH_ACTIVE
+    };
+
+    //endregion
+
+    private TelemetryFormat() {
+    }
+
+    /**
+     * Writes the file header
+     *
+     * @param buffer          the buffer the file is mapped to
+     * @param startEpochMillis wall clock time the recording started
+     */
+    public static void writeHeader(ByteBuffer buffer, long startEpochMillis) {
+        buffer.putInt(HEADER_MAGIC, MAGIC);
+        buffer.putInt(HEADER_VERSION, VERSION);
+        buffer.putInt(HEADER_HEADER_SIZE, HEADER_SIZE);
+        buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        buffer.putLong(HEADER_RECORD_COUNT, 0);
+        buffer.putLong(HEADER_START_TIME, startEpochMillis);
+    }
+
+    /**
+     * Writes a frame into the buffer using absolute puts, so nothing is copied or allocated
+     *
+     * @param buffer the buffer to write into
+     * @param offset where the record starts in the buffer
+     * @param frame  the values to write
+     */
+    public static void writeRecord(ByteBuffer buffer, int offset, RobotStateFrame frame) {
+        buffer.putDouble(offset + TIMESTAMP, frame.timestampSeconds);
+        buffer.putLong(offset + CYCLE_COUNT, frame.cycleCount);
+        buffer.putInt(offset + ROBOT_MODE, frame.robotMode);
+        buffer.putInt(offset + AUTO_STAGE, frame.autoStage);
+
+        buffer.putDouble(offset + LEFT_DISTANCE, frame.leftDistanceMeters);
+        buffer.putDouble(offset + RIGHT_DISTANCE, frame.rightDistanceMeters);
+        buffer.putDouble(offset + LEFT_RATE, frame.leftRateMetersPerSecond);
+        buffer.putDouble(offset + RIGHT_RATE, frame.rightRateMetersPerSecond);
+        buffer.putDouble(offset + GYRO_ANGLE, frame.gyroAngleDegrees);
+        buffer.putDouble(offset + GYRO_RATE, frame.gyroRateDegreesPerSecond);
+        buffer.putDouble(offset + GYRO_YAW, frame.gyroYawDegrees);
+        buffer.putDouble(offset + FLYWHEEL_RPM, frame.flywheelVelocityRPM);
+        buffer.putDouble(offset + FLYWHEEL_CURRENT_1, frame.flywheelCurrents[0]);
+        buffer.putDouble(offset + FLYWHEEL_CURRENT_2, frame.flywheelCurrents[1]);
+        buffer.putDouble(offset + BELT_CURRENT, frame.beltCurrent);
+        buffer.putDouble(offset + FRONT_INDEXER_CURRENT, frame.frontIndexerCurrent);
+        buffer.putDouble(offset + BACK_INDEXER_CURRENT, frame.backIndexerCurrent);
+        buffer.putDouble(offset + PDP_VOLTAGE, frame.pdpVoltage);
+        buffer.putDouble(offset + LIMELIGHT_X, frame.limelightX);
+        buffer.putDouble(offset + LIMELIGHT_Y, frame.limelightY);
+        buffer.putDouble(offset + LIMELIGHT_VALID, frame.limelightValidTarget);
+        buffer.putDouble(offset + LEFT_CURRENT_1, frame.leftCurrents[0]);
+        buffer.putDouble(offset + LEFT_CURRENT_2, frame.leftCurrents[1]);
+        buffer.putDouble(offset + LEFT_CURRENT_3, frame.leftCurrents[2]);
+        buffer.putDouble(offset + RIGHT_CURRENT_1, frame.rightCurrents[0]);
+        buffer.putDouble(offset + RIGHT_CURRENT_2, frame.rightCurrents[1]);
+        buffer.putDouble(offset + RIGHT_CURRENT_3, frame.rightCurrents[2]);
+        buffer.putDouble(offset + LIMELIGHT_LATENCY, frame.limelightLatencyMs);
+
+        buffer.putDouble(offset + DRIVE_POWER, frame.drivePower);
+        buffer.putDouble(offset + TURN_POWER, frame.turnPower);
+        buffer.putDouble(offset + POSE_X, frame.poseXMeters);
+        buffer.putDouble(offset + POSE_Y, frame.poseYMeters);
+        buffer.putDouble(offset + POSE_HEADING, frame.poseHeadingDegrees);
+        buffer.putDouble(offset + PATH_ACTIVE, frame.pathActive ? 1 : 0);
+    }
+
+    /**
+     * Reads a record back into a frame, the opposite of writeRecord()
+     *
+     * @param buffer the buffer to read from
+     * @param offset where the record starts in the buffer
+     * @param frame  the frame to fill
+     */
+    public static void readRecord(ByteBuffer buffer, int offset, RobotStateFrame frame) {
+        readInputs(buffer, offset, frame);
+
+        frame.autoStage = buffer.getInt(offset + AUTO_STAGE);
+        frame.drivePower = buffer.getDouble(offset + DRIVE_POWER);
+        frame.turnPower = buffer.getDouble(offset + TURN_POWER);
+        frame.poseXMeters = buffer.getDouble(offset + POSE_X);
+        frame.poseYMeters = buffer.getDouble(offset + POSE_Y);
+        frame.poseHeadingDegrees = buffer.getDouble(offset + POSE_HEADING);
+        frame.pathActive = buffer.getDouble(offset + PATH_ACTIVE) != 0;
+    }
+
+    /**
+     * Reads only the time, mode and sensor values of a record, the outputs in the frame are left alone.
+     * Used by replay so the outputs seen are the ones the replayed code made
+     *
+     * @param buffer the buffer to read from
+     * @param offset where the record starts in the buffer
+     * @param frame  the frame to fill
+     */
+    public static void readInputs(ByteBuffer buffer, int offset, RobotStateFrame frame) {
+        frame.timestampSeconds = buffer.getDouble(offset + TIMESTAMP);
+        frame.cycleCount = buffer.getLong(offset + CYCLE_COUNT);
+        frame.robotMode = buffer.getInt(offset + ROBOT_MODE);
+
+        frame.leftDistanceMeters = buffer.getDouble(offset + LEFT_DISTANCE);
+        frame.rightDistanceMeters = buffer.getDouble(offset + RIGHT_DISTANCE);
+        frame.leftRateMetersPerSecond = buffer.getDouble(offset + LEFT_RATE);
+        frame.rightRateMetersPerSecond = buffer.getDouble(offset + RIGHT_RATE);
+        frame.gyroAngleDegrees = buffer.getDouble(offset + GYRO_ANGLE);
+        frame.gyroRateDegreesPerSecond = buffer.getDouble(offset + GYRO_RATE);
+        frame.gyroYawDegrees = buffer.getDouble(offset + GYRO_YAW);
+        frame.flywheelVelocityRPM = buffer.getDouble(offset + FLYWHEEL_RPM);
+        frame.flywheelCurrents[0] = buffer.getDouble(offset + FLYWHEEL_CURRENT_1);
+        frame.flywheelCurrents[1] = buffer.getDouble(offset + FLYWHEEL_CURRENT_2);
+        frame.beltCurrent = buffer.getDouble(offset + BELT_CURRENT);
+        frame.frontIndexerCurrent = buffer.getDouble(offset + FRONT_INDEXER_CURRENT);
+        frame.backIndexerCurrent = buffer.getDouble(offset + BACK_INDEXER_CURRENT);
+        frame.pdpVoltage = buffer.getDouble(offset + PDP_VOLTAGE);
+        frame.limelightX = buffer.getDouble(offset + LIMELIGHT_X);
+        frame.limelightY = buffer.getDouble(offset + LIMELIGHT_Y);
+        frame.limelightValidTarget = buffer.getDouble(offset + LIMELIGHT_VALID);
+        frame.leftCurrents[0] = buffer.getDouble(offset + LEFT_CURRENT_1);
+        frame.leftCurrents[1] = buffer.getDouble(offset + LEFT_CURRENT_2);
+        frame.leftCurrents[2] = buffer.getDouble(offset + LEFT_CURRENT_3);
+        frame.rightCurrents[0] = buffer.getDouble(offset + RIGHT_CURRENT_1);
+        frame.rightCurrents[1] = buffer.getDouble(offset + RIGHT_CURRENT_2);
+        frame.rightCurrents[2] = buffer.getDouble(offset + RIGHT_CURRENT_3);
+        frame.limelightLatencyMs = buffer.getDouble(offset + LIMELIGHT_LATENCY);
+    }
+
+    /**
+     * Reads one field of a record as a double, used by tools that treat every field the same way
+     *
+     * @param buffer the buffer to read from
+     * @param offset where the record starts in the buffer
+     * @param field  the index of the field in FIELD_NAMES
+     * @return the value
+     */
+    public static double readField(ByteBuffer buffer, int offset, int field) {
+        int fieldOffset = FIELD_OFFSETS[field];
+
+        if (fieldOffset == CYCLE_COUNT)
+            return buffer.getLong(offset + fieldOffset);
+        if (fieldOffset == ROBOT_MODE || fieldOffset == AUTO_STAGE)
+            return buffer.getInt(offset + fieldOffset);
+
+        return buffer.getDouble(offset + fieldOffset);
+    }
+}
@@ -0,0 +1,171 @@
+package frc.robot.Utilities.Telemetry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import frc.robot.Hardware.RobotStateFrame;
+
+/**
+ * List of the places in a telemetry file where the robot changed modes, so a tool can jump straight to auto or
+ * teleop without reading the whole file. Saved next to the telemetry file as a small CSV file with the same name
+ * and the .idx extension, and can be rebuilt from the records if it was never written
+ */
+public class TelemetryIndex {
+
+    public static final String EXTENSION = ".idx";
+
+    // A match only has a handful of mode changes, the arrays grow if a long session has more
+    private int[] records = new int[16];
+    private double[] timestamps = new double[16];
+    private int[] modes = new int[16];
+    private int size = 0;
+
+    /**
+     * Add a mode change
+     *
+     * @param record    the first record in the new mode
+     * @param timestamp the time of that record in seconds
+     * @param mode      the new mode, one of the RobotStateFrame MODE_ values
+     */
+    public void add(int record, double timestamp, int mode) {
+        if (size == records.length) {
+            records = Arrays.copyOf(records, size * 2);
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            modes = Arrays.copyOf(modes, size * 2);
+        }
+
+        records[size] = record;
+        timestamps[size] = timestamp;
+        modes[size] = mode;
+        size++;
+    }
+
+    /**
+     * Get the number of mode changes
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the first record of a mode change
+     */
+    public int getRecord(int i) {
+        return records[i];
+    }
+
+    /**
+     * Get the time of a mode change in seconds
+     */
+    public double getTimestamp(int i) {
+        return timestamps[i];
+    }
+
+    /**
+     * Get the mode that was started
+     */
+    public int getMode(int i) {
+        return modes[i];
+    }
+
+    /**
+     * Finds the first time the robot entered a mode
+     *
+     * @param mode one of the RobotStateFrame MODE_ values
+     * @return the first record in that mode, -1 if the robot was never in it
+     */
+    public int findFirst(int mode) {
+        for (int i = 0; i < size; i++) {
+            if (modes[i] == mode)
+                return records[i];
+        }
+        return -1;
+    }
+
+    /**
+     * Saves the index as CSV
+     *
+     * @param file the file to write
+     */
+    public void write(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("record,timestamp,mode\n");
+            for (int i = 0; i < size; i++) {
+                writer.write(records[i] + "," + timestamps[i] + "," + modes[i] + "\n");
+            }
+        }
+    }
+
+    /**
+     * Loads an index written by write()
+     *
+     * @param file the file to read
+     * @return the index
+     */
+    public static TelemetryIndex read(Path file) throws IOException {
+        TelemetryIndex index = new TelemetryIndex();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            // Skip the header line
+            String line = reader.readLine();
+            int lineNumber = 1;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty())
+                    continue;
+
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    throw new IOException(file + " line " + lineNumber + ": expected 3 values but found " + parts.length);
+                }
+
+                try {
+                    index.add(Integer.parseInt(parts[0]), Double.parseDouble(parts[1]), Integer.parseInt(parts[2]));
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + " line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Builds the index by reading the mode of every record, used for files whose index was never written
+     *
+     * @param reader the telemetry file
+     * @return the index
+     */
+    public static TelemetryIndex scan(TelemetryReader reader) {
+        TelemetryIndex index = new TelemetryIndex();
+        RobotStateFrame frame = new RobotStateFrame();
+        int lastMode = -1;
+
+        for (int i = 0; i < reader.getRecordCount(); i++) {
+            reader.readInputs(i, frame);
+
+            if (frame.robotMode != lastMode) {
+                index.add(i, frame.timestampSeconds, frame.robotMode);
+                lastMode = frame.robotMode;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Get the index file that goes with a telemetry file
+     *
+     * @param telemetryFile the telemetry file, compressed or not
+     * @return the index file next to it
+     */
+    public static Path indexFileFor(Path telemetryFile) {
+        return telemetryFile.resolveSibling(TelemetryArchiver.baseName(telemetryFile) + EXTENSION);
+    }
+}
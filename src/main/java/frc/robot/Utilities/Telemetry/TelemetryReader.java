@@ -0,0 +1,162 @@
+package frc.robot.Utilities.Telemetry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+import frc.robot.Hardware.RobotStateFrame;
+
+/**
+ * Reads a file written by TelemetryRecorder, meant to be used on a desktop.
+ * The file is mapped read only and records are read straight out of the mapped memory
+ */
+public class TelemetryReader implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private final int recordCount;
+    private final long startEpochMillis;
+
+    // Decompressed copy of a .gz file, deleted when the reader is closed
+    private Path temporaryFile;
+
+    /**
+     * Open a telemetry file, gzipped files from the archiver are decompressed to a temporary file first
+     *
+     * @param file the file to read
+     * @return the reader
+     * @throws IOException if the file can't be read or isn't a telemetry file this version understands
+     */
+    public static TelemetryReader open(Path file) throws IOException {
+        if (!file.getFileName().toString().endsWith(".gz"))
+            return new TelemetryReader(file);
+
+        Path temporary = Files.createTempFile("telemetry", TelemetryArchiver.FILE_EXTENSION);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            Files.copy(in, temporary, StandardCopyOption.REPLACE_EXISTING);
+
+            TelemetryReader reader = new TelemetryReader(temporary);
+            reader.temporaryFile = temporary;
+            return reader;
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Open a telemetry file
+     *
+     * @param file the file to read
+     * @throws IOException if the file can't be read or isn't a telemetry file this version understands
+     */
+    public TelemetryReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        long size = channel.size();
+        if (size < TelemetryFormat.HEADER_SIZE) {
+            channel.close();
+            throw new IOException(file + " is too small to be a telemetry file");
+        }
+
+        if (size > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException(file + " is too large to read");
+        }
+
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt(TelemetryFormat.HEADER_MAGIC) != TelemetryFormat.MAGIC) {
+            channel.close();
+            throw new IOException(file + " is not a telemetry file");
+        }
+
+        int version = buffer.getInt(TelemetryFormat.HEADER_VERSION);
+        int recordSize = buffer.getInt(TelemetryFormat.HEADER_RECORD_SIZE);
+        if (version != TelemetryFormat.VERSION || recordSize != TelemetryFormat.RECORD_SIZE) {
+            channel.close();
+            throw new IOException(file + " is telemetry version " + version + ", this reader only reads version "
+                    + TelemetryFormat.VERSION);
+        }
+
+        // Trust the header count but never read past the end of the file, it may have been cut off
+        long written = buffer.getLong(TelemetryFormat.HEADER_RECORD_COUNT);
+        long fits = (size - TelemetryFormat.HEADER_SIZE) / TelemetryFormat.RECORD_SIZE;
+        recordCount = (int) Math.min(written, fits);
+
+        startEpochMillis = buffer.getLong(TelemetryFormat.HEADER_START_TIME);
+    }
+
+    /**
+     * Get the number of records in the file
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Get the wall clock time the recording was started
+     *
+     * @return milliseconds since the epoch
+     */
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Reads one record into a frame
+     *
+     * @param index the record to read
+     * @param frame the frame to fill
+     */
+    public void read(int index, RobotStateFrame frame) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        TelemetryFormat.readRecord(buffer, TelemetryFormat.HEADER_SIZE + index * TelemetryFormat.RECORD_SIZE, frame);
+    }
+
+    /**
+     * Reads one field of a record
+     *
+     * @param index the record to read
+     * @param field the index of the field in TelemetryFormat.FIELD_NAMES
+     * @return the value as a double
+     */
+    public double readField(int index, int field) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        return TelemetryFormat.readField(buffer, TelemetryFormat.HEADER_SIZE + index * TelemetryFormat.RECORD_SIZE, field);
+    }
+
+    /**
+     * Reads the time, mode and sensor values of one record into a frame without touching its outputs
+     *
+     * @param index the record to read
+     * @param frame the frame to fill
+     */
+    public void readInputs(int index, RobotStateFrame frame) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        TelemetryFormat.readInputs(buffer, TelemetryFormat.HEADER_SIZE + index * TelemetryFormat.RECORD_SIZE, frame);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+
+        if (temporaryFile != null)
+            Files.deleteIfExists(temporaryFile);
+    }
+}
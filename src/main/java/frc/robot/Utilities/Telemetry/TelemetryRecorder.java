@@ -0,0 +1,245 @@
+package frc.robot.Utilities.Telemetry;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import frc.robot.Hardware.RobotStateFrame;
+
+/**
+ * Records every RobotStateFrame to a binary file on the roboRIO so we have a full record of a match.
+ * The file is memory mapped in chunks and each record is written straight into the mapped memory, so recording
+ * a loop is a handful of stores with no copies, allocations or system calls. The OS writes the pages to disk and
+ * a background thread asks it to do so once a second so little is lost if the robot is turned off.
+ * A new chunk is mapped when the current one fills, which is the only time the recorder allocates, and the full one
+ * is handed to the background thread to be written out
+ *
+ * record() should only be called from the robot loop thread. close() can be called from any thread once the loop has
+ * stopped recording, TelemetryArchiver closes finished sessions on its own thread
+ */
+public class TelemetryRecorder implements AutoCloseable {
+
+    // About 20 minutes of 50hz loops per chunk
+    public static final int DEFAULT_RECORDS_PER_CHUNK = 60_000;
+
+    // Stop recording once the file is this big so a stuck robot can't fill the disk
+    public static final long DEFAULT_MAX_FILE_BYTES = 256L * 1024 * 1024;
+
+    // Time between asking the OS to write the file out
+    private static final long SYNC_PERIOD_MS = 1000;
+
+    private final Path file;
+    private final FileChannel channel;
+
+    private final int chunkBytes;
+    private final long maxFileBytes;
+
+    // Mapped header, holds the record count
+    private final MappedByteBuffer header;
+
+    // The chunk being written to and where it starts in the file
+    private volatile MappedByteBuffer chunk;
+    private long chunkStart;
+
+    // Full chunks waiting for the sync thread to write them out
+    private final ConcurrentLinkedQueue<MappedByteBuffer> fullChunks = new ConcurrentLinkedQueue<>();
+
+    // Bytes used in the current chunk
+    private int chunkPosition = 0;
+
+    private long recordCount = 0;
+
+    // Set once the file is full, closed or failed so record() does nothing
+    private volatile boolean stopped = false;
+
+    // Asks the OS to write the mapped pages to disk
+    private final Thread syncThread;
+
+    /**
+     * Create a new recording, any file already at the path is replaced
+     *
+     * @param file the file to write
+     * @throws IOException if the file can't be created or mapped
+     */
+    public TelemetryRecorder(Path file) throws IOException {
+        this(file, DEFAULT_RECORDS_PER_CHUNK, DEFAULT_MAX_FILE_BYTES);
+    }
+
+    /**
+     * Create a new recording, any file already at the path is replaced
+     *
+     * @param file            the file to write
+     * @param recordsPerChunk number of records mapped at a time
+     * @param maxFileBytes    size the file is allowed to grow to
+     * @throws IOException if the file can't be created or mapped
+     */
+    public TelemetryRecorder(Path file, int recordsPerChunk, long maxFileBytes) throws IOException {
+        this.file = file;
+        this.chunkBytes = recordsPerChunk * TelemetryFormat.RECORD_SIZE;
+        this.maxFileBytes = maxFileBytes;
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, TelemetryFormat.HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        TelemetryFormat.writeHeader(header, System.currentTimeMillis());
+
+        mapChunk(TelemetryFormat.HEADER_SIZE);
+
+        syncThread = new Thread(this::syncLoop, "Telemetry-Sync");
+        syncThread.setDaemon(true);
+        syncThread.setPriority(Thread.MIN_PRIORITY);
+        syncThread.start();
+    }
+
+    /**
+     * Write one frame to the file, called at the end of every loop
+     *
+     * @param frame the values to record
+     */
+    public void record(RobotStateFrame frame) {
+        if (stopped)
+            return;
+
+        if (chunkPosition + TelemetryFormat.RECORD_SIZE > chunkBytes) {
+            if (!mapNextChunk())
+                return;
+        }
+
+        TelemetryFormat.writeRecord(chunk, chunkPosition, frame);
+        chunkPosition += TelemetryFormat.RECORD_SIZE;
+        recordCount++;
+
+        // Only count the record once it is fully written
+        header.putLong(TelemetryFormat.HEADER_RECORD_COUNT, recordCount);
+    }
+
+    /**
+     * Get the number of records written so far
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Get the file being written
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Whether or not the recorder has stopped writing because it was closed, filled the file or failed
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Write everything out, cut the file down to the records actually written and close it
+     */
+    @Override
+    public synchronized void close() {
+        if (stopped && !channel.isOpen())
+            return;
+
+        stopped = true;
+        syncThread.interrupt();
+
+        try {
+            header.force();
+            forceFullChunks();
+            chunk.force();
+
+            // Drop the unused end of the last chunk, some platforms won't shrink a mapped file so this is best effort
+            try {
+                channel.truncate(TelemetryFormat.HEADER_SIZE + recordCount * TelemetryFormat.RECORD_SIZE);
+            } catch (IOException e) {
+                DriverStation.reportWarning("Could not trim telemetry file " + file + ": " + e, false);
+            }
+
+            channel.close();
+        } catch (IOException e) {
+            DriverStation.reportError("Failed to close telemetry file " + file + ": " + e, false);
+        }
+    }
+
+    /**
+     * Maps the next chunk once the current one is full
+     *
+     * @return false if the recorder had to stop
+     */
+    private boolean mapNextChunk() {
+        long nextStart = chunkStart + chunkPosition;
+
+        if (nextStart + chunkBytes > maxFileBytes) {
+            DriverStation.reportWarning("Telemetry file " + file + " is full, recording stopped", false);
+            stopped = true;
+            return false;
+        }
+
+        try {
+            // Writing the full chunk out can stall for a while, leave it to the sync thread
+            fullChunks.add(chunk);
+            mapChunk(nextStart);
+            return true;
+        } catch (IOException e) {
+            DriverStation.reportError("Failed to grow telemetry file " + file + ": " + e, false);
+            stopped = true;
+            return false;
+        }
+    }
+
+    /**
+     * Maps a chunk of the file starting at the given position, the file grows to fit it
+     */
+    private void mapChunk(long start) throws IOException {
+        MappedByteBuffer next = channel.map(FileChannel.MapMode.READ_WRITE, start, chunkBytes);
+        next.order(ByteOrder.LITTLE_ENDIAN);
+
+        chunkStart = start;
+        chunkPosition = 0;
+        chunk = next;
+    }
+
+    /**
+     * Runs on the sync thread, has the OS write the mapped pages out once a second
+     */
+    private void syncLoop() {
+        while (!stopped) {
+            try {
+                Thread.sleep(SYNC_PERIOD_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (!stopped) {
+                forceFullChunks();
+                chunk.force();
+                header.force();
+            }
+        }
+    }
+
+    /**
+     * Has the OS write out the chunks that filled up since the last pass
+     */
+    private void forceFullChunks() {
+        MappedByteBuffer full;
+        while ((full = fullChunks.poll()) != null) {
+            full.force();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package frc.robot.Utilities.Telemetry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotState;
+import frc.robot.Communication.FMS;
+import frc.robot.Hardware.RobotStateFrame;
+
+/**
+ * Splits telemetry into one file per match.
+ * Frames are recorded to a general session until the FMS reports a match, then a new file named after the event and
+ * match is started and kept until the robot is disabled at the end of teleop. Every file gets an index of the loops
+ * where the mode changed. Finished files are handed to a TelemetryArchiver which compresses them and keeps the
+ * directory under its size limit while the robot is disabled
+ *
+ * Only record() and close() should be called, both from the robot loop thread
+ */
+public class TelemetrySessions {
+
+    // Default space the telemetry directory can use
+    public static final long DEFAULT_MAX_DIRECTORY_BYTES = 200L * 1024 * 1024;
+
+    // Loops between asking the FMS for the match while disabled, about once a second
+    private static final int MATCH_CHECK_LOOPS = 50;
+
+    private final Path directory;
+    private final long maxFileBytes;
+
+    // Returns the name of the match being played, null outside of a match
+    private final Supplier<String> matchName;
+
+    private final TelemetryArchiver archiver;
+
+    // Session being written, null if the file couldn't be opened
+    private TelemetryRecorder recorder;
+    private TelemetryIndex index;
+
+    // Match the current session belongs to, null for a general session
+    private String currentMatch;
+
+    // The last match that finished, so it doesn't get a second file while the FMS still reports it
+    private String completedMatch;
+
+    private int lastMode = -1;
+    private int loopsSinceMatchCheck = 0;
+
+    /**
+     * Create sessions that follow the FMS and compress while the robot is disabled
+     *
+     * @param directory the directory to write to
+     */
+    public TelemetrySessions(Path directory) {
+        this(directory, DEFAULT_MAX_DIRECTORY_BYTES, TelemetrySessions::getFMSMatchName, RobotState::isDisabled);
+        archiver.start();
+    }
+
+    /**
+     * Create sessions with their own match source, the archiver is not started
+     *
+     * @param directory         the directory to write to
+     * @param maxDirectoryBytes the most space the telemetry files can take up
+     * @param matchName         returns the name of the match being played, null outside of a match
+     * @param canArchive        returns true when compressing and deleting files is allowed
+     */
+    public TelemetrySessions(Path directory, long maxDirectoryBytes, Supplier<String> matchName, BooleanSupplier canArchive) {
+        this.directory = directory;
+        this.matchName = matchName;
+
+        // Leave room for older files, a match is only a few MB
+        this.maxFileBytes = Math.min(TelemetryRecorder.DEFAULT_MAX_FILE_BYTES, maxDirectoryBytes / 4);
+
+        archiver = new TelemetryArchiver(directory, maxDirectoryBytes, canArchive);
+    }
+
+    /**
+     * Write a frame to the current session, starting a new session first if a match has started or finished
+     *
+     * @param frame the frame to record
+     */
+    public void record(RobotStateFrame frame) {
+        boolean modeChanged = frame.robotMode != lastMode;
+        boolean opened = false;
+
+        // A match is over once the robot is disabled after teleop
+        if (modeChanged && lastMode == RobotStateFrame.MODE_TELEOP && frame.robotMode == RobotStateFrame.MODE_DISABLED
+                && currentMatch != null) {
+            completedMatch = currentMatch;
+            opened = openSession(null, frame);
+        }
+
+        // Look for a new match when the mode changes and every so often while disabled, building the name allocates
+        loopsSinceMatchCheck++;
+        if (modeChanged || (frame.robotMode == RobotStateFrame.MODE_DISABLED && loopsSinceMatchCheck >= MATCH_CHECK_LOOPS)) {
+            loopsSinceMatchCheck = 0;
+
+            String match = matchName.get();
+            if (match != null && !match.equals(currentMatch) && !match.equals(completedMatch))
+                opened = openSession(match, frame);
+
+            // First loop outside of a match, or the last file couldn't be opened
+            else if (recorder == null)
+                opened = openSession(null, frame);
+        }
+
+        lastMode = frame.robotMode;
+
+        if (recorder == null)
+            return;
+
+        // A new session already starts with the current mode
+        if (modeChanged && !opened)
+            index.add((int) recorder.getRecordCount(), frame.timestampSeconds, frame.robotMode);
+
+        recorder.record(frame);
+    }
+
+    /**
+     * Close the current session
+     */
+    public void close() {
+        if (recorder != null) {
+            archiver.finish(recorder, index);
+            archiver.setActiveFile(null);
+            recorder = null;
+        }
+    }
+
+    /**
+     * Get the file being written, null if nothing is being recorded
+     */
+    public Path getCurrentFile() {
+        return recorder == null ? null : recorder.getFile();
+    }
+
+    /**
+     * Get the match the current file belongs to, null for a general session
+     */
+    public String getCurrentMatch() {
+        return currentMatch;
+    }
+
+    /**
+     * Get the archiver looking after the directory
+     */
+    public TelemetryArchiver getArchiver() {
+        return archiver;
+    }
+
+    /**
+     * Hands the current session to the archiver and starts a new file
+     *
+     * @param match the match the new session is for, null for a general session
+     * @param frame the frame about to be recorded
+     * @return true if the new file was opened
+     */
+    private boolean openSession(String match, RobotStateFrame frame) {
+        close();
+
+        String time = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        String name = match == null ? "telemetry-" + time : match + "_" + time;
+
+        // Two sessions can start in the same second, don't write over the first
+        Path file = directory.resolve(name + TelemetryArchiver.FILE_EXTENSION);
+        for (int i = 2; Files.exists(file); i++) {
+            file = directory.resolve(name + "-" + i + TelemetryArchiver.FILE_EXTENSION);
+        }
+
+        try {
+            recorder = new TelemetryRecorder(file, TelemetryRecorder.DEFAULT_RECORDS_PER_CHUNK, maxFileBytes);
+            archiver.setActiveFile(recorder.getFile());
+
+            // Only move on to the new session once it is recording, otherwise the next check tries again
+            currentMatch = match;
+            index = new TelemetryIndex();
+            index.add(0, frame.timestampSeconds, frame.robotMode);
+            return true;
+        } catch (IOException e) {
+            DriverStation.reportError("Could not start telemetry recording: " + e, false);
+            return false;
+        }
+    }
+
+    /**
+     * Builds a file name for the match from the FMS, like "ORPOR_Qualification-12"
+     *
+     * @return the match name, null if the robot isn't playing a match
+     */
+    private static String getFMSMatchName() {
+        int matchNumber = FMS.getMatchNumber();
+        if (!FMS.isFMSAttached() || matchNumber <= 0)
+            return null;
+
+        // Event names come from the FMS so only keep characters that are safe in a file name
+        String event = FMS.getEventName().replaceAll("[^A-Za-z0-9]", "");
+        if (event.isEmpty())
+            event = "Event";
+
+        return event + "_" + FMS.getMatchType().name() + "-" + matchNumber;
+    }
+}
@@ -0,0 +1,156 @@
+package frc.robot.Utilities.Teleop;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Replacement for TeleopControl that keeps track of button state in bitsets.
+ * Buttons are registered once when the robot starts and get a fixed ID, so the order things are checked
+ * in teleopPeriodic no longer matters and nothing is allocated while the robot is running
+ */
+public class ButtonTracker {
+
+    // One bit per button so the most buttons that can be tracked is the width of a long
+    public static final int MAX_BUTTONS = Long.SIZE;
+
+    // Functions that read the raw value of each button
+    private final BooleanSupplier[] inputs = new BooleanSupplier[MAX_BUTTONS];
+
+    // Number of buttons registered so far
+    private int buttonCount = 0;
+
+    // Button state for this loop and the last loop
+    private long current = 0;
+    private long previous = 0;
+
+    // Buttons that were pressed or released this loop
+    private long rising = 0;
+    private long falling = 0;
+
+    // Toggle state of each button, flipped on every press
+    private long toggles = 0;
+
+    // Number of loops each button has been held down for
+    private final int[] heldLoops = new int[MAX_BUTTONS];
+
+    /**
+     * Registers a button to be tracked, should only be called when the robot starts
+     *
+     * @param input function that returns whether or not the button is pressed
+     * @return the ID used to check the button later
+     */
+    public int register(BooleanSupplier input) {
+        if (buttonCount >= MAX_BUTTONS) {
+            throw new IllegalStateException("Cannot track more than " + MAX_BUTTONS + " buttons");
+        }
+
+        inputs[buttonCount] = input;
+        return buttonCount++;
+    }
+
+    /**
+     * Reads all the buttons and works out which ones changed, call once at the start of every loop
+     */
+    public void update() {
+        previous = current;
+
+        long state = 0;
+        for (int i = 0; i < buttonCount; i++) {
+            if (inputs[i].getAsBoolean()) {
+                state |= (1L << i);
+                heldLoops[i]++;
+            } else {
+                heldLoops[i] = 0;
+            }
+        }
+        current = state;
+
+        // Buttons that are down now but weren't last loop, and the opposite
+        rising = current & ~previous;
+        falling = previous & ~current;
+
+        // Every new press flips the toggle
+        toggles ^= rising;
+    }
+
+    /**
+     * Whether or not the button is currently held down
+     *
+     * @param id the button ID
+     * @return the button state
+     */
+    public boolean isPressed(int id) {
+        return (current & (1L << id)) != 0;
+    }
+
+    /**
+     * Whether or not the button was first pressed this loop, used to run something once per press
+     *
+     * @param id the button ID
+     * @return true only on the loop the button goes down
+     */
+    public boolean wasPressed(int id) {
+        return (rising & (1L << id)) != 0;
+    }
+
+    /**
+     * Whether or not the button was let go this loop
+     *
+     * @param id the button ID
+     * @return true only on the loop the button comes up
+     */
+    public boolean wasReleased(int id) {
+        return (falling & (1L << id)) != 0;
+    }
+
+    /**
+     * Gets the toggle state of the button, it flips every time the button is pressed
+     *
+     * @param id the button ID
+     * @return the toggle state
+     */
+    public boolean isToggled(int id) {
+        return (toggles & (1L << id)) != 0;
+    }
+
+    /**
+     * Forces the toggle state of a button, used when something else turns off what the button turned on
+     *
+     * @param id    the button ID
+     * @param value the new toggle state
+     */
+    public void setToggled(int id, boolean value) {
+        if (value)
+            toggles |= (1L << id);
+        else
+            toggles &= ~(1L << id);
+    }
+
+    /**
+     * Whether or not the button has been held down for at least a number of loops
+     *
+     * @param id    the button ID
+     * @param loops the number of loops it has to be held for
+     * @return the hold state
+     */
+    public boolean isHeldFor(int id, int loops) {
+        return heldLoops[id] >= loops;
+    }
+
+    /**
+     * Gets the number of loops the button has been held down for
+     *
+     * @param id the button ID
+     * @return the loop count, 0 if not pressed
+     */
+    public int getHeldLoops(int id) {
+        return heldLoops[id];
+    }
+
+    /**
+     * Turns off every toggle, used when the robot changes modes. The pressed state is kept so a button
+     * that is held through the mode change doesn't count as a new press
+     */
+    public void resetToggles() {
+        toggles = 0;
+    }
+}
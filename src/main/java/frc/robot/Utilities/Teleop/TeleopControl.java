@@ -6,6 +6,8 @@ import java.util.ArrayList;
  * A modified variant of the TeleopStructure.java file used in previous years
  * (original author: Lizzy Milford)
  * 
+ * Robot.java now uses ButtonTracker instead, which doesn't depend on call order or allocate every loop
+ * 
  * @author Will Richards
  */
 public class TeleopControl {
@@ -0,0 +1,73 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import frc.robot.Utilities.Teleop.ButtonTracker;
+
+/**
+ * Tests for the edges, toggles and holds worked out by the button tracker
+ */
+public class ButtonTrackerTest{
+
+    // Fake button values that the tracker reads from
+    private boolean buttonA = false;
+    private boolean buttonB = false;
+
+    /**
+     * Checks a press and release of one button is seen once on the right loops
+     */
+    @Test
+    public void edgeTest(){
+        ButtonTracker buttons = new ButtonTracker();
+        int a = buttons.register(() -> buttonA);
+        int b = buttons.register(() -> buttonB);
+
+        boolean[] pressed =  {false, true, true, true, false, false};
+        boolean[] rising =   {false, true, false, false, false, false};
+        boolean[] falling =  {false, false, false, false, true, false};
+        int[] held =         {0, 1, 2, 3, 0, 0};
+
+        //Loop through each simulated robot loop
+        for (int i=0; i<pressed.length; i++){
+            buttonA = pressed[i];
+            buttons.update();
+
+            assertEquals(pressed[i], buttons.isPressed(a));
+            assertEquals(rising[i], buttons.wasPressed(a));
+            assertEquals(falling[i], buttons.wasReleased(a));
+            assertEquals(held[i], buttons.getHeldLoops(a));
+
+            // The other button never changes
+            assertFalse(buttons.isPressed(b));
+            assertFalse(buttons.wasPressed(b));
+        }
+
+        assertTrue(buttons.isToggled(a));
+        assertFalse(buttons.isToggled(b));
+    }
+
+    /**
+     * Checks the toggle flips once per press
+     */
+    @Test
+    public void toggleTest(){
+        ButtonTracker buttons = new ButtonTracker();
+        int b = buttons.register(() -> buttonB);
+
+        boolean[] pressed = {true, true, false, true, false, false, true};
+        boolean[] toggled = {true, true, true, false, false, false, true};
+
+        for (int i=0; i<pressed.length; i++){
+            buttonB = pressed[i];
+            buttons.update();
+            assertEquals(toggled[i], buttons.isToggled(b));
+        }
+
+        buttons.resetToggles();
+        buttons.update();
+        assertFalse(buttons.isToggled(b));
+        assertTrue(buttons.isHeldFor(b, 2));
+    }
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.assertEquals;
+
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import frc.robot.Hardware.RobotStateFrame;
+import frc.robot.Utilities.Telemetry.TelemetryFormat;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+import frc.robot.Utilities.Telemetry.TelemetryRecorder;
+import frc.robot.Utilities.Telemetry.Analysis.ColumnQueries;
+import frc.robot.Utilities.Telemetry.Analysis.ColumnarFile;
+
+/**
+ * Tests that recordings convert to columns and the event queries find what was recorded
+ */
+public class ColumnarFileTest{
+
+    /**
+     * Records a match with two shots, one late loop on a path and a battery that drops 0.01 V per amp
+     */
+    private static Path recordMatch(int loops) throws Exception {
+        Path file = Files.createTempFile("columns", ".bin");
+        TelemetryRecorder recorder = new TelemetryRecorder(file, 4096, 1 << 24);
+        RobotStateFrame frame = new RobotStateFrame();
+
+        double time = 0;
+        for (int i=0; i<loops; i++){
+            // Loop 150 runs 30 ms late
+            time += i == 150 ? 0.05 : 0.02;
+
+            frame.timestampSeconds = time;
+            frame.cycleCount = i;
+            frame.robotMode = RobotStateFrame.MODE_AUTONOMOUS;
+            frame.pathActive = i >= 100 && i < 200;
+
+            // Shots at loops 300 and 400, dropping 500 and 800 RPM
+            frame.flywheelVelocityRPM = 4500;
+            if (i >= 300 && i < 305)
+                frame.flywheelVelocityRPM = 4000;
+            if (i >= 400 && i < 405)
+                frame.flywheelVelocityRPM = 3700;
+
+            double current = i % 50;
+            for (int m=0; m<3; m++){
+                frame.leftCurrents[m] = current / 6;
+                frame.rightCurrents[m] = current / 6;
+            }
+            frame.pdpVoltage = 12.5 - 0.01 * current;
+
+            recorder.record(frame);
+        }
+
+        recorder.close();
+        return file;
+    }
+
+    @Test
+    public void convertTest() throws Exception {
+        int loops = 20000;
+        Path file = recordMatch(loops);
+        Path columnsFile = Files.createTempFile("columns", ColumnarFile.EXTENSION);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try (TelemetryReader reader = new TelemetryReader(file)) {
+            ColumnarFile.convert(reader, columnsFile, executor);
+
+            try (ColumnarFile columns = new ColumnarFile(columnsFile)) {
+                assertEquals(loops, columns.getRowCount());
+
+                DoubleBuffer cycle = columns.getColumn("cycle");
+                DoubleBuffer rpm = columns.getColumn("flywheelRPM");
+                int rpmField = Arrays.asList(TelemetryFormat.FIELD_NAMES).indexOf("flywheelRPM");
+                for (int i=0; i<loops; i++){
+                    assertEquals(i, cycle.get(i), 0);
+                    assertEquals(reader.readField(i, rpmField), rpm.get(i), 0);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Files.delete(file);
+        Files.delete(columnsFile);
+    }
+
+    @Test
+    public void queryTest() throws Exception {
+        Path file = recordMatch(1000);
+        Path columnsFile = Files.createTempFile("columns", ColumnarFile.EXTENSION);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (TelemetryReader reader = new TelemetryReader(file)) {
+            ColumnarFile.convert(reader, columnsFile, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        try (ColumnarFile columns = new ColumnarFile(columnsFile)) {
+            List<ColumnQueries.Shot> shots = ColumnQueries.shots(columns);
+            assertEquals(2, shots.size());
+            assertEquals(500, shots.get(0).getDropRPM(), 1e-9);
+            assertEquals(800, shots.get(1).getDropRPM(), 1e-9);
+
+            ColumnQueries.Overruns overruns = ColumnQueries.pathOverruns(columns);
+            assertEquals(99, overruns.pathLoops);
+            assertEquals(1, overruns.count);
+            assertEquals(0.05, overruns.worstSeconds, 1e-9);
+
+            ColumnQueries.Sag sag = ColumnQueries.batterySag(columns);
+            assertEquals(-0.01, sag.getSlope(), 1e-9);
+            assertEquals(12.5, sag.getIntercept(), 1e-9);
+            assertEquals(1, sag.getRSquared(), 1e-9);
+        }
+
+        Files.delete(file);
+        Files.delete(columnsFile);
+    }
+}
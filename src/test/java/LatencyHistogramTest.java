@@ -0,0 +1,47 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import frc.robot.Utilities.Profiling.LatencyHistogram;
+
+/**
+ * Tests for the loop profiler's histogram math
+ */
+public class LatencyHistogramTest{
+
+    /**
+     * Checks that the percentiles land on the right bucket edges
+     */
+    @Test
+    public void percentileTest(){
+        LatencyHistogram histogram = new LatencyHistogram(100, 10);
+
+        // 1 sample in each of the first 10 buckets (50, 150, ... 950)
+        for (int i=0; i<10; i++){
+            histogram.record(i * 100 + 50);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(500, histogram.getPercentileNanos(0.5));
+        assertEquals(950, histogram.getPercentileNanos(0.99));
+        assertEquals(950, histogram.getMaxNanos());
+    }
+
+    /**
+     * Checks that samples past the range still report the real max
+     */
+    @Test
+    public void overflowTest(){
+        LatencyHistogram histogram = new LatencyHistogram(100, 10);
+
+        histogram.record(50);
+        histogram.record(25_000);
+
+        assertEquals(25_000, histogram.getPercentileNanos(0.99));
+        assertEquals(25_000, histogram.getMaxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(0.5));
+    }
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import frc.robot.Hardware.FrameTimer;
+import frc.robot.Hardware.RobotStateFrame;
+import frc.robot.Utilities.Control.PID;
+import frc.robot.Utilities.Replay.LogReplay;
+import frc.robot.Utilities.Replay.ReplayTrace;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+import frc.robot.Utilities.Telemetry.TelemetryRecorder;
+
+/**
+ * Tests that replaying a recording feeds the control code the recorded values and gives the same result every time
+ */
+public class LogReplayTest{
+
+    // 2 seconds disabled then 3 seconds of auto at 50hz
+    private static final int DISABLED_LOOPS = 100;
+    private static final int AUTO_LOOPS = 150;
+
+    /**
+     * Writes a fake match where the limelight target drifts towards the middle during auto
+     */
+    private static Path writeRecording() throws Exception{
+        Path file = Files.createTempFile("replay", ".bin");
+
+        try (TelemetryRecorder recorder = new TelemetryRecorder(file)){
+            RobotStateFrame frame = new RobotStateFrame();
+            for (int i=0; i<DISABLED_LOOPS + AUTO_LOOPS; i++){
+                frame.timestampSeconds = 10 + i * 0.02;
+                frame.cycleCount = i;
+                frame.robotMode = i < DISABLED_LOOPS ? RobotStateFrame.MODE_DISABLED : RobotStateFrame.MODE_AUTONOMOUS;
+                frame.limelightX = 20 * Math.cos(i * 0.05);
+                frame.limelightValidTarget = 1;
+
+                // What the robot sent, the replay should not see these
+                frame.drivePower = 99;
+                recorder.record(frame);
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * Sets up a replay of a small alignment loop timed by a frame timer
+     */
+    private static LogReplay createReplay(TelemetryReader reader, int[] autoStarts){
+        RobotStateFrame frame = new RobotStateFrame();
+        LogReplay replay = new LogReplay(reader, frame);
+
+        PID pid = new PID(0.025, 0, 0.2);
+        FrameTimer autoTime = new FrameTimer(frame);
+
+        replay.onModeStart(RobotStateFrame.MODE_AUTONOMOUS, () -> {
+            autoStarts[0]++;
+            autoTime.reset();
+            autoTime.start();
+        });
+
+        replay.addStep(() -> {
+            if (frame.robotMode == RobotStateFrame.MODE_AUTONOMOUS)
+                frame.drivePower = pid.calcOutput(frame.limelightX * -1);
+        });
+
+        replay.addChannel("drivePower", f -> f.drivePower);
+        replay.addChannel("autoTime", f -> autoTime.get());
+        return replay;
+    }
+
+    /**
+     * Checks the outputs come from the replayed code and that the recorded time is used
+     */
+    @Test
+    public void replayTest() throws Exception{
+        Path file = writeRecording();
+
+        try (TelemetryReader reader = new TelemetryReader(file)){
+            int[] autoStarts = new int[1];
+            ReplayTrace trace = createReplay(reader, autoStarts).run();
+
+            assertEquals(DISABLED_LOOPS + AUTO_LOOPS, trace.getLength());
+            assertEquals(1, autoStarts[0]);
+
+            // Nothing drove while disabled so the recorded 99 should never show up
+            int drivePower = trace.getChannel("drivePower");
+            assertEquals(0, trace.get(drivePower, DISABLED_LOOPS - 1), 0);
+
+            // Auto time counts the recorded loops, not how long the replay took
+            int autoTime = trace.getChannel("autoTime");
+            assertEquals(0, trace.get(autoTime, DISABLED_LOOPS), 1e-9);
+            assertEquals((AUTO_LOOPS - 1) * 0.02, trace.get(autoTime, trace.getLength() - 1), 1e-9);
+
+            // The replay doesn't match what was recorded from the first auto loop on
+            assertEquals(DISABLED_LOOPS, trace.firstDifference("drivePower", reader, f -> 0, 0));
+        }
+
+        Files.delete(file);
+    }
+
+    /**
+     * Checks two replays of the same recording give exactly the same trace
+     */
+    @Test
+    public void deterministicTest() throws Exception{
+        Path file = writeRecording();
+
+        try (TelemetryReader reader = new TelemetryReader(file)){
+            ReplayTrace first = createReplay(reader, new int[1]).run();
+            ReplayTrace second = createReplay(reader, new int[1]).run();
+
+            assertEquals(-1, first.firstDifference(second, 0));
+
+            // Only replaying part of the file is shorter, so it counts as different where it ends
+            ReplayTrace part = createReplay(reader, new int[1]).run(0, 120);
+            assertEquals(120, first.firstDifference(part, 0));
+        }
+
+        Files.delete(file);
+    }
+}
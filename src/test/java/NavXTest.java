@@ -2,6 +2,8 @@ import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 
+import frc.robot.Hardware.Sensors.NavX;
+
 /**
  * Test for checking the validity of the NavX calculations
  * 
@@ -20,7 +22,7 @@ public class NavXTest{
 
         //Loop through test cases
         for (int i=0; i<expected.length;i++){
-            double calculated = (((((angle2[i] - angle1[i]) + 180)+360) % 360) - 180);
+            double calculated = NavX.calculateEdgeCaseAngle(angle2[i], angle1[i]);
             assertEquals(expected[i], calculated, 0.1); 
         }
 
@@ -0,0 +1,99 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import frc.robot.Autonomous.Pathing.Path;
+import frc.robot.Autonomous.Pathing.PathChain;
+import frc.robot.Autonomous.Pathing.PathContainer;
+import frc.robot.Autonomous.Pathing.Constraints.MaxVelocityConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.RectangularRegionConstraint;
+
+/**
+ * Tests that chained paths join up into one continuous trajectory
+ */
+public class PathChainTest{
+
+    @Test
+    public void pickUpAndReturnTest() {
+        PathChain chain = PathContainer.pickUpAndReturn().atEnd(0, () -> {});
+        Trajectory trajectory = chain.getTrajectory();
+        List<Trajectory.State> states = trajectory.getStates();
+        double[] segmentEnds = chain.getSegmentEndTimes();
+
+        // Forward 2m to pick up then backwards 3m, ending 1m behind where it started
+        Trajectory.State last = states.get(states.size() - 1);
+        assertEquals(-1, last.poseMeters.getTranslation().getX(), 1e-3);
+        assertEquals(0, last.poseMeters.getTranslation().getY(), 1e-3);
+        assertEquals(segmentEnds[1], trajectory.getTotalTimeSeconds(), 1e-9);
+
+        // The robot only stops where it changes direction, and the speed never jumps
+        for (int i = 1; i < states.size(); i++) {
+            Trajectory.State before = states.get(i - 1);
+            Trajectory.State state = states.get(i);
+            assertTrue(state.timeSeconds > before.timeSeconds);
+
+            double maxChange = 2.5 * (state.timeSeconds - before.timeSeconds) + 1e-6;
+            assertTrue("Speed jumps at " + state.timeSeconds,
+                    Math.abs(state.velocityMetersPerSecond - before.velocityMetersPerSecond) <= maxChange);
+
+            if (state.timeSeconds < segmentEnds[0])
+                assertTrue(state.velocityMetersPerSecond >= 0);
+            else
+                assertTrue(state.velocityMetersPerSecond <= 0);
+        }
+
+        // The pick up ends where the robot turns around
+        assertEquals(1, chain.getEventTimes().length);
+        assertEquals(segmentEnds[0], chain.getEventTimes()[0], 1e-9);
+        assertEquals(0, trajectory.sample(segmentEnds[0]).velocityMetersPerSecond, 1e-6);
+        assertEquals(2, trajectory.sample(segmentEnds[0]).poseMeters.getTranslation().getX(), 1e-3);
+    }
+
+    @Test
+    public void sameDirectionTest() {
+        // Two forward paths meet without stopping
+        PathChain chain = new PathChain("twice").add(PathContainer.getExamplePath()).add(PathContainer.getExamplePath());
+        Trajectory trajectory = chain.getTrajectory();
+        double join = chain.getSegmentEndTimes()[0];
+
+        assertTrue(trajectory.sample(join).velocityMetersPerSecond > 0.5);
+        assertEquals(6, trajectory.sample(trajectory.getTotalTimeSeconds()).poseMeters.getTranslation().getX(), 1e-3);
+    }
+
+    @Test
+    public void placedRegionTest() {
+        // Backing up 2m after driving forward 2m, slowed between 0.4m and 0.8m into the back up
+        Path forward = new Path(new TrajectoryConfig(2, 2), new Pose2d(2, 0, new Rotation2d(0)));
+        Path back = new Path(new TrajectoryConfig(2, 2).addConstraint(new RectangularRegionConstraint(
+                new Translation2d(0.4, -1), new Translation2d(0.8, 1), new MaxVelocityConstraint(0.5))), new Pose2d(2, 0, new Rotation2d(0)));
+        back.setInverted(true);
+
+        PathChain chain = new PathChain("slowBack").add(forward).add(back);
+        Trajectory trajectory = chain.getTrajectory();
+        double join = chain.getSegmentEndTimes()[0];
+
+        // In the chain the back up runs from 2m to 0m, so the zone is between 1.6m and 1.2m, checked a little inside the
+        // edges since moving the poses back into the path's coordinates isn't exact
+        boolean fastOutside = false;
+        for (Trajectory.State state : trajectory.getStates()) {
+            if (state.timeSeconds <= join)
+                continue;
+
+            double x = state.poseMeters.getTranslation().getX();
+            double speed = Math.abs(state.velocityMetersPerSecond);
+            if (x >= 1.21 && x <= 1.59)
+                assertTrue("Too fast at " + x, speed <= 0.5 + 1e-6);
+            else if (speed > 1)
+                fastOutside = true;
+        }
+        assertTrue(fastOutside);
+    }
+}
@@ -0,0 +1,44 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import frc.robot.Autonomous.Pathing.PathChecker;
+import frc.robot.Autonomous.Pathing.PathContainer;
+
+/**
+ * Tests that the path checker passes the paths the robot drives and catches ones it can't
+ */
+public class PathCheckerTest{
+
+    @Test
+    public void examplePathTest() {
+        PathChecker.Report report = PathChecker.check("example", PathContainer.getExamplePath().generateTrajectory());
+
+        assertTrue(report.isFeasible());
+        assertTrue(report.getMargin() > 0);
+
+        // With the model right the robot should get there about when the trajectory says
+        assertEquals(report.plannedSeconds, report.predictedSeconds, 0.25);
+    }
+
+    @Test
+    public void tooFastTest() {
+        // Nothing holding the acceleration to what the motors can do
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(new Pose2d(0, 0, new Rotation2d(0)), List.of(),
+                new Pose2d(6, 0, new Rotation2d(0)), new TrajectoryConfig(8, 15));
+        PathChecker.Report report = PathChecker.check("fast", trajectory);
+
+        assertFalse(report.isFeasible());
+        assertTrue(report.getVoltageMargin() < 0);
+        assertTrue(report.violations.stream().anyMatch(violation -> violation.limit.equals("Voltage")));
+    }
+}
@@ -0,0 +1,82 @@
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import frc.robot.Autonomous.Pathing.Path;
+import frc.robot.Autonomous.Pathing.TrajectoryCache;
+import frc.robot.Autonomous.Pathing.Constraints.CentripetalAccelerationConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.EllipticalRegionConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.MaxVelocityConstraint;
+import frc.robot.Autonomous.Pathing.Constraints.RectangularRegionConstraint;
+
+/**
+ * Tests that the field region constraints only slow the parts of a path they cover
+ */
+public class PathConstraintTest{
+
+    @Test
+    public void rectangularRegionTest() {
+        // Slow to 0.5m/s between 1.5m and 2.5m of a 4m drive
+        TrajectoryConfig config = new TrajectoryConfig(2, 2)
+                .addConstraint(new RectangularRegionConstraint(new Translation2d(1.5, -1), new Translation2d(2.5, 1), new MaxVelocityConstraint(0.5)));
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(new Pose2d(0, 0, new Rotation2d(0)), List.of(),
+                new Pose2d(4, 0, new Rotation2d(0)), config);
+
+        boolean fastOutside = false;
+        for (Trajectory.State state : trajectory.getStates()) {
+            double x = state.poseMeters.getTranslation().getX();
+            if (x >= 1.5 && x <= 2.5)
+                assertTrue("Too fast at " + x, state.velocityMetersPerSecond <= 0.5 + 1e-6);
+            else if (state.velocityMetersPerSecond > 1)
+                fastOutside = true;
+        }
+        assertTrue(fastOutside);
+    }
+
+    @Test
+    public void ellipticalRegionTest() {
+        // Two meters long and one wide, turned to lie along the y axis
+        EllipticalRegionConstraint region = new EllipticalRegionConstraint(new Translation2d(1, 1), 2, 1,
+                new Rotation2d(Math.PI / 2), new MaxVelocityConstraint(0.5));
+
+        assertTrue(region.isInside(new Translation2d(1, 1)));
+        assertTrue(region.isInside(new Translation2d(1, 1.9)));
+        assertFalse(region.isInside(new Translation2d(1.9, 1)));
+        assertFalse(region.isInside(new Translation2d(1.4, 1.8)));
+    }
+
+    @Test
+    public void centripetalAccelerationTest() {
+        TrajectoryConfig config = new TrajectoryConfig(3, 2).addConstraint(new CentripetalAccelerationConstraint(1));
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(new Pose2d(0, 0, new Rotation2d(0)), List.of(),
+                new Pose2d(2, 2, new Rotation2d(Math.PI / 2)), config);
+
+        for (Trajectory.State state : trajectory.getStates()) {
+            double v = state.velocityMetersPerSecond;
+            assertTrue(v * v * Math.abs(state.curvatureRadPerMeter) <= 1 + 1e-3);
+        }
+    }
+
+    @Test
+    public void cacheKeyTest() {
+        // The same path slowed in two different places must not share a trajectory
+        Path trench = new Path(new TrajectoryConfig(2, 2).addConstraint(new RectangularRegionConstraint(
+                new Translation2d(0, 0), new Translation2d(1, 1), new MaxVelocityConstraint(0.5))), new Pose2d(3, 0, new Rotation2d(0)));
+        Path elsewhere = new Path(new TrajectoryConfig(2, 2).addConstraint(new RectangularRegionConstraint(
+                new Translation2d(2, 0), new Translation2d(3, 1), new MaxVelocityConstraint(0.5))), new Pose2d(3, 0, new Rotation2d(0)));
+        trench.setName("slow");
+        elsewhere.setName("slow");
+
+        assertNotEquals(TrajectoryCache.getKey(trench), TrajectoryCache.getKey(elsewhere));
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import frc.robot.Autonomous.Pathing.PathPoints;
+
+/**
+ * Tests that CSV path files are parsed with headers, comments and useful errors
+ */
+public class PathPointsTest{
+
+    private static PathPoints parse(String text) throws IOException {
+        return PathPoints.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), "test.csv");
+    }
+
+    @Test
+    public void parseTest() throws IOException {
+        PathPoints points = parse(
+            "# Drive to the trench\r\n" +
+            "x, y, rotation\r\n" +
+            "\r\n" +
+            "0,0,0\r\n" +
+            "1.7335, -0.25, 0.5 # halfway\r\n" +
+            "  3.467 ,0, -1e-3\r\n");
+
+        assertEquals(3, points.getSize());
+        assertEquals(1.7335, points.getX(1), 0);
+        assertEquals(-0.25, points.getY(1), 0);
+        assertEquals(0.5, points.getRotation(1), 0);
+        assertEquals(3.467, points.getX(2), 0);
+        assertEquals(-1e-3, points.getRotation(2), 0);
+    }
+
+    @Test
+    public void errorTest() throws IOException {
+        try {
+            parse("x,y,rotation\n0,0,0\n\n1,zero,0\n");
+            fail("Expected a parse error");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("test.csv line 4:"));
+        }
+
+        try {
+            parse("0,0,0\n1,2\n");
+            fail("Expected a parse error");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("test.csv line 2:"));
+        }
+    }
+
+    @Test
+    public void fileTest() throws IOException {
+        Path file = Files.createTempFile("path", ".csv");
+        StringBuilder text = new StringBuilder();
+        for (int i=0; i<1000; i++){
+            text.append(i * 0.001).append(',').append(-i * 0.002).append(",0\n");
+        }
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+
+        PathPoints points = PathPoints.read(file);
+        assertEquals(1000, points.getSize());
+        for (int i=0; i<1000; i++){
+            assertEquals(Double.parseDouble(Double.toString(i * 0.001)), points.getX(i), 0);
+            assertEquals(-i * 0.002, points.getY(i), 0);
+        }
+
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,120 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import frc.robot.RobotConstants;
+import frc.robot.Utilities.Control.DrivePoseEstimator;
+import frc.robot.Utilities.Simulation.DrivetrainSim;
+
+/**
+ * Drives the simulated robot with slipping wheels, a drifting gyro and a noisy Limelight that sometimes sees a
+ * reflection, and checks the vision keeps the pose much closer than the odometry alone
+ */
+public class PoseEstimatorTest{
+
+    private static final double PERIOD = 0.02;
+
+    // Where the target really is
+    private static final double TARGET_X = 10;
+    private static final double TARGET_Y = 0.5;
+
+    @Test
+    public void perfectSensorsTest() {
+        double[] error = drive(false, true, 1, 0, 0, 0);
+        assertEquals(0, error[0], 0.005);
+
+        // Even with nothing wrong with them the wheels scrub and overstate the small turns, which the target can't
+        // fully correct from straight ahead
+        assertEquals(0, error[1], 1);
+    }
+
+    @Test
+    public void visionTest() {
+        double[] odometry = drive(false, false, 1.04, 0.2, 1, 0.05);
+        double[] vision = drive(false, true, 1.04, 0.2, 1, 0.05);
+
+        assertTrue("Vision off by " + vision[0], vision[0] < 0.05);
+        assertTrue(vision[0] < odometry[0] / 2);
+        assertTrue(vision[1] < odometry[1]);
+    }
+
+    @Test
+    public void invertedVisionTest() {
+        // Driving backwards the camera looks out the back, at a target in the mirrored coordinates of the path
+        double[] odometry = drive(true, false, 1.04, 0.2, 1, 0.05);
+        double[] vision = drive(true, true, 1.04, 0.2, 1, 0.05);
+
+        assertTrue("Vision off by " + vision[0], vision[0] < 0.05);
+        assertTrue(vision[0] < odometry[0] / 2);
+    }
+
+    /**
+     * Drive toward the target for 8 seconds in a slow weave
+     *
+     * @param inverted    run like an inverted path, backwards with the pose mirrored
+     * @param vision      give the estimator the target
+     * @param slip        how much further the left wheel says it went than it did
+     * @param drift       gyro drift in degrees per second
+     * @param noise       how much sensor noise, 1 is normal
+     * @param reflections fraction of frames that see a reflection instead of the target
+     * @return the position error in meters and the heading error in degrees at the end
+     */
+    private static double[] drive(boolean inverted, boolean vision, double slip, double drift, double noise, double reflections) {
+        Random random = new Random(4);
+        double direction = inverted ? -1 : 1;
+
+        // The real robot turns a little less than its track width says
+        DrivetrainSim sim = new DrivetrainSim(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond,
+                RobotConstants.kaVoltMetersPerSecondSquared, RobotConstants.kTrackWidthMeters * 1.1, RobotConstants.kMaxUsableVoltage);
+        DrivePoseEstimator estimator = new DrivePoseEstimator(RobotConstants.kTrackWidthMeters, RobotConstants.kLimelightHeightMeters,
+                RobotConstants.kLimelightPitchDegrees, RobotConstants.kLimelightForwardMeters, RobotConstants.kVisionTargetHeightMeters);
+
+        sim.reset(0, 0, 0);
+        estimator.setInverted(inverted);
+        estimator.reset(0, 0, 0, 0, 0, 0, 0);
+        if (vision)
+            estimator.setTarget(direction * TARGET_X, TARGET_Y);
+
+        // Where the robot really was every loop, to take the late camera frames from
+        int steps = 400;
+        double[][] history = new double[steps][];
+        double time = 0;
+
+        for (int i = 0; i < steps; i++) {
+            double weave = Math.sin(time * 0.8) * 0.15;
+            double volts = direction * 1.2;
+            sim.setVolts(volts - weave, volts + weave);
+            sim.step(PERIOD);
+            time += PERIOD;
+            history[i] = new double[] {time, sim.getX(), sim.getY(), sim.getHeading()};
+
+            double left = sim.readLeftDistanceMeters() * slip + random.nextGaussian() * 0.001 * noise;
+            double right = sim.readRightDistanceMeters() + random.nextGaussian() * 0.001 * noise;
+            double gyro = sim.getHeading() + Math.toRadians(drift) * time;
+            estimator.update(time, direction * left, direction * right, direction * gyro);
+
+            // Frame taken 40 to 60ms ago, from a camera mounted forward of the middle of the robot
+            double[] taken = history[Math.max(0, i - (int) Math.round((0.04 + random.nextDouble() * 0.02) / PERIOD))];
+            double cameraX = taken[1] + RobotConstants.kLimelightForwardMeters * Math.cos(taken[3]);
+            double cameraY = taken[2] + RobotConstants.kLimelightForwardMeters * Math.sin(taken[3]);
+            double range = Math.hypot(TARGET_X - cameraX, TARGET_Y - cameraY);
+            double bearing = Math.IEEEremainder(Math.atan2(TARGET_Y - cameraY, TARGET_X - cameraX) - taken[3], 2 * Math.PI);
+
+            double tx = -Math.toDegrees(bearing) + random.nextGaussian() * 0.3 * noise;
+            double ty = Math.toDegrees(Math.atan2(RobotConstants.kVisionTargetHeightMeters - RobotConstants.kLimelightHeightMeters, range))
+                    - RobotConstants.kLimelightPitchDegrees + random.nextGaussian() * 0.3 * noise;
+            if (random.nextDouble() < reflections)
+                tx += 15;
+
+            if (Math.abs(tx) < 27)
+                estimator.addVisionMeasurement(time, tx, ty, time - taken[0], 1);
+        }
+
+        double positionError = Math.hypot(direction * estimator.getX() - sim.getX(), estimator.getY() - sim.getY());
+        double headingError = Math.IEEEremainder(direction * estimator.getHeading() - sim.getHeading(), 2 * Math.PI);
+        return new double[] {positionError, Math.toDegrees(Math.abs(headingError))};
+    }
+}
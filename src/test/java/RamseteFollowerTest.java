@@ -0,0 +1,142 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.controller.PIDController;
+import edu.wpi.first.wpilibj.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryConfig;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+import frc.robot.RobotConstants;
+import frc.robot.Utilities.Control.RAMSETE.RamseteFollower;
+import frc.robot.Utilities.Control.RAMSETE.RamseteLaw;
+import frc.robot.Utilities.Control.RAMSETE.TrajectoryReplanner;
+import frc.robot.Utilities.Simulation.DrivetrainSim;
+
+/**
+ * Simulated benchmark of following a tight S curve in the 20ms robot loop against the 200Hz follower thread
+ */
+public class RamseteFollowerTest{
+
+    /**
+     * Drive the whole trajectory in the simulation, updating the follower every period
+     *
+     * @param mismatch how far the simulated robot is from the characterized one, 0 is a perfect model
+     * @return the follower, holding the error it saw
+     */
+    private static RamseteFollower simulate(Trajectory trajectory, double period, double mismatch) {
+        DrivetrainSim sim = new DrivetrainSim(RobotConstants.kSVolts,
+                RobotConstants.kvVoltMetersPerSecond * (1 + 0.1 * mismatch),
+                RobotConstants.kaVoltMetersPerSecondSquared * (1 + 0.5 * mismatch),
+                RobotConstants.kTrackWidthMeters * (1 + 0.15 * mismatch), 12);
+
+        RamseteFollower follower = new RamseteFollower(trajectory,
+                new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta),
+                new SimpleMotorFeedforward(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond, RobotConstants.kaVoltMetersPerSecondSquared),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                RobotConstants.kTrackWidthMeters, sim, sim, period);
+
+        sim.reset(0, 0, 0);
+        follower.reset(new Pose2d(0, 0, new Rotation2d(0)), 0);
+
+        double time = 0;
+        while (!follower.isFinished()) {
+            follower.update(time);
+            sim.step(period);
+            time += period;
+        }
+        return follower;
+    }
+
+    @Test
+    public void tightCurveTest() {
+        TrajectoryConfig config = new TrajectoryConfig(RobotConstants.kMaxVelocityMetersPerSecond, RobotConstants.kMaxAccelerationMetersPerSecondSquared)
+                .setKinematics(RobotConstants.kDriveKinematics);
+
+        // An S curve over two meters, about as tight as the robot can turn at full speed
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(
+                new Pose2d(0, 0, new Rotation2d(0)),
+                List.of(new Translation2d(0.5, 0.1), new Translation2d(1.0, 0.5), new Translation2d(1.5, 0.9)),
+                new Pose2d(2, 1, new Rotation2d(0)),
+                config);
+
+        for (double mismatch : new double[] {0, 1}) {
+            RamseteFollower loop = simulate(trajectory, 0.02, mismatch);
+            RamseteFollower thread = simulate(trajectory, RamseteFollower.DEFAULT_PERIOD, mismatch);
+
+            String errors = String.format("Model mismatch %.0f: 20ms RMS %.4fm max %.4fm, 5ms RMS %.4fm max %.4fm", mismatch,
+                    loop.getRmsErrorMeters(), loop.getMaxErrorMeters(), thread.getRmsErrorMeters(), thread.getMaxErrorMeters());
+
+            // The faster loop should never be meaningfully worse
+            assertTrue(errors, thread.getRmsErrorMeters() <= loop.getRmsErrorMeters() * 1.05);
+
+            // With the model right all that is left is holding each output for a whole loop, which the faster loop cuts down
+            if (mismatch == 0)
+                assertTrue(errors, thread.getRmsErrorMeters() < loop.getRmsErrorMeters() / 2);
+        }
+    }
+
+    /**
+     * Drive three meters straight with the robot pinned for a while part way, returning how far from the goal it stops
+     */
+    private static double pinned(TrajectoryReplanner replanner) throws InterruptedException {
+        TrajectoryConfig config = new TrajectoryConfig(2, 2);
+        Trajectory trajectory = TrajectoryGenerator.generateTrajectory(new Pose2d(0, 0, new Rotation2d(0)), List.of(),
+                new Pose2d(3, 0, new Rotation2d(0)), config);
+
+        DrivetrainSim sim = new DrivetrainSim(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond,
+                RobotConstants.kaVoltMetersPerSecondSquared, RobotConstants.kTrackWidthMeters, 12);
+
+        RamseteFollower follower = new RamseteFollower(trajectory,
+                new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta),
+                new SimpleMotorFeedforward(RobotConstants.kSVolts, RobotConstants.kvVoltMetersPerSecond, RobotConstants.kaVoltMetersPerSecondSquared),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                new PIDController(RobotConstants.kPDriveVal, 0, 0),
+                RobotConstants.kTrackWidthMeters, sim, sim, RamseteFollower.DEFAULT_PERIOD);
+
+        if (replanner != null)
+            follower.setReplanner(replanner);
+
+        sim.reset(0, 0, 0);
+        follower.reset(new Pose2d(0, 0, new Rotation2d(0)), 0);
+
+        double time = 0;
+        while (!follower.isFinished() && time < 10) {
+            sim.setStalled(time > 0.5 && time < 1.1);
+            follower.update(time);
+
+            // Let the worker finish so the test doesn't depend on how fast this machine is
+            while (replanner != null && replanner.isPlanning())
+                Thread.sleep(1);
+
+            sim.step(RamseteFollower.DEFAULT_PERIOD);
+            time += RamseteFollower.DEFAULT_PERIOD;
+        }
+
+        // Coast to a stop
+        sim.setVolts(0, 0);
+        sim.step(1);
+        return Math.hypot(3 - sim.getX(), sim.getY());
+    }
+
+    @Test
+    public void replanTest() throws InterruptedException {
+        double plain = pinned(null);
+
+        TrajectoryReplanner replanner = new TrajectoryReplanner(new TrajectoryConfig(2, 2), 0.3, 0.1);
+        double replanned = pinned(replanner);
+
+        String distances = String.format("Pinned for 0.6s: %.4fm from the goal without replanning, %.4fm with", plain, replanned);
+
+        assertEquals(distances, 1, replanner.getReplanCount());
+        assertTrue(distances, replanned < plain);
+        assertTrue(distances, replanned < 0.02);
+    }
+}
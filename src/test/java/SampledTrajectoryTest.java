@@ -0,0 +1,62 @@
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.controller.RamseteController;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import frc.robot.RobotConstants;
+import frc.robot.Autonomous.Pathing.PathContainer;
+import frc.robot.Utilities.Control.RAMSETE.RamseteLaw;
+import frc.robot.Utilities.Control.RAMSETE.SampledTrajectory;
+import frc.robot.Utilities.Control.RAMSETE.TrajectorySample;
+
+/**
+ * Tests that the sample table and RAMSETE law give the same answers as WPILib's versions
+ */
+public class SampledTrajectoryTest{
+
+    @Test
+    public void sampleTest() {
+        Trajectory trajectory = PathContainer.driveToShoot().generateTrajectory();
+        SampledTrajectory sampled = new SampledTrajectory(trajectory);
+        TrajectorySample sample = new TrajectorySample();
+
+        for (double t = -0.1; t < trajectory.getTotalTimeSeconds() + 0.1; t += 0.013) {
+            Trajectory.State expected = trajectory.sample(t);
+            sampled.sample(t, sample);
+            assertEquals(expected.poseMeters.getTranslation().getX(), sample.xMeters, 1e-3);
+            assertEquals(expected.poseMeters.getTranslation().getY(), sample.yMeters, 1e-3);
+            assertEquals(0, Math.IEEEremainder(expected.poseMeters.getRotation().getRadians() - sample.headingRadians, 2 * Math.PI), 1e-3);
+            assertEquals(expected.velocityMetersPerSecond, sample.velocityMetersPerSecond, 1e-2);
+        }
+    }
+
+    @Test
+    public void ramseteTest() {
+        Trajectory trajectory = PathContainer.driveToShoot().generateTrajectory();
+        RamseteController controller = new RamseteController(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta);
+        RamseteLaw law = new RamseteLaw(RobotConstants.kRamseteB, RobotConstants.kRamseteZeta);
+        TrajectorySample sample = new TrajectorySample();
+
+        for (double t = 0; t < trajectory.getTotalTimeSeconds(); t += 0.1) {
+            Trajectory.State state = trajectory.sample(t);
+            Pose2d robot = new Pose2d(state.poseMeters.getTranslation().getX() + 0.1,
+                    state.poseMeters.getTranslation().getY() - 0.05,
+                    state.poseMeters.getRotation().plus(Rotation2d.fromDegrees(5)));
+
+            sample.xMeters = state.poseMeters.getTranslation().getX();
+            sample.yMeters = state.poseMeters.getTranslation().getY();
+            sample.headingRadians = state.poseMeters.getRotation().getRadians();
+            sample.velocityMetersPerSecond = state.velocityMetersPerSecond;
+            sample.curvatureRadPerMeter = state.curvatureRadPerMeter;
+
+            ChassisSpeeds expected = controller.calculate(robot, state);
+            law.calculate(robot.getTranslation().getX(), robot.getTranslation().getY(), robot.getRotation().getRadians(), sample);
+            assertEquals(expected.vxMetersPerSecond, law.linearMetersPerSecond, 1e-9);
+            assertEquals(expected.omegaRadiansPerSecond, law.angularRadiansPerSecond, 1e-9);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import frc.robot.Hardware.RobotStateFrame;
+import frc.robot.Utilities.Telemetry.TelemetryFormat;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+import frc.robot.Utilities.Telemetry.TelemetryRecorder;
+
+/**
+ * Tests that frames written by the telemetry recorder read back the same
+ */
+public class TelemetryRecorderTest{
+
+    /**
+     * Fills a frame with values made from the loop number so every field is different
+     */
+    private static void fillFrame(RobotStateFrame frame, int i){
+        frame.timestampSeconds = i * 0.02;
+        frame.cycleCount = i;
+        frame.robotMode = i % 4;
+        frame.autoStage = (i % 9) - 1;
+        frame.leftDistanceMeters = i * 0.01;
+        frame.rightDistanceMeters = i * 0.011;
+        frame.leftRateMetersPerSecond = i * 0.1;
+        frame.rightRateMetersPerSecond = i * 0.12;
+        frame.gyroAngleDegrees = i * 1.5;
+        frame.gyroRateDegreesPerSecond = -i;
+        frame.gyroYawDegrees = i % 360;
+        frame.flywheelVelocityRPM = i * 10;
+        frame.flywheelCurrents[0] = i + 0.25;
+        frame.flywheelCurrents[1] = i + 0.5;
+        frame.beltCurrent = i + 0.75;
+        frame.frontIndexerCurrent = i + 1.25;
+        frame.backIndexerCurrent = i + 1.5;
+        frame.pdpVoltage = 12 - i * 0.001;
+        frame.limelightX = i * -0.3;
+        frame.limelightY = i * 0.3;
+        frame.limelightValidTarget = i % 2;
+        frame.limelightLatencyMs = 20 + i % 30;
+        frame.leftCurrents[2] = i + 2.25;
+        frame.rightCurrents[0] = i + 2.5;
+        frame.drivePower = i * 0.001;
+        frame.turnPower = -i * 0.001;
+        frame.poseXMeters = i * 0.05;
+        frame.poseYMeters = i * -0.05;
+        frame.poseHeadingDegrees = i % 180;
+        frame.pathActive = i % 3 == 0;
+    }
+
+    /**
+     * Records across several chunks and checks every record, the header and the final file size
+     */
+    @Test
+    public void roundTripTest() throws Exception{
+        Path file = Files.createTempFile("telemetry", ".bin");
+        int records = 1000;
+
+        // Small chunks so the recorder has to map new ones
+        TelemetryRecorder recorder = new TelemetryRecorder(file, 64, 1024 * 1024);
+        RobotStateFrame frame = new RobotStateFrame();
+        for (int i=0; i<records; i++){
+            fillFrame(frame, i);
+            recorder.record(frame);
+        }
+        recorder.close();
+
+        assertEquals(TelemetryFormat.HEADER_SIZE + records * TelemetryFormat.RECORD_SIZE, Files.size(file));
+
+        RobotStateFrame expected = new RobotStateFrame();
+        RobotStateFrame actual = new RobotStateFrame();
+        try (TelemetryReader reader = new TelemetryReader(file)){
+            assertEquals(records, reader.getRecordCount());
+
+            for (int i=0; i<records; i++){
+                fillFrame(expected, i);
+                reader.read(i, actual);
+
+                assertEquals(expected.timestampSeconds, actual.timestampSeconds, 0);
+                assertEquals(expected.cycleCount, actual.cycleCount);
+                assertEquals(expected.robotMode, actual.robotMode);
+                assertEquals(expected.autoStage, actual.autoStage);
+                assertEquals(expected.leftDistanceMeters, actual.leftDistanceMeters, 0);
+                assertEquals(expected.rightRateMetersPerSecond, actual.rightRateMetersPerSecond, 0);
+                assertEquals(expected.gyroAngleDegrees, actual.gyroAngleDegrees, 0);
+                assertEquals(expected.flywheelCurrents[1], actual.flywheelCurrents[1], 0);
+                assertEquals(expected.backIndexerCurrent, actual.backIndexerCurrent, 0);
+                assertEquals(expected.pdpVoltage, actual.pdpVoltage, 0);
+                assertEquals(expected.limelightValidTarget, actual.limelightValidTarget, 0);
+                assertEquals(expected.limelightLatencyMs, actual.limelightLatencyMs, 0);
+                assertEquals(expected.turnPower, actual.turnPower, 0);
+                assertEquals(expected.poseHeadingDegrees, actual.poseHeadingDegrees, 0);
+                assertEquals(expected.leftCurrents[2], actual.leftCurrents[2], 0);
+                assertEquals(expected.rightCurrents[0], actual.rightCurrents[0], 0);
+                assertEquals(expected.pathActive, actual.pathActive);
+            }
+        }
+
+        Files.delete(file);
+    }
+
+    /**
+     * Checks that the recorder stops instead of growing the file past its limit
+     */
+    @Test
+    public void maxSizeTest() throws Exception{
+        Path file = Files.createTempFile("telemetry", ".bin");
+
+        // Room for the header and two 10 record chunks
+        long maxBytes = TelemetryFormat.HEADER_SIZE + 20 * TelemetryFormat.RECORD_SIZE;
+        TelemetryRecorder recorder = new TelemetryRecorder(file, 10, maxBytes);
+        RobotStateFrame frame = new RobotStateFrame();
+        for (int i=0; i<50; i++){
+            fillFrame(frame, i);
+            recorder.record(frame);
+        }
+
+        assertEquals(20, recorder.getRecordCount());
+        recorder.close();
+
+        try (TelemetryReader reader = new TelemetryReader(file)){
+            assertEquals(20, reader.getRecordCount());
+        }
+
+        Files.delete(file);
+    }
+}
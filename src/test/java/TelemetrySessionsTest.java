@@ -0,0 +1,152 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import frc.robot.Hardware.RobotStateFrame;
+import frc.robot.Utilities.Telemetry.TelemetryArchiver;
+import frc.robot.Utilities.Telemetry.TelemetryIndex;
+import frc.robot.Utilities.Telemetry.TelemetryReader;
+import frc.robot.Utilities.Telemetry.TelemetrySessions;
+
+/**
+ * Tests that telemetry is split into match files with a mode index and archived only when allowed
+ */
+public class TelemetrySessionsTest{
+
+    // Fake FMS and robot state that the sessions read from
+    private String match = null;
+    private boolean disabled = true;
+
+    private int loop = 0;
+
+    /**
+     * Records a number of loops in one mode
+     */
+    private void runLoops(TelemetrySessions sessions, RobotStateFrame frame, int mode, int loops){
+        for (int i=0; i<loops; i++){
+            frame.timestampSeconds = loop * 0.02;
+            frame.cycleCount = loop;
+            frame.robotMode = mode;
+            sessions.record(frame);
+            loop++;
+        }
+    }
+
+    /**
+     * Deletes a test directory and everything in it
+     */
+    private static void deleteDirectory(Path directory) throws Exception{
+        try (Stream<Path> files = Files.walk(directory)){
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /**
+     * Plays through a match and checks the files that come out of it
+     */
+    @Test
+    public void matchTest() throws Exception{
+        Path directory = Files.createTempDirectory("telemetry");
+        TelemetrySessions sessions = new TelemetrySessions(directory, 100L * 1024 * 1024, () -> match, () -> disabled);
+        RobotStateFrame frame = new RobotStateFrame();
+
+        // Sitting in the queue before the FMS sends the match
+        runLoops(sessions, frame, RobotStateFrame.MODE_DISABLED, 30);
+        Path general = sessions.getCurrentFile();
+        assertEquals(null, sessions.getCurrentMatch());
+
+        // The match is picked up within a second while disabled
+        match = "Test_Qualification-3";
+        runLoops(sessions, frame, RobotStateFrame.MODE_DISABLED, 50);
+        assertEquals(match, sessions.getCurrentMatch());
+        Path matchFile = sessions.getCurrentFile();
+        assertTrue(matchFile.getFileName().toString().startsWith(match));
+
+        disabled = false;
+        runLoops(sessions, frame, RobotStateFrame.MODE_AUTONOMOUS, 50);
+        runLoops(sessions, frame, RobotStateFrame.MODE_TELEOP, 100);
+
+        // While enabled nothing is compressed
+        sessions.getArchiver().runOnce();
+        assertTrue(Files.exists(general));
+
+        // The end of teleop finishes the match, the FMS still reporting it doesn't start it again
+        disabled = true;
+        runLoops(sessions, frame, RobotStateFrame.MODE_DISABLED, 100);
+        assertEquals(null, sessions.getCurrentMatch());
+        Path active = sessions.getCurrentFile();
+
+        sessions.getArchiver().runOnce();
+
+        assertFalse(Files.exists(general));
+        assertFalse(Files.exists(matchFile));
+        assertTrue(Files.exists(active));
+
+        Path compressed = directory.resolve(TelemetryArchiver.baseName(matchFile) + TelemetryArchiver.COMPRESSED_EXTENSION);
+        TelemetryIndex index = TelemetryIndex.read(TelemetryIndex.indexFileFor(compressed));
+
+        assertEquals(3, index.getSize());
+        assertEquals(RobotStateFrame.MODE_DISABLED, index.getMode(0));
+        assertEquals(RobotStateFrame.MODE_AUTONOMOUS, index.getMode(1));
+        assertEquals(RobotStateFrame.MODE_TELEOP, index.getMode(2));
+
+        try (TelemetryReader reader = TelemetryReader.open(compressed)){
+            int autoStart = index.findFirst(RobotStateFrame.MODE_AUTONOMOUS);
+            assertEquals(autoStart + 150, reader.getRecordCount());
+
+            // The index points at the first auto loop
+            RobotStateFrame read = new RobotStateFrame();
+            reader.read(autoStart, read);
+            assertEquals(RobotStateFrame.MODE_AUTONOMOUS, read.robotMode);
+            reader.read(autoStart - 1, read);
+            assertEquals(RobotStateFrame.MODE_DISABLED, read.robotMode);
+
+            // Scanning the file gives the same index
+            TelemetryIndex scanned = TelemetryIndex.scan(reader);
+            assertEquals(index.getSize(), scanned.getSize());
+            assertEquals(index.getRecord(2), scanned.getRecord(2));
+        }
+
+        sessions.close();
+        sessions.getArchiver().runOnce();
+        deleteDirectory(directory);
+    }
+
+    /**
+     * Checks the oldest files are deleted once the directory is over its limit
+     */
+    @Test
+    public void rotationTest() throws Exception{
+        Path directory = Files.createTempDirectory("telemetry");
+
+        // Five old 1000 byte files, oldest first
+        for (int i=0; i<5; i++){
+            Path file = directory.resolve("telemetry-" + i + TelemetryArchiver.COMPRESSED_EXTENSION);
+            Files.write(file, new byte[1000]);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L * (i + 1)));
+        }
+
+        TelemetryArchiver archiver = new TelemetryArchiver(directory, 2500, () -> disabled);
+
+        // Nothing is deleted while the robot is enabled
+        disabled = false;
+        archiver.runOnce();
+        assertTrue(Files.exists(directory.resolve("telemetry-0" + TelemetryArchiver.COMPRESSED_EXTENSION)));
+
+        disabled = true;
+        archiver.runOnce();
+        for (int i=0; i<5; i++){
+            assertEquals(i >= 3, Files.exists(directory.resolve("telemetry-" + i + TelemetryArchiver.COMPRESSED_EXTENSION)));
+        }
+
+        deleteDirectory(directory);
+    }
+}
@@ -0,0 +1,34 @@
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import frc.robot.Autonomous.Pathing.PathContainer;
+import frc.robot.Autonomous.Pathing.TrajectoryCache;
+
+/**
+ * Tests that precomputed trajectories are handed back without being generated again
+ */
+public class TrajectoryCacheTest{
+
+    @Test
+    public void precomputeTest() throws InterruptedException {
+        TrajectoryCache cache = TrajectoryCache.get();
+        cache.clear();
+        cache.precompute(PathContainer.getAllPaths());
+
+        while (!cache.isReady()) {
+            Thread.sleep(5);
+        }
+
+        // A fresh copy of the path from the container finds the same trajectory
+        Trajectory first = PathContainer.turnAndPickUp().getTrajectory();
+        Trajectory second = PathContainer.turnAndPickUp().getTrajectory();
+        assertSame(first, second);
+        assertTrue(first.getTotalTimeSeconds() > 0);
+
+        assertNotSame(first, PathContainer.driveBackToStart().getTrajectory());
+    }
+}
@@ -0,0 +1,45 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import frc.robot.Autonomous.Pathing.PathContainer;
+import frc.robot.Autonomous.Pathing.TrajectoryFile;
+
+/**
+ * Tests that trajectories saved to a file load back the same
+ */
+public class TrajectoryFileTest{
+
+    @Test
+    public void roundTripTest() throws Exception {
+        Trajectory trajectory = PathContainer.driveToShoot().generateTrajectory();
+        Path file = Files.createTempFile("path", TrajectoryFile.EXTENSION);
+
+        TrajectoryFile.write(trajectory, "driveToShoot", file);
+        Trajectory loaded = TrajectoryFile.read(file, "driveToShoot");
+
+        assertEquals(trajectory.getStates().size(), loaded.getStates().size());
+        assertEquals(trajectory.getTotalTimeSeconds(), loaded.getTotalTimeSeconds(), 0);
+
+        // Sampling between states has to give the same answer as the generated trajectory
+        for (double t = 0; t < trajectory.getTotalTimeSeconds(); t += 0.013) {
+            Trajectory.State expected = trajectory.sample(t);
+            Trajectory.State actual = loaded.sample(t);
+            assertEquals(expected.poseMeters.getTranslation().getX(), actual.poseMeters.getTranslation().getX(), 1e-12);
+            assertEquals(expected.poseMeters.getTranslation().getY(), actual.poseMeters.getTranslation().getY(), 1e-12);
+            assertEquals(expected.poseMeters.getRotation().getRadians(), actual.poseMeters.getRotation().getRadians(), 1e-12);
+            assertEquals(expected.velocityMetersPerSecond, actual.velocityMetersPerSecond, 1e-12);
+            assertEquals(expected.curvatureRadPerMeter, actual.curvatureRadPerMeter, 1e-12);
+        }
+
+        // A file made from a different version of the path isn't used
+        assertNull(TrajectoryFile.read(file, "somethingElse"));
+
+        Files.delete(file);
+    }
+}